@@ -0,0 +1,33 @@
+package org.apereo.cas.audit;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+
+import java.util.Collection;
+
+/**
+ * This is {@link BatchAuditTrailManager} that is able to store a number of
+ * audit records at once, typically in a single round-trip to the audit destination.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public interface BatchAuditTrailManager extends AuditTrailManager {
+
+    /**
+     * Record all audit records at once.
+     * Records are expected to be stored synchronously.
+     *
+     * @param audits the audit records
+     */
+    void recordAll(Collection<AuditActionContext> audits);
+
+    /**
+     * Whether single records are handed off to be stored in the background.
+     * Callers that deliver records on their own thread turn this off,
+     * so that records are not queued twice and failures are reported to them.
+     *
+     * @param asynchronous the asynchronous
+     */
+    void setAsynchronous(boolean asynchronous);
+}
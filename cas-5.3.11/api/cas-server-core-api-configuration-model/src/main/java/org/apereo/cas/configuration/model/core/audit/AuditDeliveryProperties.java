@@ -0,0 +1,70 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditDeliveryProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@Setter
+public class AuditDeliveryProperties implements Serializable {
+
+    private static final long serialVersionUID = -4135212468754106521L;
+
+    /**
+     * Policies that decide what happens to audit records
+     * when the delivery queue of an audit trail manager is full.
+     */
+    public enum BackPressurePolicies {
+        /**
+         * Block the thread recording the audit until the queue has room.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued audit record to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Append the audit record to a local spool file.
+         */
+        SPOOL
+    }
+
+    /**
+     * Hand audit records to a bounded queue per audit trail manager,
+     * from which they are delivered in batches on a separate thread.
+     * When disabled, audit records are passed to each audit trail manager
+     * on the thread that records them.
+     */
+    private boolean asynchronous;
+
+    /**
+     * Maximum number of audit records that may be queued for each audit trail manager.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records handed to an audit trail manager at once.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Decide what happens to audit records when the queue is full.
+     * Accepted values are {@code BLOCK}, {@code DROP_OLDEST} and {@code SPOOL}.
+     */
+    private BackPressurePolicies backPressure = BackPressurePolicies.BLOCK;
+
+    /**
+     * Directory where audit records are spooled when the queue is full
+     * and the back-pressure policy is set to {@code SPOOL}.
+     * Records are written as one JSON document per line.
+     */
+    private File spoolDirectory = new File(System.getProperty("java.io.tmpdir"), "cas-audit-spool");
+}
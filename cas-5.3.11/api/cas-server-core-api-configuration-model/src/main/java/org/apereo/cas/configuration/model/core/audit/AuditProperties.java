@@ -88,6 +88,12 @@ public class AuditProperties implements Serializable {
     @NestedConfigurationProperty
     private AuditSlf4jLogProperties slf4j = new AuditSlf4jLogProperties();
 
+    /**
+     * Family of sub-properties pertaining to how audit records are delivered to audit destinations.
+     */
+    @NestedConfigurationProperty
+    private AuditDeliveryProperties delivery = new AuditDeliveryProperties();
+
     /**
      * Indicates whether catastrophic audit failures should simply be logged
      * or whether errors should bubble up and thrown back.
@@ -4,7 +4,9 @@ import org.apereo.cas.configuration.support.RequiresModule;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import lombok.Getter;
@@ -65,6 +67,11 @@ public class PrincipalAttributesProperties implements Serializable {
      */
     private String merger = "REPLACE";
 
+    /**
+     * Control how attribute repository sources are queried before their results are merged.
+     */
+    private Aggregation aggregation = new Aggregation();
+
     /**
      * CAS provides the ability to release a bundle of principal attributes to all services by default.
      * This bundle is not defined on a per-service basis and is always combined with attributes
@@ -128,4 +135,52 @@ public class PrincipalAttributesProperties implements Serializable {
      * </pre>
      */
     private GrouperPrincipalAttributesProperties grouper = new GrouperPrincipalAttributesProperties();
+
+    @Getter
+    @Setter
+    public static class Aggregation implements Serializable {
+
+        private static final long serialVersionUID = 2841637455089370213L;
+
+        /**
+         * Whether attribute repository sources should be queried concurrently rather than one after another.
+         * Results are still merged in the execution order of the sources.
+         */
+        private boolean concurrent;
+
+        /**
+         * Maximum number of threads used to query attribute repository sources.
+         */
+        private int threads = 10;
+
+        /**
+         * Maximum amount of time to wait for each attribute repository source to produce its results,
+         * counted from the moment sources are queried.
+         */
+        private String timeout = "PT5S";
+
+        /**
+         * Maximum amount of time to wait for individual attribute repository sources, keyed by the order
+         * assigned to the source. Sources without an entry here are given the timeout above.
+         */
+        private Map<Integer, String> sourceTimeouts = new LinkedHashMap<>();
+
+        /**
+         * Decide what happens when a source fails or does not produce results in time.
+         * Accepted values are the following:
+         * <ul>
+         * <li>{@code IGNORE}: Merge results from the remaining sources.</li>
+         * <li>{@code FAIL}: Fail the attribute query altogether.</li>
+         * <li>{@code STALE}: Use the last results produced by the source for the same query, if any,
+         * and otherwise ignore the source.</li>
+         * </ul>
+         */
+        private String failurePolicy = "IGNORE";
+
+        /**
+         * Amount of time for which the last results produced by each source are kept,
+         * for use by the {@code STALE} failure policy.
+         */
+        private String staleResultsExpiration = "PT8H";
+    }
 }
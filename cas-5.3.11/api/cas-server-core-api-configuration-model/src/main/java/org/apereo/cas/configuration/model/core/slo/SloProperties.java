@@ -28,4 +28,38 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Whether SLO callbacks for the services of a single sign-on session should be dispatched concurrently
+     * on a bounded pool of threads, rather than one after the other. Callbacks dispatched this way
+     * are sent synchronously within the pool, so that failed callbacks can be retried.
+     */
+    private boolean parallel;
+
+    /**
+     * Number of threads used to dispatch SLO callbacks concurrently.
+     */
+    private int poolSize = 10;
+
+    /**
+     * Maximum amount of time to wait for the SLO callbacks of all services of a session to complete
+     * when callbacks are dispatched concurrently; callbacks still pending afterwards are cancelled.
+     */
+    private String timeout = "PT5S";
+
+    /**
+     * Number of times a failed back-channel SLO callback is retried when callbacks are dispatched concurrently.
+     * A value of zero disables retries.
+     */
+    private int maxRetryAttempts = 3;
+
+    /**
+     * Maximum number of failed SLO callbacks that may wait to be retried.
+     */
+    private int retryQueueCapacity = 1000;
+
+    /**
+     * Amount of time to wait between attempts to retry failed SLO callbacks.
+     */
+    private String retryInterval = "PT30S";
 }
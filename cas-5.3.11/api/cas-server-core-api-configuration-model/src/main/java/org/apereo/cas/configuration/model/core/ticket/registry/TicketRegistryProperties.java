@@ -119,6 +119,21 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
 
+    /**
+     * Format used to serialize tickets before they are encoded and handed off to the registry.
+     * Accepted values are {@code java} and {@code kryo}. The latter requires the
+     * {@code cas-server-support-memcached-core} module and is still able to read tickets
+     * written in the Java serialization format.
+     */
+    private String serializer = "java";
+
+    /**
+     * When tickets are serialized with {@code kryo}, allow objects that kryo is unable to handle
+     * (i.e. types that are not registered) to be written using Java serialization instead.
+     * When turned off, such objects fail to serialize.
+     */
+    private boolean javaSerializationFallback;
+
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
     @Setter
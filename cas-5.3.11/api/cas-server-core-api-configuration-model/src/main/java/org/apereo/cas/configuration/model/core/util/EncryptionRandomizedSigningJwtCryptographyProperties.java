@@ -39,4 +39,12 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
      * The signing/encryption algorithm to use.
      */
     private String alg = "AES";
+
+    /**
+     * Encrypt values using AES in GCM mode, which protects their integrity
+     * as part of encryption rather than signing the ciphertext in a separate step.
+     * Values produced with this setting turned off remain readable.
+     * Only applies to components that operate on binary values, such as ticket registries.
+     */
+    private boolean authenticatedEncryption;
 }
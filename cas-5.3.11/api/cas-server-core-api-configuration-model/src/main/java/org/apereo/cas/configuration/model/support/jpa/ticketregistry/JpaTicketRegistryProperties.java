@@ -39,6 +39,13 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
      */
     private String jpaLockingTimeout = DEFAULT_LOCK_TIMEOUT;
 
+    /**
+     * Number of expired tickets removed by each bulk delete statement
+     * when the cleaner purges expired tickets from the database. Each batch is committed separately.
+     * Also limits the number of tickets with no recorded expiration time examined per type on each run.
+     */
+    private int purgeBatchSize = 500;
+
     /**
      * Crypto settings for the registry.
      */
@@ -1,9 +1,11 @@
 package org.apereo.cas.configuration.model.support.oauth;
 
+import org.apereo.cas.configuration.model.core.util.EncryptionOptionalSigningOptionalJwtCryptographyProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 import java.io.Serializable;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 /**
  * This is {@link OAuthAccessTokenProperties}.
@@ -35,4 +37,19 @@ public class OAuthAccessTokenProperties implements Serializable {
      * should be released as part of this access token's validation.
      */
     private boolean releaseProtocolAttributes = true;
+
+    /**
+     * Whether access tokens should be issued as signed JWTs that carry
+     * the principal, scopes, client id and expiration. Such tokens are validated
+     * by verifying their signature and are not tracked by the ticket registry.
+     * Since they are not looked up on use, only the hard timeout applies to them.
+     */
+    private boolean createAsJwt;
+
+    /**
+     * Crypto settings used to sign and optionally encrypt JWT access tokens.
+     * Signing is always enforced for access tokens.
+     */
+    @NestedConfigurationProperty
+    private EncryptionOptionalSigningOptionalJwtCryptographyProperties crypto = new EncryptionOptionalSigningOptionalJwtCryptographyProperties();
 }
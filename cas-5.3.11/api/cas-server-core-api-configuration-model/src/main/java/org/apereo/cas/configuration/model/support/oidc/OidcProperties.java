@@ -30,6 +30,8 @@ public class OidcProperties implements Serializable {
 
     /**
      * Timeout that indicates how long should the JWKS file be kept in cache.
+     * Also controls how long relying parties may cache the keys published
+     * by the JWKS endpoint, via the {@code Cache-Control} header.
      */
     private int jwksCacheInMinutes = 60;
 
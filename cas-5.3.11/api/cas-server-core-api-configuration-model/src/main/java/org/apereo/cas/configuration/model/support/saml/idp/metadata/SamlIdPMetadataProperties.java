@@ -43,6 +43,19 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * Reload cached metadata in the background once it reaches the last given percentage of its lifetime,
+     * while the cached metadata continues to be used until the reloaded metadata replaces it.
+     * Cached metadata also continues to be used if reloading fails. A value of zero turns this off,
+     * in which case metadata is reloaded by the first request that arrives after it expires.
+     */
+    private int cacheRefreshAheadPercentage;
+
+    /**
+     * Number of threads used to reload cached metadata in the background.
+     */
+    private int cacheRefreshAheadThreads = 2;
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
@@ -37,6 +37,11 @@ public class ThrottleProperties implements Serializable {
      */
     private Failure failure = new Failure();
 
+    /**
+     * Throttle failures by counting them within a sliding window.
+     */
+    private SlidingWindow slidingWindow = new SlidingWindow();
+
     /**
      * Record authentication throttling events in a JDBC resource.
      */
@@ -93,6 +98,30 @@ public class ThrottleProperties implements Serializable {
         private int rangeSeconds = -1;
     }
 
+    /**
+     * Sliding window.
+     */
+    @RequiresModule(name = "cas-server-support-throttle", automated = true)
+    @Getter
+    @Setter
+    public static class SlidingWindow implements Serializable {
+
+        private static final long serialVersionUID = -4512830712381657724L;
+
+        /**
+         * Whether in-memory throttling should count failures within a sliding window
+         * of {@code rangeSeconds}, blocking submissions once the count reaches the failure threshold,
+         * instead of comparing the rate between the last two failures against the threshold rate.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of IP addresses or IP address and username pairs to track.
+         * Once reached, the least used entries are evicted.
+         */
+        private long maximumKeys = 100_000;
+    }
+
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
     @Getter
     @Setter
@@ -49,10 +49,57 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Where flow executions are kept when sessions are stored server-side.
+     * Only relevant if session storage is done on the server.
+     */
+    private ServerStorageTypes serverStorage = ServerStorageTypes.SESSION;
+
+    /**
+     * Time after which an abandoned conversation is removed, when flow executions
+     * are kept in memory or in the ticket registry.
+     */
+    private String conversationTimeout = "PT30M";
+
+    /**
+     * Maximum number of flow execution snapshots kept for a single conversation,
+     * when flow executions are kept in memory or in the ticket registry.
+     * Older snapshots are discarded first.
+     */
+    private int maxSnapshots = 10;
+
+    /**
+     * Maximum number of conversations kept on this node when flow executions
+     * are kept in memory. Once reached, conversations are evicted
+     * before their timeout, starting with those least likely to be used again.
+     */
+    private long maxConversations = 100_000;
+
     /**
      * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
      * file that defines how state should be replicated.
      * Only relevant if session storage is done on the server.
      */
     private transient Resource hzLocation = new ClassPathResource("hazelcast.xml");
+
+    /**
+     * Server-side storage types for flow executions.
+     */
+    public enum ServerStorageTypes {
+        /**
+         * Keep flow executions in the HTTP session,
+         * which requires sticky sessions or session replication.
+         */
+        SESSION,
+        /**
+         * Keep flow executions in memory on this node,
+         * keyed by an opaque identifier carried by the browser.
+         */
+        MEMORY,
+        /**
+         * Keep flow executions in the ticket registry,
+         * keyed by an opaque identifier carried by the browser.
+         */
+        TICKET_REGISTRY
+    }
 }
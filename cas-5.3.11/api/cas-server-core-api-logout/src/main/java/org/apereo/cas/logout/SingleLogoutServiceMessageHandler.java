@@ -3,6 +3,7 @@ package org.apereo.cas.logout;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * This is {@link SingleLogoutServiceMessageHandler} which defines how a logout message
@@ -22,4 +23,28 @@ public interface SingleLogoutServiceMessageHandler {
      * @return the logout request
      */
     Collection<LogoutRequest> handle(WebApplicationService singleLogoutService, String ticketId);
+
+    /**
+     * Handle logout for slo service, and hand each back-channel logout request
+     * to the given listener before its message is sent.
+     *
+     * @param singleLogoutService the service
+     * @param ticketId            the ticket id
+     * @param backChannelListener the listener notified of back-channel logout requests
+     * @return the logout request
+     */
+    default Collection<LogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
+                                             final Consumer<LogoutRequest> backChannelListener) {
+        return handle(singleLogoutService, ticketId);
+    }
+
+    /**
+     * Send the logout message of a back-channel logout request, i.e. again after a failed attempt.
+     *
+     * @param request the logout request
+     * @return true, if the message was delivered
+     */
+    default boolean performBackChannelLogout(final LogoutRequest request) {
+        return false;
+    }
 }
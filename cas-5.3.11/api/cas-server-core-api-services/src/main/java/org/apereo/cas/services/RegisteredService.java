@@ -273,6 +273,18 @@ public interface RegisteredService extends Serializable, Comparable<RegisteredSe
         return this.getClass().getSimpleName();
     }
 
+    /**
+     * Gets the secondary keys, such as an OAuth client id, by which this service
+     * can be looked up in addition to its service id.
+     *
+     * @return map of key names to key values
+     * @since 5.3
+     */
+    @JsonIgnore
+    default Map<String, String> getIndexedKeys() {
+        return new LinkedHashMap<>(0);
+    }
+
     /**
      * Initialize the registered service instance by defaulting fields to specific
      * values or object instances, etc.
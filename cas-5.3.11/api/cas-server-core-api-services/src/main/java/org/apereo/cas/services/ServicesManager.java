@@ -107,6 +107,26 @@ public interface ServicesManager {
      */
     RegisteredService findServiceBy(long id);
 
+    /**
+     * Find a RegisteredService of the given type by one of its indexed keys.
+     *
+     * @param <T>      the type parameter
+     * @param keyName  the key name
+     * @param keyValue the key value
+     * @param clazz    the clazz
+     * @return the registered service, or null
+     * @see RegisteredService#getIndexedKeys()
+     */
+    default <T extends RegisteredService> T findServiceByIndexedKey(final String keyName, final String keyValue, final Class<T> clazz) {
+        return getAllServices()
+            .stream()
+            .filter(clazz::isInstance)
+            .filter(s -> keyValue != null && keyValue.equals(s.getIndexedKeys().get(keyName)))
+            .map(clazz::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
     /**
      * Retrieve the collection of all registered services.
      * Services that are returned are valid, non-expired, etc.
@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 /**
  * Strategy that determines if the ticket is expired. Implementations of the
@@ -49,6 +50,18 @@ public interface ExpirationPolicy extends Serializable {
      */
     Long getTimeToIdle();
 
+    /**
+     * Gets the point in time at which a ticket with the given state expires
+     * under this policy, provided the ticket is not used again in the meantime.
+     * Registries may persist this value to locate expired tickets without evaluating every ticket.
+     *
+     * @param ticketState the ticket state
+     * @return the expiration time, or null if the policy is unable to determine one.
+     */
+    default ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        return null;
+    }
+
     /**
      * Gets name of this expiration policy.
      *
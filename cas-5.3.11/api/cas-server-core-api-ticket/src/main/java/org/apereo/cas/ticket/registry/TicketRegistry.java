@@ -1,10 +1,15 @@
 package org.apereo.cas.ticket.registry;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 /**
  * Interface for a registry that stores tickets. The underlying registry can be
@@ -97,6 +102,20 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket);
 
+    /**
+     * Record the service session that the ticket-granting ticket established when it granted the service ticket.
+     * The ticket-granting ticket passed here already tracks the new session and its usage state is up to date.
+     * Registries that store tickets as a whole may persist the new session and the usage state alone,
+     * rather than rewriting the ticket-granting ticket along with all its previous sessions.
+     * By default, the ticket-granting ticket is updated as a whole.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param serviceTicket        the service ticket that was granted
+     */
+    default void addServiceSession(final TicketGrantingTicket ticketGrantingTicket, final ServiceTicket serviceTicket) {
+        updateTicket(ticketGrantingTicket);
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -122,5 +141,59 @@ public interface TicketRegistry {
     default Stream<Ticket> getTicketsStream() {
         return getTickets().stream();
     }
+
+    /**
+     * Gets the tickets that have expired and are due for removal.
+     * Registries that keep track of ticket expiration deadlines may override this
+     * to avoid examining every ticket; by default, all tickets are streamed and filtered.
+     *
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @return the expired tickets
+     */
+    default Stream<Ticket> getExpiredTicketsStream() {
+        return getTicketsStream().filter(Objects::nonNull).filter(Ticket::isExpired);
+    }
+
+    /**
+     * Delete expired tickets in bulk without loading them individually, for registries that are able to do so.
+     * This is invoked by the cleaner before the tickets produced by {@link #getExpiredTicketsStream()} are processed;
+     * registries implementing this may leave out of that stream the expired tickets that need no individual
+     * processing (i.e. anything but ticket-granting tickets) and remove them here instead. Registries may commit
+     * the removal in several steps rather than as part of the cleaner's own transaction.
+     *
+     * @return the number of tickets deleted.
+     */
+    default long deleteExpiredTickets() {
+        return 0;
+    }
+
+    /**
+     * Gets the unexpired ticket-granting tickets (SSO sessions) that belong to the given principal.
+     * Principal ids are compared in a case-insensitive manner.
+     *
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * By default, all tickets are streamed and filtered; registries that index sessions by principal
+     * may override this to avoid examining every ticket.
+     *
+     * @param principalId the principal id
+     * @return the ticket-granting tickets of the principal
+     */
+    default Stream<TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (principalId == null || principalId.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        return getTickets(ticket -> {
+            if (!(ticket instanceof TicketGrantingTicket) || ticket.isExpired()) {
+                return false;
+            }
+            final Authentication authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            final Principal principal = authentication != null ? authentication.getPrincipal() : null;
+            return principal != null && principalId.equalsIgnoreCase(principal.getId());
+        }).map(TicketGrantingTicket.class::cast);
+    }
     
 }
@@ -0,0 +1,217 @@
+package org.apereo.cas.audit.spi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.audit.BatchAuditTrailManager;
+import org.apereo.cas.configuration.model.core.audit.AuditDeliveryProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditDeliveryProperties.BackPressurePolicies;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link AsynchronousAuditTrailManager} that hands audit records to a bounded queue,
+ * from which a dedicated thread delivers them to the underlying {@link AuditTrailManager} in batches.
+ * Managers that implement {@link BatchAuditTrailManager} are switched to synchronous mode,
+ * so that records are not queued a second time, and receive each batch at once;
+ * others receive the records of the batch one at a time.
+ * <p>
+ * What happens once the queue is full is decided by the configured back-pressure policy:
+ * the recording thread is blocked, the oldest queued record is dropped, or the record is appended
+ * to a spool file as a line of JSON. Batches that cannot be delivered are spooled under the same policy,
+ * and are otherwise counted as dropped.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class AsynchronousAuditTrailManager implements AuditTrailManager, DisposableBean {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    @Getter
+    private final AuditTrailManager delegate;
+
+    @Getter
+    private final String name;
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    private final int batchSize;
+
+    private final BackPressurePolicies backPressure;
+
+    private final File spoolFile;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder spooled = new LongAdder();
+
+    private final Thread drainer;
+
+    private volatile boolean running = true;
+
+    public AsynchronousAuditTrailManager(final AuditTrailManager delegate, final AuditDeliveryProperties properties) {
+        this.delegate = delegate;
+        if (delegate instanceof BatchAuditTrailManager) {
+            BatchAuditTrailManager.class.cast(delegate).setAsynchronous(false);
+        }
+        this.name = StringUtils.removePattern(delegate.getClass().getSimpleName(), "\\$.+");
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.backPressure = properties.getBackPressure();
+        this.spoolFile = new File(properties.getSpoolDirectory(), this.name + "-spool.json");
+        this.drainer = new Thread(this::drain, "cas-audit-" + this.name);
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public void record(final AuditActionContext audit) {
+        if (!this.running) {
+            deliver(Collections.singletonList(audit));
+            return;
+        }
+        switch (this.backPressure) {
+            case DROP_OLDEST:
+                while (!this.queue.offer(audit)) {
+                    if (this.queue.poll() != null) {
+                        this.dropped.increment();
+                    }
+                }
+                break;
+            case SPOOL:
+                if (!this.queue.offer(audit)) {
+                    spool(Collections.singletonList(audit));
+                }
+                break;
+            case BLOCK:
+            default:
+                try {
+                    this.queue.put(audit);
+                } catch (final InterruptedException e) {
+                    LOGGER.warn("Interrupted while waiting to queue audit record for [{}]", this.name);
+                    this.dropped.increment();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+        }
+    }
+
+    @Override
+    public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.delegate.getAuditRecordsSince(localDate);
+    }
+
+    /**
+     * Number of audit records waiting to be delivered.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Number of audit records that were dropped, either to make room in the queue or because they could not be delivered.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Number of audit records that were appended to the spool file.
+     *
+     * @return the spooled count
+     */
+    public long getSpooledCount() {
+        return this.spooled.sum();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        this.drainer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        final List<AuditActionContext> remaining = new ArrayList<>();
+        this.queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOGGER.debug("Delivering [{}] remaining audit record(s) to [{}]", remaining.size(), this.name);
+            deliver(remaining);
+        }
+    }
+
+    private void drain() {
+        final List<AuditActionContext> batch = new ArrayList<>(this.batchSize);
+        while (this.running) {
+            try {
+                final AuditActionContext audit = this.queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (audit != null) {
+                    batch.add(audit);
+                    this.queue.drainTo(batch, this.batchSize - 1);
+                    deliver(batch);
+                    batch.clear();
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.debug("Audit delivery thread for [{}] is interrupted", this.name);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(final List<AuditActionContext> batch) {
+        try {
+            if (this.delegate instanceof BatchAuditTrailManager) {
+                BatchAuditTrailManager.class.cast(this.delegate).recordAll(batch);
+            } else {
+                batch.forEach(this.delegate::record);
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Unable to deliver [{}] audit record(s) to [{}]: [{}]", batch.size(), this.name, e.getMessage(), e);
+            if (this.backPressure == BackPressurePolicies.SPOOL) {
+                spool(batch);
+            } else {
+                this.dropped.add(batch.size());
+            }
+        }
+    }
+
+    private synchronized void spool(final Collection<AuditActionContext> audits) {
+        try {
+            final StringBuilder lines = new StringBuilder();
+            for (final AuditActionContext audit : audits) {
+                lines.append(MAPPER.writeValueAsString(audit)).append(System.lineSeparator());
+            }
+            Files.createDirectories(this.spoolFile.getParentFile().toPath());
+            Files.write(this.spoolFile.toPath(), lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            this.spooled.add(audits.size());
+        } catch (final Exception e) {
+            LOGGER.error("Unable to spool [{}] audit record(s) to [{}]: [{}]", audits.size(), this.spoolFile, e.getMessage(), e);
+            this.dropped.add(audits.size());
+        }
+    }
+}
@@ -3,8 +3,10 @@ package org.apereo.cas.audit.spi;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.configuration.model.core.audit.AuditDeliveryProperties;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,18 +16,35 @@ import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultAuditTrailExecutionPlan}.
+ * When asynchronous delivery is enabled, each registered manager
+ * is wrapped in an {@link AsynchronousAuditTrailManager}.
  *
  * @author Misagh Moayyed
  * @since 5.3.0
  */
 @Slf4j
 @Getter
-public class DefaultAuditTrailExecutionPlan implements AuditTrailExecutionPlan {
+public class DefaultAuditTrailExecutionPlan implements AuditTrailExecutionPlan, DisposableBean {
+    private final AuditDeliveryProperties delivery;
+
     private List<AuditTrailManager> auditTrailManagers = new ArrayList<>();
 
+    public DefaultAuditTrailExecutionPlan() {
+        this(new AuditDeliveryProperties());
+    }
+
+    public DefaultAuditTrailExecutionPlan(final AuditDeliveryProperties delivery) {
+        this.delivery = delivery;
+    }
+
     @Override
     public void registerAuditTrailManager(final AuditTrailManager manager) {
-        this.auditTrailManagers.add(manager);
+        if (this.delivery.isAsynchronous()) {
+            LOGGER.debug("Audit records will be delivered to [{}] asynchronously", manager);
+            this.auditTrailManagers.add(new AsynchronousAuditTrailManager(manager, this.delivery));
+        } else {
+            this.auditTrailManagers.add(manager);
+        }
     }
 
     @Override
@@ -41,4 +60,13 @@ public class DefaultAuditTrailExecutionPlan implements AuditTrailExecutionPlan {
             .flatMap(Set::stream)
             .collect(Collectors.toSet());
     }
+
+    @Override
+    public void destroy() throws Exception {
+        for (final AuditTrailManager manager : this.auditTrailManagers) {
+            if (manager instanceof AsynchronousAuditTrailManager) {
+                AsynchronousAuditTrailManager.class.cast(manager).destroy();
+            }
+        }
+    }
 }
@@ -7,6 +7,7 @@ import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
+import org.apereo.cas.audit.spi.AsynchronousAuditTrailManager;
 import org.apereo.cas.audit.spi.ChainingAuditPrincipalIdProvider;
 import org.apereo.cas.audit.spi.CredentialsAsFirstParameterResourceResolver;
 import org.apereo.cas.audit.spi.DefaultAuditTrailExecutionPlan;
@@ -32,6 +33,8 @@ import org.apereo.inspektr.common.spi.PrincipalResolver;
 import org.apereo.inspektr.common.web.ClientInfoThreadLocalFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
@@ -96,7 +99,7 @@ public class CasCoreAuditConfiguration implements AuditTrailExecutionPlanConfigu
     @ConditionalOnMissingBean(name = "auditTrailExecutionPlan")
     @Bean
     public AuditTrailExecutionPlan auditTrailExecutionPlan(final List<AuditTrailExecutionPlanConfigurer> configurers) {
-        final DefaultAuditTrailExecutionPlan plan = new DefaultAuditTrailExecutionPlan();
+        final DefaultAuditTrailExecutionPlan plan = new DefaultAuditTrailExecutionPlan(casProperties.getAudit().getDelivery());
         configurers.forEach(c -> {
             final String name = StringUtils.removePattern(c.getClass().getSimpleName(), "\\$.+");
             LOGGER.debug("Registering audit trail manager [{}]", name);
@@ -105,6 +108,24 @@ public class CasCoreAuditConfiguration implements AuditTrailExecutionPlanConfigu
         return plan;
     }
 
+    @Bean
+    public PublicMetrics auditTrailDeliveryMetrics(@Qualifier("auditTrailExecutionPlan") final AuditTrailExecutionPlan auditTrailExecutionPlan) {
+        return () -> {
+            final List<Metric<?>> metrics = new ArrayList<>();
+            auditTrailExecutionPlan.getAuditTrailManagers()
+                .stream()
+                .filter(AsynchronousAuditTrailManager.class::isInstance)
+                .map(AsynchronousAuditTrailManager.class::cast)
+                .forEach(manager -> {
+                    final String prefix = "cas.audit." + manager.getName() + '.';
+                    metrics.add(new Metric<>(prefix + "queue.depth", manager.getQueueDepth()));
+                    metrics.add(new Metric<>(prefix + "dropped", manager.getDroppedCount()));
+                    metrics.add(new Metric<>(prefix + "spooled", manager.getSpooledCount()));
+                });
+            return metrics;
+        };
+    }
+
     @Bean
     public FilterRegistrationBean casClientInfoLoggingFilter() {
         final AuditProperties audit = casProperties.getAudit();
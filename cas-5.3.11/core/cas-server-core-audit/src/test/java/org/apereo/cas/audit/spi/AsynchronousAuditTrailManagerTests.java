@@ -0,0 +1,179 @@
+package org.apereo.cas.audit.spi;
+
+import lombok.SneakyThrows;
+import org.apereo.cas.audit.BatchAuditTrailManager;
+import org.apereo.cas.configuration.model.core.audit.AuditDeliveryProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditDeliveryProperties.BackPressurePolicies;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class AsynchronousAuditTrailManagerTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void verifyRecordsAreDeliveredInBatches() throws Exception {
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager();
+        final AuditDeliveryProperties props = new AuditDeliveryProperties();
+        props.setBatchSize(10);
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(delegate, props);
+
+        delegate.block();
+        manager.record(newAuditActionContext("first"));
+        assertTrue(delegate.awaitEntered());
+        for (int i = 0; i < 5; i++) {
+            manager.record(newAuditActionContext("casuser" + i));
+        }
+        assertEquals(5, manager.getQueueDepth());
+        delegate.release();
+        manager.destroy();
+
+        assertFalse(delegate.isAsynchronous());
+        assertEquals(6, delegate.getRecords().size());
+        assertEquals(Arrays.asList(1, 5), delegate.getBatches());
+        assertEquals(0, manager.getQueueDepth());
+        assertEquals(0, manager.getDroppedCount());
+    }
+
+    @Test
+    public void verifyOldestRecordsAreDropped() throws Exception {
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager();
+        final AuditDeliveryProperties props = new AuditDeliveryProperties();
+        props.setCapacity(2);
+        props.setBackPressure(BackPressurePolicies.DROP_OLDEST);
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(delegate, props);
+
+        delegate.block();
+        manager.record(newAuditActionContext("first"));
+        assertTrue(delegate.awaitEntered());
+        for (int i = 0; i < 4; i++) {
+            manager.record(newAuditActionContext("casuser" + i));
+        }
+        assertEquals(2, manager.getQueueDepth());
+        assertEquals(2, manager.getDroppedCount());
+        delegate.release();
+        manager.destroy();
+
+        assertEquals(3, delegate.getRecords().size());
+        assertEquals("casuser3", delegate.getRecords().get(2).getPrincipal());
+    }
+
+    @Test
+    public void verifyRecordsAreSpooled() throws Exception {
+        final RecordingAuditTrailManager delegate = new RecordingAuditTrailManager();
+        final File spoolDirectory = folder.newFolder();
+        final AuditDeliveryProperties props = new AuditDeliveryProperties();
+        props.setCapacity(1);
+        props.setBackPressure(BackPressurePolicies.SPOOL);
+        props.setSpoolDirectory(spoolDirectory);
+        final AsynchronousAuditTrailManager manager = new AsynchronousAuditTrailManager(delegate, props);
+
+        delegate.block();
+        manager.record(newAuditActionContext("first"));
+        assertTrue(delegate.awaitEntered());
+        manager.record(newAuditActionContext("queued"));
+        manager.record(newAuditActionContext("spooled"));
+        assertEquals(1, manager.getSpooledCount());
+        delegate.release();
+        manager.destroy();
+
+        final File[] files = spoolDirectory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        final List<String> lines = Files.readAllLines(files[0].toPath(), StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("spooled"));
+        assertEquals(2, delegate.getRecords().size());
+    }
+
+    private static AuditActionContext newAuditActionContext(final String principal) {
+        return new AuditActionContext(principal, "resource", "action", "CAS",
+            new Date(), "123.456.789.000", "123.456.789.000");
+    }
+
+    /**
+     * An audit trail manager that keeps records in memory, and may be blocked on delivery.
+     */
+    private static class RecordingAuditTrailManager implements BatchAuditTrailManager {
+        private final List<AuditActionContext> records = new CopyOnWriteArrayList<>();
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean asynchronous = true;
+
+        @Override
+        public void record(final AuditActionContext audit) {
+            fail("Records should be delivered to batch-capable managers in batches");
+        }
+
+        @Override
+        public void setAsynchronous(final boolean asynchronous) {
+            this.asynchronous = asynchronous;
+        }
+
+        boolean isAsynchronous() {
+            return this.asynchronous;
+        }
+
+        @Override
+        @SneakyThrows
+        public void recordAll(final Collection<AuditActionContext> audits) {
+            this.entered.countDown();
+            this.gate.await();
+            this.batches.add(audits.size());
+            this.records.addAll(audits);
+        }
+
+        @Override
+        public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+            return Collections.emptySet();
+        }
+
+        void block() {
+            this.gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            this.gate.countDown();
+        }
+
+        @SneakyThrows
+        boolean awaitEntered() {
+            return this.entered.await(5, TimeUnit.SECONDS);
+        }
+
+        List<AuditActionContext> getRecords() {
+            return new ArrayList<>(this.records);
+        }
+
+        List<Integer> getBatches() {
+            return this.batches;
+        }
+    }
+}
@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.AuthenticationPolicy;
 import org.apereo.cas.authentication.principal.Principal;
-import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 
@@ -31,8 +30,7 @@ public class UniquePrincipalAuthenticationPolicy implements AuthenticationPolicy
     public boolean isSatisfiedBy(final Authentication authentication) throws Exception {
         try {
             final Principal authPrincipal = authentication.getPrincipal();
-            try (Stream<Ticket> ticketsStream =
-                         this.ticketRegistry.getTickets(t -> isSamePrincipalId(t, authPrincipal))) {
+            try (Stream<TicketGrantingTicket> ticketsStream = this.ticketRegistry.getSessionsFor(authPrincipal.getId())) {
                 final long count = ticketsStream.count();
                 if (count == 0) {
                     LOGGER.debug("Authentication policy is satisfied with [{}]", authPrincipal.getId());
@@ -46,13 +44,4 @@ public class UniquePrincipalAuthenticationPolicy implements AuthenticationPolicy
             throw new GeneralSecurityException(e);
         }
     }
-
-    private boolean isSamePrincipalId(final Ticket t, final Principal p) {
-        boolean pass = TicketGrantingTicket.class.isInstance(t) && !t.isExpired();
-        if (pass) {
-            final Principal principal = TicketGrantingTicket.class.cast(t).getAuthentication().getPrincipal();
-            pass = principal.getId().equalsIgnoreCase(p.getId());
-        }
-        return pass;
-    }
 }
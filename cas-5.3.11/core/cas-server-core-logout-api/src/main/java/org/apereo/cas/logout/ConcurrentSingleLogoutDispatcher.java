@@ -0,0 +1,216 @@
+package org.apereo.cas.logout;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is {@link ConcurrentSingleLogoutDispatcher} that hands the services of a single sign-on session
+ * to the {@link SingleLogoutServiceMessageHandler} concurrently, on a bounded pool of threads.
+ * <p>
+ * All callbacks of a session share one deadline, counted from the moment they are dispatched; callbacks that have
+ * not completed by then, whether running or still queued, are cancelled, and the back-channel logout requests
+ * they were sending are reported as failed. Back-channel logout requests that fail are put on a bounded queue,
+ * from which they are sent again periodically until they succeed or run out of attempts.
+ * Once the pool and its queue are saturated, further callbacks are rejected and dropped rather than run
+ * on the calling thread.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class ConcurrentSingleLogoutDispatcher implements DisposableBean {
+
+    private static final int QUEUE_CAPACITY_PER_THREAD = 100;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService retryScheduler;
+
+    private final BlockingQueue<PendingRetry> retryQueue;
+
+    private final long timeout;
+
+    private final int maxRetryAttempts;
+
+    public ConcurrentSingleLogoutDispatcher(final int poolSize, final long timeout, final int maxRetryAttempts,
+                                            final int retryQueueCapacity, final long retryInterval) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(poolSize * QUEUE_CAPACITY_PER_THREAD), newThreadFactory("cas-slo-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.maxRetryAttempts = maxRetryAttempts;
+        this.retryQueue = new LinkedBlockingQueue<>(Math.max(1, retryQueueCapacity));
+        if (maxRetryAttempts > 0) {
+            this.retryScheduler = new ScheduledThreadPoolExecutor(1, newThreadFactory("cas-slo-retry-"));
+            this.retryScheduler.scheduleWithFixedDelay(this::retry, retryInterval, retryInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.retryScheduler = null;
+        }
+    }
+
+    /**
+     * Dispatch the logout callbacks of the given service sessions, and wait for them to complete.
+     *
+     * @param handler  the handler that processes the logout callback of each service
+     * @param sessions the services keyed by the ticket ids they were issued
+     * @return the logout requests produced by the callbacks, including the back-channel requests
+     * of callbacks that did not complete before the deadline, which are reported as failed
+     */
+    public List<LogoutRequest> dispatch(final SingleLogoutServiceMessageHandler handler,
+                                        final Collection<Map.Entry<String, WebApplicationService>> sessions) {
+        final long deadline = System.currentTimeMillis() + this.timeout;
+        final List<DispatchedCallback> callbacks = new ArrayList<>(sessions.size());
+        sessions.forEach(entry -> {
+            final Collection<LogoutRequest> backChannelRequests = new ConcurrentLinkedQueue<>();
+            try {
+                final Future<Collection<LogoutRequest>> future = this.executor.submit(() -> {
+                    LOGGER.debug("Handling single logout callback for [{}]", entry.getValue());
+                    return handler.handle(entry.getValue(), entry.getKey(), backChannelRequests::add);
+                });
+                callbacks.add(new DispatchedCallback(entry.getValue(), backChannelRequests, future));
+            } catch (final RejectedExecutionException e) {
+                LOGGER.warn("Single logout pool is saturated; dropping logout callback for [{}]", entry.getValue());
+            }
+        });
+
+        final List<LogoutRequest> logoutRequests = new ArrayList<>();
+        for (final DispatchedCallback callback : callbacks) {
+            try {
+                final long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                final Collection<LogoutRequest> results = callback.getFuture().get(remaining, TimeUnit.MILLISECONDS);
+                if (results != null) {
+                    results.forEach(request -> {
+                        logoutRequests.add(request);
+                        if (request.getStatus() == LogoutRequestStatus.FAILURE) {
+                            scheduleRetry(handler, request);
+                        }
+                    });
+                }
+            } catch (final TimeoutException e) {
+                callback.getFuture().cancel(true);
+                LOGGER.warn("Single logout callback for [{}] did not complete within [{}] ms", callback.getService(), this.timeout);
+                callback.getBackChannelRequests()
+                    .stream()
+                    .filter(request -> request.getStatus() != LogoutRequestStatus.SUCCESS)
+                    .forEach(request -> {
+                        request.setStatus(LogoutRequestStatus.FAILURE);
+                        logoutRequests.add(request);
+                        scheduleRetry(handler, request);
+                    });
+            } catch (final CancellationException e) {
+                LOGGER.warn("Single logout callback for [{}] was cancelled", callback.getService());
+            } catch (final ExecutionException e) {
+                LOGGER.error("Single logout callback for [{}] failed: [{}]", callback.getService(), e.getCause().getMessage(), e.getCause());
+            } catch (final InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for single logout callback of [{}]", callback.getService());
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        callbacks.forEach(callback -> callback.getFuture().cancel(true));
+        return logoutRequests;
+    }
+
+    /**
+     * Number of logout requests waiting to be sent again.
+     *
+     * @return the number of pending retries
+     */
+    public int getPendingRetryCount() {
+        return this.retryQueue.size();
+    }
+
+    /**
+     * Send failed logout requests that are waiting in the retry queue again.
+     */
+    protected void retry() {
+        final List<PendingRetry> pending = new ArrayList<>();
+        this.retryQueue.drainTo(pending);
+        pending.forEach(retry -> {
+            final LogoutRequest request = retry.getRequest();
+            try {
+                if (retry.getHandler().performBackChannelLogout(request)) {
+                    LOGGER.debug("Logout request [{}] was delivered on retry [{}]", request, retry.getAttempt());
+                    request.setStatus(LogoutRequestStatus.SUCCESS);
+                    return;
+                }
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+            if (retry.getAttempt() < this.maxRetryAttempts) {
+                offer(new PendingRetry(retry.getHandler(), request, retry.getAttempt() + 1));
+            } else {
+                LOGGER.warn("Logout request [{}] could not be delivered after [{}] retries; giving up", request, retry.getAttempt());
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (this.retryScheduler != null) {
+            this.retryScheduler.shutdownNow();
+        }
+        this.executor.shutdownNow();
+    }
+
+    private void scheduleRetry(final SingleLogoutServiceMessageHandler handler, final LogoutRequest request) {
+        if (this.maxRetryAttempts > 0) {
+            offer(new PendingRetry(handler, request, 1));
+        }
+    }
+
+    private void offer(final PendingRetry retry) {
+        if (!this.retryQueue.offer(retry)) {
+            LOGGER.warn("Retry queue is full; logout request [{}] will not be sent again", retry.getRequest());
+        }
+    }
+
+    private static CustomizableThreadFactory newThreadFactory(final String prefix) {
+        final CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    /**
+     * A logout callback handed to the pool.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class DispatchedCallback {
+        private final WebApplicationService service;
+        private final Collection<LogoutRequest> backChannelRequests;
+        private final Future<Collection<LogoutRequest>> future;
+    }
+
+    /**
+     * A failed logout request waiting to be sent again.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingRetry {
+        private final SingleLogoutServiceMessageHandler handler;
+        private final LogoutRequest request;
+        private final int attempt;
+    }
+}
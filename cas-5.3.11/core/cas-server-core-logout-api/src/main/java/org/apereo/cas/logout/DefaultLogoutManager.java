@@ -7,6 +7,7 @@ import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CompressionUtils;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -18,6 +19,8 @@ import java.util.stream.Stream;
 
 /**
  * This logout manager handles the Single Log Out process.
+ * When a {@link ConcurrentSingleLogoutDispatcher} is provided, the services of the ticket
+ * are handled concurrently rather than one after the other on the calling thread.
  *
  * @author Jerome Leleu
  * @since 4.0.0
@@ -29,6 +32,14 @@ public class DefaultLogoutManager implements LogoutManager {
     private final SingleLogoutServiceMessageHandler singleLogoutServiceMessageHandler;
     private final boolean singleLogoutCallbacksDisabled;
     private final LogoutExecutionPlan logoutExecutionPlan;
+    private final ConcurrentSingleLogoutDispatcher singleLogoutDispatcher;
+
+    public DefaultLogoutManager(final LogoutMessageCreator logoutMessageBuilder,
+                                final SingleLogoutServiceMessageHandler singleLogoutServiceMessageHandler,
+                                final boolean singleLogoutCallbacksDisabled,
+                                final LogoutExecutionPlan logoutExecutionPlan) {
+        this(logoutMessageBuilder, singleLogoutServiceMessageHandler, singleLogoutCallbacksDisabled, logoutExecutionPlan, null);
+    }
 
     /**
      * Perform a back channel logout for a given ticket granting ticket and returns all the logout requests.
@@ -55,6 +66,16 @@ public class DefaultLogoutManager implements LogoutManager {
     private List<LogoutRequest> performLogoutForTicket(final TicketGrantingTicket ticketToBeLoggedOut) {
         final Stream<Map<String, Service>> streamServices = Stream.concat(Stream.of(ticketToBeLoggedOut.getServices()),
             Stream.of(ticketToBeLoggedOut.getProxyGrantingTickets()));
+        if (this.singleLogoutDispatcher != null) {
+            final List<Map.Entry<String, WebApplicationService>> sessions = streamServices
+                .map(Map::entrySet)
+                .flatMap(Set::stream)
+                .filter(entry -> entry.getValue() instanceof WebApplicationService)
+                .<Map.Entry<String, WebApplicationService>>map(entry ->
+                    new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), (WebApplicationService) entry.getValue()))
+                .collect(Collectors.toList());
+            return this.singleLogoutDispatcher.dispatch(this.singleLogoutServiceMessageHandler, sessions);
+        }
         return streamServices
             .map(Map::entrySet)
             .flatMap(Set::stream)
@@ -13,6 +13,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +43,13 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      */
     @Override
     public Collection<LogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId) {
+        return handle(singleLogoutService, ticketId, request -> {
+        });
+    }
+
+    @Override
+    public Collection<LogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
+                                            final Consumer<LogoutRequest> backChannelListener) {
         if (singleLogoutService.isLoggedOutAlready()) {
             LOGGER.debug("Service [{}] is already logged out.", singleLogoutService);
             return new ArrayList<>(0);
@@ -67,16 +75,17 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         }
 
         LOGGER.debug("Creating logout request for [{}] and ticket id [{}]", selectedService, ticketId);
-        return createLogoutRequests(ticketId, selectedService, registeredService, logoutUrls);
+        return createLogoutRequests(ticketId, selectedService, registeredService, logoutUrls, backChannelListener);
     }
 
     private Collection<LogoutRequest> createLogoutRequests(final String ticketId,
                                                            final WebApplicationService selectedService,
                                                            final RegisteredService registeredService,
-                                                           final Collection<URL> logoutUrls) {
+                                                           final Collection<URL> logoutUrls,
+                                                           final Consumer<LogoutRequest> backChannelListener) {
         return logoutUrls
             .stream()
-            .map(url -> createLogoutRequest(ticketId, selectedService, registeredService, url))
+            .map(url -> createLogoutRequest(ticketId, selectedService, registeredService, url, backChannelListener))
             .filter(Objects::nonNull)
             .collect(Collectors.toList());
     }
@@ -84,7 +93,8 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private LogoutRequest createLogoutRequest(final String ticketId,
                                               final WebApplicationService selectedService,
                                               final RegisteredService registeredService,
-                                              final URL logoutUrl) {
+                                              final URL logoutUrl,
+                                              final Consumer<LogoutRequest> backChannelListener) {
         final DefaultLogoutRequest logoutRequest = new DefaultLogoutRequest(ticketId, selectedService, logoutUrl);
         LOGGER.debug("Logout request [{}] created for [{}] and ticket id [{}]", logoutRequest, selectedService, ticketId);
         final RegisteredService.LogoutType type = registeredService.getLogoutType() == null
@@ -92,6 +102,7 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         LOGGER.debug("Logout type registered for [{}] is [{}]", selectedService, type);
 
         if (type == RegisteredService.LogoutType.BACK_CHANNEL) {
+            backChannelListener.accept(logoutRequest);
             if (performBackChannelLogout(logoutRequest)) {
                 logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
             } else {
@@ -111,6 +122,7 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      * @param request the logout request.
      * @return if the logout has been performed.
      */
+    @Override
     public boolean performBackChannelLogout(final LogoutRequest request) {
         try {
             LOGGER.debug("Creating back-channel logout request based on [{}]", request);
@@ -4,6 +4,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.ConcurrentSingleLogoutDispatcher;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
@@ -27,6 +30,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.List;
 
@@ -77,7 +81,7 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
             logoutBuilder(),
             servicesManager,
             singleLogoutServiceLogoutUrlBuilder(),
-            casProperties.getSlo().isAsynchronous(),
+            casProperties.getSlo().isAsynchronous() && !casProperties.getSlo().isParallel(),
             authenticationServiceSelectionPlan.getIfAvailable());
     }
 
@@ -86,8 +90,21 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Autowired
     @Bean
     public LogoutManager logoutManager(@Qualifier("logoutExecutionPlan") final LogoutExecutionPlan logoutExecutionPlan) {
+        final SloProperties slo = casProperties.getSlo();
         return new DefaultLogoutManager(logoutBuilder(), defaultSingleLogoutServiceMessageHandler(),
-            casProperties.getSlo().isDisabled(), logoutExecutionPlan);
+            slo.isDisabled(), logoutExecutionPlan, slo.isParallel() ? singleLogoutDispatcher() : null);
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutDispatcher")
+    @Lazy
+    @Bean
+    public ConcurrentSingleLogoutDispatcher singleLogoutDispatcher() {
+        final SloProperties slo = casProperties.getSlo();
+        return new ConcurrentSingleLogoutDispatcher(slo.getPoolSize(),
+            Beans.newDuration(slo.getTimeout()).toMillis(),
+            slo.getMaxRetryAttempts(),
+            slo.getRetryQueueCapacity(),
+            Beans.newDuration(slo.getRetryInterval()).toMillis());
     }
 
     @ConditionalOnMissingBean(name = "logoutBuilder")
@@ -0,0 +1,206 @@
+package org.apereo.cas.logout;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
+import org.apereo.cas.authentication.principal.AbstractWebApplicationService;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.AbstractRegisteredService;
+import org.apereo.cas.services.RegisteredService.LogoutType;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.http.SimpleHttpClientFactoryBean;
+import org.apereo.cas.web.SimpleUrlValidatorFactoryBean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ConcurrentSingleLogoutDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class ConcurrentSingleLogoutDispatcherTests {
+    private static final long TIMEOUT = 1000;
+    private static final long SLOW_RESPONSE = 3000;
+    private static final long MODERATE_RESPONSE = 700;
+
+    private final AtomicInteger failingAttempts = new AtomicInteger();
+
+    private HttpServer server;
+
+    private ConcurrentSingleLogoutDispatcher dispatcher;
+
+    private DefaultLogoutManager logoutManager;
+
+    private DefaultSingleLogoutServiceMessageHandler handler;
+
+    private ServicesManager servicesManager;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Before
+    @SneakyThrows
+    public void setUp() {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/fast", exchange -> respond(exchange, 200));
+        this.server.createContext("/slow", exchange -> {
+            sleep(SLOW_RESPONSE);
+            respond(exchange, 200);
+        });
+        this.server.createContext("/moderate", exchange -> {
+            sleep(MODERATE_RESPONSE);
+            respond(exchange, 200);
+        });
+        this.server.createContext("/moderate2", exchange -> {
+            sleep(MODERATE_RESPONSE);
+            respond(exchange, 200);
+        });
+        this.server.createContext("/failing", exchange -> respond(exchange, this.failingAttempts.incrementAndGet() > 1 ? 200 : 500));
+        this.server.start();
+
+        this.servicesManager = mock(ServicesManager.class);
+        this.ticketGrantingTicket = getTicketGrantingTicket("fast", "slow", "failing");
+
+        this.handler = new DefaultSingleLogoutServiceMessageHandler(
+            new SimpleHttpClientFactoryBean().getObject(),
+            new SamlCompliantLogoutMessageCreator(), this.servicesManager,
+            new DefaultSingleLogoutServiceLogoutUrlBuilder(new SimpleUrlValidatorFactoryBean(true).getObject()), false,
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()));
+        this.dispatcher = new ConcurrentSingleLogoutDispatcher(4, TIMEOUT, 2, 10, 100);
+        this.logoutManager = new DefaultLogoutManager(new SamlCompliantLogoutMessageCreator(), this.handler, false,
+            mock(LogoutExecutionPlan.class), this.dispatcher);
+    }
+
+    @After
+    public void tearDown() {
+        this.dispatcher.destroy();
+        this.server.stop(0);
+    }
+
+    @Test
+    public void verifyCallbacksAreDispatchedConcurrentlyWithTimeout() {
+        final long start = System.currentTimeMillis();
+        final List<LogoutRequest> requests = this.logoutManager.performLogout(this.ticketGrantingTicket);
+        final long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(elapsed < SLOW_RESPONSE);
+        assertEquals(3, requests.size());
+        assertTrue(requests.stream().anyMatch(r -> r.getTicketId().equals("ST-fast") && r.getStatus() == LogoutRequestStatus.SUCCESS));
+        assertTrue(requests.stream().anyMatch(r -> r.getTicketId().equals("ST-failing") && r.getStatus() == LogoutRequestStatus.FAILURE));
+        assertTrue(requests.stream().anyMatch(r -> r.getTicketId().equals("ST-slow") && r.getStatus() == LogoutRequestStatus.FAILURE));
+    }
+
+    @Test
+    public void verifyFailedCallbacksAreRetried() {
+        final Collection<LogoutRequest> requests = this.logoutManager.performLogout(this.ticketGrantingTicket);
+        assertEquals(3, requests.size());
+
+        final long deadline = System.currentTimeMillis() + 3 * SLOW_RESPONSE;
+        while (requests.stream().anyMatch(r -> r.getStatus() != LogoutRequestStatus.SUCCESS) && System.currentTimeMillis() < deadline) {
+            sleep(50);
+        }
+        assertTrue(requests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+        assertEquals(2, this.failingAttempts.get());
+        assertEquals(0, this.dispatcher.getPendingRetryCount());
+    }
+
+    @Test
+    public void verifyQueuedCallbacksShareTheDispatchDeadline() {
+        final ConcurrentSingleLogoutDispatcher singleThreadDispatcher = new ConcurrentSingleLogoutDispatcher(1, TIMEOUT, 0, 10, 100);
+        try {
+            final DefaultLogoutManager manager = new DefaultLogoutManager(new SamlCompliantLogoutMessageCreator(), this.handler, false,
+                mock(LogoutExecutionPlan.class), singleThreadDispatcher);
+            final long start = System.currentTimeMillis();
+            final List<LogoutRequest> requests = manager.performLogout(getTicketGrantingTicket("moderate", "moderate2"));
+            final long elapsed = System.currentTimeMillis() - start;
+
+            assertTrue(elapsed < 2 * MODERATE_RESPONSE);
+            assertEquals(1, requests.stream().filter(r -> r.getStatus() == LogoutRequestStatus.SUCCESS).count());
+            assertTrue(requests.stream().filter(r -> r.getStatus() != LogoutRequestStatus.SUCCESS)
+                .allMatch(r -> r.getStatus() == LogoutRequestStatus.FAILURE));
+        } finally {
+            singleThreadDispatcher.destroy();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifySaturatedPoolDropsCallbacks() {
+        final ConcurrentSingleLogoutDispatcher singleThreadDispatcher = new ConcurrentSingleLogoutDispatcher(1, TIMEOUT, 0, 10, 100);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final AtomicInteger handled = new AtomicInteger();
+        final SingleLogoutServiceMessageHandler blockingHandler = mock(SingleLogoutServiceMessageHandler.class);
+        when(blockingHandler.handle(any(), any(), any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            handled.incrementAndGet();
+            release.await();
+            return Collections.emptyList();
+        });
+        try {
+            final List<Map.Entry<String, WebApplicationService>> sessions = new ArrayList<>();
+            for (int i = 0; i < 110; i++) {
+                sessions.add(new AbstractMap.SimpleEntry<>("ST-" + i, mock(WebApplicationService.class)));
+            }
+            final List<LogoutRequest> requests = singleThreadDispatcher.dispatch(blockingHandler, sessions);
+            release.countDown();
+
+            assertTrue(requests.isEmpty());
+            assertFalse(threads.contains(Thread.currentThread()));
+            assertEquals(1, handled.get());
+        } finally {
+            release.countDown();
+            singleThreadDispatcher.destroy();
+        }
+    }
+
+    private TicketGrantingTicket getTicketGrantingTicket(final String... paths) {
+        final Map<String, Service> services = new HashMap<>();
+        for (final String path : paths) {
+            final String url = "http://localhost:" + this.server.getAddress().getPort() + '/' + path;
+            final AbstractWebApplicationService service = DefaultLogoutManagerTests.getService(url);
+            final AbstractRegisteredService registeredService = DefaultLogoutManagerTests.getRegisteredService(url);
+            registeredService.setLogoutType(LogoutType.BACK_CHANNEL);
+            when(this.servicesManager.findServiceBy(service)).thenReturn(registeredService);
+            services.put("ST-" + path, service);
+        }
+        final TicketGrantingTicket tgt = mock(TicketGrantingTicket.class);
+        when(tgt.getId()).thenReturn("TGT-1");
+        when(tgt.getServices()).thenReturn(services);
+        return tgt;
+    }
+
+    @SneakyThrows
+    private static void respond(final HttpExchange exchange, final int status) {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    @SneakyThrows
+    private static void sleep(final long millis) {
+        Thread.sleep(millis);
+    }
+}
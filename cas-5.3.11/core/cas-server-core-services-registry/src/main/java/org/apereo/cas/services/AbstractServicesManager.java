@@ -20,6 +20,8 @@ import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -46,6 +48,12 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    /**
+     * Services by indexed key name and value, each list in evaluation order.
+     * Rebuilt on load, save and delete, and swapped whole.
+     */
+    private volatile Map<String, Map<String, List<RegisteredService>>> indexedServices = new HashMap<>(0);
+
     public AbstractServicesManager(final ServiceRegistry serviceRegistry,
                                    final ApplicationEventPublisher eventPublisher) {
         this.serviceRegistry = serviceRegistry;
@@ -124,6 +132,24 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return this.services.get(id);
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceByIndexedKey(final String keyName, final String keyValue, final Class<T> clazz) {
+        if (StringUtils.isBlank(keyValue)) {
+            return null;
+        }
+        final List<RegisteredService> candidates = this.indexedServices
+            .getOrDefault(keyName, Collections.emptyMap())
+            .getOrDefault(keyValue, Collections.emptyList());
+        return candidates
+            .stream()
+            .filter(clazz::isInstance)
+            .filter(getRegisteredServicesFilteringPredicate())
+            .peek(RegisteredService::initialize)
+            .map(clazz::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
     @Override
     public int count() {
         return services.size();
@@ -158,6 +184,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             this.serviceRegistry.delete(service);
             this.services.remove(service.getId());
             deleteInternal(service);
+            rebuildIndexedServices();
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
         return service;
@@ -180,6 +207,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         final RegisteredService r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
         saveInternal(registeredService);
+        rebuildIndexedServices();
 
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
@@ -203,6 +231,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
                 return r.getId();
             }, Function.identity(), (r, s) -> s == null ? r : s));
         loadInternal();
+        rebuildIndexedServices();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
         LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
@@ -213,9 +242,23 @@ public abstract class AbstractServicesManager implements ServicesManager {
     public synchronized void deleteAll() {
         this.services.forEach((k, v) -> delete(v));
         this.services.clear();
+        rebuildIndexedServices();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
+    private void rebuildIndexedServices() {
+        final Map<String, Map<String, List<RegisteredService>>> index = new HashMap<>();
+        this.services.values()
+            .stream()
+            .sorted()
+            .forEach(service -> service.getIndexedKeys().forEach((name, value) -> {
+                if (StringUtils.isNotBlank(value)) {
+                    index.computeIfAbsent(name, k -> new HashMap<>()).computeIfAbsent(value, k -> new ArrayList<>(1)).add(service);
+                }
+            }));
+        this.indexedServices = index;
+    }
+
     private void evaluateExpiredServiceDefinitions() {
         this.services.values()
             .stream()
@@ -3,9 +3,8 @@ package org.apereo.cas.services;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
@@ -17,7 +16,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
 public class DefaultServicesManager extends AbstractServicesManager {
     private static final long serialVersionUID = -8581398063126547772L;
 
-    private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
+    private volatile RegisteredServiceMatchingIndex matchingIndex = new RegisteredServiceMatchingIndex(new ArrayList<>(0));
 
     public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher) {
         super(serviceRegistry, eventPublisher);
@@ -25,21 +24,21 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return this.orderedServices;
+        return this.matchingIndex.getCandidates(serviceId);
     }
 
     @Override
     protected void deleteInternal(final RegisteredService service) {
-        this.orderedServices.remove(service);
+        this.matchingIndex = new RegisteredServiceMatchingIndex(getAllServices());
     }
 
     @Override
     protected void saveInternal(final RegisteredService service) {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        this.matchingIndex = new RegisteredServiceMatchingIndex(getAllServices());
     }
 
     @Override
     protected void loadInternal() {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        this.matchingIndex = new RegisteredServiceMatchingIndex(getAllServices());
     }
 }
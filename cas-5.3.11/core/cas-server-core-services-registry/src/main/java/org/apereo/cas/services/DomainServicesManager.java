@@ -17,7 +17,8 @@ import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link ServicesManager} interface that organizes services by domain into
- * a hash for quicker lookup.
+ * a hash for quicker lookup. Services of each domain are further indexed by
+ * {@link RegisteredServiceMatchingIndex}, so only candidates of the domain are evaluated.
  *
  * @author Travis Schmidt
  * @since 5.2.0
@@ -30,7 +31,9 @@ public class DomainServicesManager extends AbstractServicesManager {
 
     private static final String DEFAULT_DOMAIN_NAME = "default";
 
-    private final Map<String, TreeSet<RegisteredService>> domains = new ConcurrentHashMap<>();
+    private volatile Map<String, TreeSet<RegisteredService>> domains = new ConcurrentHashMap<>();
+
+    private volatile Map<String, RegisteredServiceMatchingIndex> matchingIndexes = new ConcurrentHashMap<>();
 
     /**
      * This regular expression is used to strip the domain form the serviceId that is set in
@@ -44,9 +47,15 @@ public class DomainServicesManager extends AbstractServicesManager {
     }
 
     @Override
-    protected void deleteInternal(final RegisteredService service) {
+    protected synchronized void deleteInternal(final RegisteredService service) {
         final String domain = extractDomain(service.getServiceId());
-        this.domains.get(domain).remove(service);
+        final TreeSet<RegisteredService> services = this.domains.get(domain);
+        if (services != null) {
+            final TreeSet<RegisteredService> updated = new TreeSet<>(services);
+            updated.remove(service);
+            this.domains.put(domain, updated);
+            this.matchingIndexes.put(domain, new RegisteredServiceMatchingIndex(updated));
+        }
     }
 
     @Override
@@ -54,28 +63,35 @@ public class DomainServicesManager extends AbstractServicesManager {
         final String mappedDomain = StringUtils.isNotBlank(serviceId) ? extractDomain(serviceId) : StringUtils.EMPTY;
         LOGGER.debug("Domain mapped to the service identifier is [{}]", mappedDomain);
 
-        final String domain = domains.containsKey(mappedDomain) ? mappedDomain : DEFAULT_DOMAIN_NAME;
+        final String domain = this.matchingIndexes.containsKey(mappedDomain) ? mappedDomain : DEFAULT_DOMAIN_NAME;
         LOGGER.debug("Looking up services under domain [{}] for service identifier [{}]", domain, serviceId);
 
-        final Collection<RegisteredService> registeredServices = getServicesForDomain(domain);
-        if (registeredServices == null || registeredServices.isEmpty()) {
+        final RegisteredServiceMatchingIndex index = this.matchingIndexes.get(domain);
+        if (index == null || index.getServices().isEmpty()) {
             LOGGER.debug("No services could be located for domain [{}]", domain);
             return new ArrayList<>(0);
         }
-        return registeredServices;
+        return index.getCandidates(serviceId);
     }
 
     @Override
-    protected void saveInternal(final RegisteredService service) {
-        addToDomain(service, this.domains);
+    protected synchronized void saveInternal(final RegisteredService service) {
+        final String domain = extractDomain(service.getServiceId());
+        final TreeSet<RegisteredService> services = new TreeSet<>(getServicesForDomain(domain));
+        services.add(service);
+        LOGGER.debug("Added service [{}] mapped to domain definition [{}]", service, domain);
+        this.domains.put(domain, services);
+        this.matchingIndexes.put(domain, new RegisteredServiceMatchingIndex(services));
     }
 
     @Override
-    protected void loadInternal() {
+    protected synchronized void loadInternal() {
         final Map<String, TreeSet<RegisteredService>> localDomains = new ConcurrentHashMap<>();
         getAllServices().forEach(r -> addToDomain(r, localDomains));
-        this.domains.clear();
-        this.domains.putAll(localDomains);
+        final Map<String, RegisteredServiceMatchingIndex> localIndexes = new ConcurrentHashMap<>();
+        localDomains.forEach((domain, services) -> localIndexes.put(domain, new RegisteredServiceMatchingIndex(services)));
+        this.domains = localDomains;
+        this.matchingIndexes = localIndexes;
     }
 
     @Override
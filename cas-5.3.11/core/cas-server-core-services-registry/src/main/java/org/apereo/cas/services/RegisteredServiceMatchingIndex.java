@@ -0,0 +1,203 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex} that narrows down the registered services
+ * that may match a service identifier, so that only a subset of service definitions needs to be evaluated.
+ * <p>
+ * The literal prefix of each {@link RegexRegisteredService} pattern (i.e. {@code https://app.example.org/})
+ * is extracted and kept in a trie. Candidates for a service identifier are the services whose prefix
+ * is a prefix of the identifier, along with all services for which no prefix could be determined.
+ * Candidates are returned in the order of the collection the index was built from, so the first
+ * candidate that matches is the same service that would have been found by evaluating every definition.
+ * <p>
+ * The index is immutable; it is expected to be rebuilt whenever the set of services changes.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceMatchingIndex implements Serializable {
+
+    private static final long serialVersionUID = 4365211632719412813L;
+
+    private static final String REGEX_META_CHARACTERS = ".[]()*+?{}|^$";
+
+    private static final String OPTIONAL_QUANTIFIERS = "*?{";
+
+    private static final int MAX_ASCII_CHARACTER = 127;
+
+    private final List<RegisteredService> services;
+
+    private final Node root = new Node();
+
+    public RegisteredServiceMatchingIndex(final Collection<RegisteredService> orderedServices) {
+        this.services = new ArrayList<>(orderedServices);
+        for (int i = 0; i < this.services.size(); i++) {
+            final String prefix = getLiteralPrefix(this.services.get(i));
+            Node node = this.root;
+            for (final char c : prefix.toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new Node());
+            }
+            node.positions.add(i);
+        }
+        LOGGER.trace("Indexed [{}] service(s) for matching", this.services.size());
+    }
+
+    /**
+     * Gets the services that may match the service identifier, in evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    public Collection<RegisteredService> getCandidates(final String serviceId) {
+        final BitSet candidates = new BitSet(this.services.size());
+        Node node = this.root;
+        node.positions.forEach(candidates::set);
+        if (serviceId != null) {
+            for (int i = 0; i < serviceId.length(); i++) {
+                node = node.children.get(toLowerCase(serviceId.charAt(i)));
+                if (node == null) {
+                    break;
+                }
+                node.positions.forEach(candidates::set);
+            }
+        }
+        return candidates.stream().mapToObj(this.services::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets all indexed services, in evaluation order.
+     *
+     * @return the services
+     */
+    public Collection<RegisteredService> getServices() {
+        return this.services;
+    }
+
+    /**
+     * Gets the literal prefix every service identifier matched by the service must start with,
+     * in lower case. An empty prefix is returned if the service is not matched by a regular expression.
+     *
+     * @param service the service
+     * @return the literal prefix
+     */
+    protected String getLiteralPrefix(final RegisteredService service) {
+        if (!isMatchedByPattern(service)) {
+            return StringUtils.EMPTY;
+        }
+        return getLiteralPrefix(service.getServiceId());
+    }
+
+    /**
+     * Gets the literal, case-insensitive prefix of the regular expression. Extraction stops at the first
+     * construct that is not an ASCII literal; a literal that may occur zero times is excluded, and an
+     * expression with a top-level alternation has no prefix.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix
+     */
+    static String getLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || hasTopLevelAlternation(pattern)) {
+            return StringUtils.EMPTY;
+        }
+        final StringBuilder prefix = new StringBuilder();
+        int index = pattern.startsWith("^") ? 1 : 0;
+        while (index < pattern.length()) {
+            char c = pattern.charAt(index);
+            int next = index + 1;
+            if (c == '\\') {
+                if (next >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(next))) {
+                    break;
+                }
+                c = pattern.charAt(next);
+                next++;
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            }
+            if (c > MAX_ASCII_CHARACTER || next < pattern.length() && OPTIONAL_QUANTIFIERS.indexOf(pattern.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.append(toLowerCase(c));
+            index = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        int groups = 0;
+        int classes = 0;
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < pattern.length() && pattern.charAt(i + 1) == 'E') {
+                    quoted = false;
+                    i++;
+                }
+            } else if (c == '\\') {
+                quoted = i + 1 < pattern.length() && pattern.charAt(i + 1) == 'Q';
+                i++;
+            } else if (c == '[') {
+                if (classes == 0) {
+                    // a closing bracket at the start of a character class is a literal
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') {
+                        i++;
+                    }
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                        i++;
+                    }
+                }
+                classes++;
+            } else if (c == ']' && classes > 0) {
+                classes--;
+            } else if (classes == 0) {
+                if (c == '(') {
+                    groups++;
+                } else if (c == ')') {
+                    groups = Math.max(0, groups - 1);
+                } else if (c == '|' && groups == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMatchedByPattern(final RegisteredService service) {
+        if (!(service instanceof RegexRegisteredService)) {
+            return false;
+        }
+        try {
+            return service.getClass().getMethod("matches", String.class).getDeclaringClass().equals(RegexRegisteredService.class);
+        } catch (final NoSuchMethodException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static char toLowerCase(final char c) {
+        return c <= MAX_ASCII_CHARACTER ? Character.toLowerCase(c) : c;
+    }
+
+    /**
+     * A node of the prefix trie.
+     */
+    private static class Node implements Serializable {
+        private static final long serialVersionUID = -2104518720341823719L;
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Integer> positions = new ArrayList<>();
+    }
+}
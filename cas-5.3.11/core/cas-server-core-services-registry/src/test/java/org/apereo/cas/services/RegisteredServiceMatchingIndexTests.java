@@ -0,0 +1,53 @@
+package org.apereo.cas.services;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class RegisteredServiceMatchingIndexTests {
+
+    @Test
+    public void verifyLiteralPrefixes() {
+        assertEquals("https://app.example.org/", RegisteredServiceMatchingIndex.getLiteralPrefix("^https://app\\.example\\.org/.*"));
+        assertEquals("http", RegisteredServiceMatchingIndex.getLiteralPrefix("^HTTPS?://app\\.example\\.org/.*"));
+        assertEquals("https://app.example.org/", RegisteredServiceMatchingIndex.getLiteralPrefix("https://app\\.example\\.org/(one|two)"));
+        assertEquals("", RegisteredServiceMatchingIndex.getLiteralPrefix("^(https|imaps)://.*"));
+        assertEquals("", RegisteredServiceMatchingIndex.getLiteralPrefix("https://one\\.org/.*|https://two\\.org/.*"));
+        assertEquals("", RegisteredServiceMatchingIndex.getLiteralPrefix("\\Qhttps://app\\E.*"));
+        assertEquals("app", RegisteredServiceMatchingIndex.getLiteralPrefix("app\\d+"));
+    }
+
+    @Test
+    public void verifyCandidatesKeepEvaluationOrder() {
+        final RegisteredService generic = newService(1, "^https?://.*");
+        final RegisteredService app = newService(2, "^https://app\\.example\\.org/.*");
+        final RegisteredService other = newService(3, "^https://other\\.example\\.org/.*");
+        final RegisteredService alternation = newService(4, "^https://one\\.org/.*|^https://two\\.org/.*");
+        final RegisteredServiceMatchingIndex index = new RegisteredServiceMatchingIndex(Arrays.asList(generic, app, other, alternation));
+
+        final Collection<Long> candidates = index.getCandidates("HTTPS://APP.example.org/page")
+            .stream()
+            .map(RegisteredService::getId)
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList(1L, 2L, 4L), candidates);
+        assertEquals(1, index.getCandidates("imaps://app.example.org").size());
+    }
+
+    private static RegisteredService newService(final long id, final String serviceId) {
+        final RegexRegisteredService service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("service-" + id);
+        service.setServiceId(serviceId);
+        return service;
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.Test;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -60,4 +62,85 @@ public abstract class AbstractServicesManagerTests {
         this.servicesManager.save(r);
         assertNotNull(this.servicesManager.findServiceBy(1000));
     }
+
+    @Test
+    public void verifyMatchingHonorsEvaluationOrder() {
+        final RegexRegisteredService specific = new RegexRegisteredService();
+        specific.setId(3000);
+        specific.setName("specific");
+        specific.setServiceId("^https://app\\.example\\.org/secure/.*");
+        specific.setEvaluationOrder(10);
+        this.servicesManager.save(specific);
+
+        final RegexRegisteredService generic = new RegexRegisteredService();
+        generic.setId(3001);
+        generic.setName("generic");
+        generic.setServiceId("^https?://app\\.example\\.org/.*");
+        generic.setEvaluationOrder(5);
+        this.servicesManager.save(generic);
+
+        assertEquals(3001, this.servicesManager.findServiceBy("https://app.example.org/secure/page").getId());
+        assertEquals(3001, this.servicesManager.findServiceBy("HTTP://APP.EXAMPLE.ORG/page").getId());
+        assertNull(this.servicesManager.findServiceBy("https://other.example.org/page"));
+
+        this.servicesManager.delete(generic);
+        assertEquals(3000, this.servicesManager.findServiceBy("https://app.example.org/secure/page").getId());
+    }
+
+    @Test
+    public void verifyServicesAreFoundByIndexedKey() {
+        final KeyedRegisteredService first = new KeyedRegisteredService("client");
+        first.setId(4000);
+        first.setName("first");
+        first.setServiceId("^https://first\\.example\\.org/.*");
+        first.setEvaluationOrder(20);
+        this.servicesManager.save(first);
+
+        final KeyedRegisteredService second = new KeyedRegisteredService("client");
+        second.setId(4001);
+        second.setName("second");
+        second.setServiceId("^https://second\\.example\\.org/.*");
+        second.setEvaluationOrder(10);
+        this.servicesManager.save(second);
+
+        assertEquals(4001, this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "client", KeyedRegisteredService.class).getId());
+        assertNull(this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "other", KeyedRegisteredService.class));
+        assertNull(this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "client", OtherRegisteredService.class));
+
+        this.servicesManager.delete(second);
+        assertEquals(4000, this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "client", KeyedRegisteredService.class).getId());
+
+        first.setKeyValue("renamed");
+        this.servicesManager.save(first);
+        assertNull(this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "client", KeyedRegisteredService.class));
+        assertEquals(4000, this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "renamed", KeyedRegisteredService.class).getId());
+
+        this.servicesManager.load();
+        assertEquals(4000, this.servicesManager.findServiceByIndexedKey(KeyedRegisteredService.KEY, "renamed", KeyedRegisteredService.class).getId());
+    }
+
+    private static class KeyedRegisteredService extends RegexRegisteredService {
+        static final String KEY = "key";
+
+        private static final long serialVersionUID = 2830187254946163413L;
+
+        private String keyValue;
+
+        KeyedRegisteredService(final String keyValue) {
+            this.keyValue = keyValue;
+        }
+
+        void setKeyValue(final String keyValue) {
+            this.keyValue = keyValue;
+        }
+
+        @Override
+        public Map<String, String> getIndexedKeys() {
+            return Collections.singletonMap(KEY, this.keyValue);
+        }
+    }
+
+    private static class OtherRegisteredService extends RegexRegisteredService {
+        private static final long serialVersionUID = -5167419468466617183L;
+    }
 }
@@ -16,6 +16,8 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -96,11 +98,21 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The time at which this ticket expires if it is not used again,
+     * recalculated each time the ticket is used or persisted.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    @JsonIgnore
+    @Getter
+    private ZonedDateTime expirationTime;
+
 
     public AbstractTicket(@NonNull final String id, @NonNull final ExpirationPolicy expirationPolicy) {
         this.id = id;
-        this.creationTime = ZonedDateTime.now(ZoneOffset.UTC);
-        this.lastTimeUsed = ZonedDateTime.now(ZoneOffset.UTC);
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        this.creationTime = now;
+        this.lastTimeUsed = now;
         this.expirationPolicy = expirationPolicy;
     }
 
@@ -113,6 +125,24 @@ public abstract class AbstractTicket implements Ticket, TicketState {
             final TicketState state = TicketState.class.cast(getTicketGrantingTicket());
             state.update();
         }
+        updateExpirationTime();
+    }
+
+    /**
+     * Recalculate the expiration time of this ticket based on its current state and expiration policy.
+     * Invoked before the ticket is persisted so the stored value can be used to locate expired tickets.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void updateExpirationTime() {
+        if (this.expirationPolicy == null) {
+            return;
+        }
+        if (isExpired()) {
+            this.expirationTime = ZonedDateTime.now(ZoneOffset.UTC);
+        } else {
+            this.expirationTime = this.expirationPolicy.getMaximumExpirationTime(this);
+        }
     }
 
     @Override
@@ -148,6 +178,7 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Override
     public void markTicketExpired() {
         this.expired = Boolean.TRUE;
+        this.expirationTime = ZonedDateTime.now(ZoneOffset.UTC);
     }
 
 }
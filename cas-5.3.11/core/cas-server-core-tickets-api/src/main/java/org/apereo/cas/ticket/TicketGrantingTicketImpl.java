@@ -17,6 +17,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -37,7 +38,7 @@ import java.util.List;
  * @since 3.0.0
  */
 @Entity
-@Table(name = "TICKETGRANTINGTICKET")
+@Table(name = "TICKETGRANTINGTICKET", indexes = @Index(name = "IDX_TGT_EXP_TIME", columnList = "EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(TicketGrantingTicket.PREFIX)
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -6,12 +6,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
+ * <p>
+ * Alongside the ticket map, the registry maintains a secondary index from principal ids
+ * to the ticket-granting tickets of each principal, so that per-user session lookups
+ * do not have to walk the entire registry, as well as an expiration-ordered queue of
+ * tickets that allows the cleaner to only examine tickets whose deadline has passed.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -20,6 +31,21 @@ import java.util.Map;
 @NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Ticket-granting ticket keys, as stored in the map instance, indexed by the normalized principal id.
+     */
+    private final Map<String, Set<String>> sessionsByPrincipal = new ConcurrentHashMap<>();
+
+    /**
+     * Normalized principal ids indexed by the ticket-granting ticket keys, as stored in the map instance.
+     */
+    private final Map<String, String> principalsBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Ticket keys, as stored in the map instance, ordered by expiration deadline.
+     */
+    private final TicketExpirationQueue expirationQueue = new TicketExpirationQueue();
+
     /**
      * Creates a new, empty registry with the cipher.
      *
@@ -34,6 +60,8 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         final Ticket encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        indexTicket(encTicket.getId(), ticket);
+        this.expirationQueue.schedule(encTicket.getId(), ticket);
     }
 
     @Override
@@ -42,19 +70,48 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(ticketId)) {
             return null;
         }
-        final Ticket found = getMapInstance().get(encTicketId);
-        if (found == null) {
-            LOGGER.debug("Ticket  [{}] could not be found", encTicketId);
-            return null;
-        }
+        return getTicketByKey(encTicketId);
+    }
 
-        final Ticket result = decodeTicket(found);
-        if (result != null && result.isExpired()) {
-            LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", result.getId());
-            getMapInstance().remove(encTicketId);
-            return null;
+    @Override
+    public Stream<TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return Stream.empty();
         }
-        return result;
+        final Set<String> keys = sessionsByPrincipal.get(normalizePrincipalId(principalId));
+        if (keys == null) {
+            return Stream.empty();
+        }
+        return new ArrayList<>(keys)
+            .stream()
+            .map(this::getTicketByKey)
+            .filter(Objects::nonNull)
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTicketsStream() {
+        final Collection<Ticket> expired = new ArrayList<>();
+        this.expirationQueue.pollDue(System.currentTimeMillis()).forEach(key -> {
+            final Ticket found = getMapInstance().get(key);
+            if (found == null) {
+                return;
+            }
+            final Ticket ticket = decodeExpirationCandidate(key, found);
+            if (ticket == null) {
+                LOGGER.debug("Ticket stored under [{}] could not be decoded and is re-scheduled for expiration", key);
+                this.expirationQueue.reschedule(key);
+                return;
+            }
+            if (ticket.isExpired()) {
+                expired.add(ticket);
+            } else {
+                LOGGER.trace("Ticket [{}] has not yet expired and is re-scheduled for expiration", ticket.getId());
+                this.expirationQueue.schedule(key, ticket);
+            }
+        });
+        return expired.stream();
     }
 
     @Override
@@ -63,13 +120,20 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        if (getMapInstance().remove(encTicketId) == null) {
+            return false;
+        }
+        unindexTicket(encTicketId);
+        return true;
     }
 
     @Override
     public long deleteAll() {
         final int size = getMapInstance().size();
         getMapInstance().clear();
+        this.sessionsByPrincipal.clear();
+        this.principalsBySession.clear();
+        this.expirationQueue.clear();
         return size;
     }
 
@@ -84,6 +148,77 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return ticket;
     }
 
+    /**
+     * Remove the ticket stored under the given key from the principal index and the expiration queue.
+     * Only the caller that actually removed the entry from the map instance should call this,
+     * since a ticket with the same key may have been added again concurrently.
+     * Registries whose map instance may evict entries on its own should call this
+     * once an entry is evicted.
+     *
+     * @param key the key of the ticket in the map instance
+     */
+    protected void unindexTicket(final String key) {
+        this.expirationQueue.unschedule(key);
+        final String principalId = this.principalsBySession.remove(key);
+        if (principalId != null) {
+            this.sessionsByPrincipal.computeIfPresent(principalId, (k, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private void indexTicket(final String key, final Ticket ticket) {
+        final String principalId = normalizePrincipalId(getPrincipalIdFrom(ticket));
+        if (principalId == null) {
+            return;
+        }
+        final String previous = this.principalsBySession.put(key, principalId);
+        if (previous != null && !previous.equals(principalId)) {
+            this.sessionsByPrincipal.computeIfPresent(previous, (k, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        this.sessionsByPrincipal.compute(principalId, (k, keys) -> {
+            final Set<String> results = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            results.add(key);
+            return results;
+        });
+    }
+
+    private Ticket getTicketByKey(final String encTicketId) {
+        final Ticket found = getMapInstance().get(encTicketId);
+        if (found == null) {
+            LOGGER.debug("Ticket  [{}] could not be found", encTicketId);
+            return null;
+        }
+
+        final Ticket result = decodeTicket(found);
+        if (result != null && result.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", result.getId());
+            if (getMapInstance().remove(encTicketId, found)) {
+                unindexTicket(encTicketId);
+            }
+            return null;
+        }
+        return result;
+    }
+
+    private Ticket decodeExpirationCandidate(final String key, final Ticket found) {
+        try {
+            return decodeTicket(found);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to decode ticket stored under [{}]: [{}]", key, e.getMessage());
+            LOGGER.trace(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static String normalizePrincipalId(final String principalId) {
+        return StringUtils.lowerCase(principalId);
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
@@ -8,6 +10,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
 
 import com.google.common.io.ByteSource;
 import lombok.NoArgsConstructor;
@@ -44,6 +47,11 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * The serializer that turns tickets into bytes before they are encoded.
+     */
+    protected TicketSerializer ticketSerializer = TicketSerializer.java();
+
     /**
      * @return specified ticket from the registry
      * @throws IllegalArgumentException if class is null.
@@ -227,7 +235,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        final byte[] encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        final byte[] encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.ticketSerializer, this.cipherExecutor, ticket);
         final String encodedTicketId = encodeTicketId(ticket.getId());
         final Ticket encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
@@ -256,7 +264,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         final EncodedTicket encodedTicket = (EncodedTicket) result;
-        final Ticket ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        final Ticket ticket = SerializationUtils.decodeAndDeserializeObject(this.ticketSerializer,
+            encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -285,6 +294,25 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return items.map(this::decodeTicket);
     }
 
+    /**
+     * Gets the id of the principal that owns the ticket,
+     * if the ticket is a ticket-granting ticket.
+     *
+     * @param ticket the ticket
+     * @return the principal id, or null
+     */
+    protected static String getPrincipalIdFrom(final Ticket ticket) {
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            return null;
+        }
+        final Authentication authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        final Principal principal = authentication.getPrincipal();
+        return principal != null ? principal.getId() : null;
+    }
+
     protected boolean isCipherExecutorEnabled() {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
@@ -56,12 +56,19 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
 
     /**
      * Clean tickets.
+     * Only the tickets reported as expired by the registry are examined, which
+     * allows registries that track expiration deadlines to skip a full scan.
+     * Expired tickets that the registry is able to purge in bulk are removed first,
+     * before any ticket is removed individually as part of this run.
      */
     protected void cleanInternal() {
-        try (Stream<Ticket> ticketsStream = ticketRegistry.getTicketsStream()) {
+        final long ticketsPurged = ticketRegistry.deleteExpiredTickets();
+        if (ticketsPurged > 0) {
+            LOGGER.info("[{}] expired tickets purged in bulk.", ticketsPurged);
+        }
+        try (Stream<Ticket> ticketsStream = ticketRegistry.getExpiredTicketsStream()) {
             final int ticketsDeleted = ticketsStream
                     .filter(Objects::nonNull)
-                    .filter(Ticket::isExpired)
                     .mapToInt(this::cleanTicket)
                     .sum();
             LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
@@ -0,0 +1,190 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketExpirationQueue} that keeps ticket keys ordered by the earliest
+ * point in time at which each ticket may expire, allowing the registry cleaner to only
+ * examine tickets whose deadline has passed rather than the entire registry.
+ * <p>
+ * Deadlines are conservative estimates derived from the ticket's expiration policy;
+ * they are never later than the actual expiration of a ticket using a standard policy.
+ * A ticket found to be still valid once its deadline passes (i.e. sliding expiration
+ * policies that were used in the meantime) is expected to be re-scheduled by the caller.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class TicketExpirationQueue {
+
+    /**
+     * Delay before a ticket whose expiration policy does not describe a deadline is examined again.
+     */
+    private static final long DEFAULT_RECHECK_INTERVAL_SECONDS = 60;
+
+    private final NavigableSet<Deadline> deadlines = new ConcurrentSkipListSet<>();
+
+    private final Map<String, Long> deadlinesByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Schedule (or re-schedule) the ticket stored under the given key.
+     *
+     * @param key    the key of the ticket in the registry
+     * @param ticket the ticket
+     */
+    public void schedule(final String key, final Ticket ticket) {
+        schedule(key, getDeadline(ticket, System.currentTimeMillis()));
+    }
+
+    /**
+     * Schedule the ticket stored under the given key to be examined again after the default recheck interval,
+     * for when the ticket itself is not available to derive a deadline from.
+     *
+     * @param key the key of the ticket in the registry
+     */
+    public void reschedule(final String key) {
+        schedule(key, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(DEFAULT_RECHECK_INTERVAL_SECONDS));
+    }
+
+    private void schedule(final String key, final long deadline) {
+        this.deadlinesByKey.compute(key, (k, previous) -> {
+            if (previous != null) {
+                this.deadlines.remove(new Deadline(previous, k));
+            }
+            this.deadlines.add(new Deadline(deadline, k));
+            return deadline;
+        });
+        LOGGER.trace("Scheduled ticket key [{}] for expiration check at [{}]", key, deadline);
+    }
+
+    /**
+     * Remove the ticket stored under the given key from the queue.
+     *
+     * @param key the key of the ticket in the registry
+     */
+    public void unschedule(final String key) {
+        this.deadlinesByKey.computeIfPresent(key, (k, previous) -> {
+            this.deadlines.remove(new Deadline(previous, k));
+            return null;
+        });
+    }
+
+    /**
+     * Remove and return the keys of all tickets whose deadline has passed.
+     *
+     * @param now the current time in milliseconds
+     * @return the keys of tickets due for an expiration check
+     */
+    public Collection<String> pollDue(final long now) {
+        final Collection<String> keys = new ArrayList<>();
+        Deadline head = this.deadlines.pollFirst();
+        while (head != null) {
+            if (head.getTime() > now) {
+                this.deadlines.add(head);
+                break;
+            }
+            this.deadlinesByKey.remove(head.getKey(), head.getTime());
+            keys.add(head.getKey());
+            head = this.deadlines.pollFirst();
+        }
+        return keys;
+    }
+
+    /**
+     * Remove all scheduled tickets.
+     */
+    public void clear() {
+        this.deadlinesByKey.clear();
+        this.deadlines.clear();
+    }
+
+    /**
+     * Number of scheduled tickets.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.deadlinesByKey.size();
+    }
+
+    /**
+     * Compute the earliest point in time at which the ticket may expire, based on
+     * the maximum expiration time reported by its policy or, failing that, on its
+     * creation/last-used time and its policy's time-to-live and time-to-idle.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in milliseconds
+     * @return the deadline in milliseconds
+     */
+    protected long getDeadline(final Ticket ticket, final long now) {
+        if (ticket.isExpired()) {
+            return now;
+        }
+        final ExpirationPolicy policy = ticket.getExpirationPolicy();
+        if (policy == null) {
+            return now + TimeUnit.SECONDS.toMillis(DEFAULT_RECHECK_INTERVAL_SECONDS);
+        }
+        final TicketState state = ticket instanceof TicketState ? (TicketState) ticket : null;
+        if (state != null) {
+            final ZonedDateTime expirationTime = policy.getMaximumExpirationTime(state);
+            if (expirationTime != null && expirationTime.toInstant().toEpochMilli() > now) {
+                return expirationTime.toInstant().toEpochMilli();
+            }
+        }
+        long deadline = Long.MAX_VALUE;
+        final Long timeToLive = state != null ? policy.getTimeToLive(state) : policy.getTimeToLive();
+        deadline = Math.min(deadline, getCandidate(ticket.getCreationTime(), timeToLive, now));
+        if (state != null) {
+            deadline = Math.min(deadline, getCandidate(state.getLastTimeUsed(), policy.getTimeToIdle(), now));
+        }
+        if (deadline == Long.MAX_VALUE) {
+            return now + TimeUnit.SECONDS.toMillis(DEFAULT_RECHECK_INTERVAL_SECONDS);
+        }
+        return deadline;
+    }
+
+    private static long getCandidate(final ZonedDateTime start, final Long seconds, final long now) {
+        if (start == null || seconds == null || seconds <= 0) {
+            return Long.MAX_VALUE;
+        }
+        final long startTime = start.toInstant().toEpochMilli();
+        if (seconds >= (Long.MAX_VALUE - Math.max(startTime, 0)) / TimeUnit.SECONDS.toMillis(1)) {
+            return Long.MAX_VALUE;
+        }
+        final long candidate = startTime + TimeUnit.SECONDS.toMillis(seconds);
+        return candidate > now ? candidate : Long.MAX_VALUE;
+    }
+
+    /**
+     * The deadline of a ticket key.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class Deadline implements Comparable<Deadline> {
+        private final long time;
+        private final String key;
+
+        @Override
+        public int compareTo(final Deadline other) {
+            final int result = Long.compare(this.time, other.time);
+            return result != 0 ? result : this.key.compareTo(other.key);
+        }
+    }
+}
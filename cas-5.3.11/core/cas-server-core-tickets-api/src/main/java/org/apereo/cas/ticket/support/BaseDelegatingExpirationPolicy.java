@@ -11,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.TicketState;
 
+import java.time.ZonedDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -107,6 +108,13 @@ public abstract class BaseDelegatingExpirationPolicy extends AbstractCasExpirati
         return policy.getTimeToLive(ticketState);
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        return getExpirationPolicyFor(ticketState)
+            .map(policy -> policy.getMaximumExpirationTime(ticketState))
+            .orElse(null);
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
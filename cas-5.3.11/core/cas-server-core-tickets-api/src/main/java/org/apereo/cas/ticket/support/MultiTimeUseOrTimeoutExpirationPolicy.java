@@ -60,16 +60,20 @@ public class MultiTimeUseOrTimeoutExpirationPolicy extends AbstractCasExpiration
             return true;
         }
         final ZonedDateTime systemTime = getCurrentSystemTime();
-        final ZonedDateTime lastTimeUsed = ticketState.getLastTimeUsed();
-        final ZonedDateTime expirationTime = lastTimeUsed.plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime expirationTime = getMaximumExpirationTime(ticketState);
         if (systemTime.isAfter(expirationTime)) {
             LOGGER.debug("Ticket has expired because the difference between current time [{}] and ticket time [{}] is greater than or equal to [{}].",
-                systemTime, lastTimeUsed, this.timeToKillInSeconds);
+                systemTime, ticketState.getLastTimeUsed(), this.timeToKillInSeconds);
             return true;
         }
         return super.isExpired(ticketState);
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        return ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     /**
      * Gets current system time.
      *
@@ -80,6 +80,11 @@ public class ThrottledUseAndTimeoutExpirationPolicy extends AbstractCasExpiratio
         return super.isExpired(ticketState);
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        return ticketState.getLastTimeUsed().plusSeconds(this.timeToKillInSeconds);
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.timeToKillInSeconds;
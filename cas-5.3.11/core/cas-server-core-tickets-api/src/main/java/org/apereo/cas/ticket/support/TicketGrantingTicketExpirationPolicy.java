@@ -76,6 +76,13 @@ public class TicketGrantingTicketExpirationPolicy extends AbstractCasExpirationP
         return super.isExpired(ticketState);
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime hardExpirationTime = ticketState.getCreationTime().plus(this.maxTimeToLiveInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime idleExpirationTime = ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        return hardExpirationTime.isBefore(idleExpirationTime) ? hardExpirationTime : idleExpirationTime;
+    }
+
     /**
      * Gets current system time.
      *
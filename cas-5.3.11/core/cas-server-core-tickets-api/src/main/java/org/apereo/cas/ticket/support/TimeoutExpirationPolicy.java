@@ -58,7 +58,7 @@ public class TimeoutExpirationPolicy extends AbstractCasExpirationPolicy {
             return true;
         }
         final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
-        final ZonedDateTime expirationTime = ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime expirationTime = getMaximumExpirationTime(ticketState);
         final boolean expired = now.isAfter(expirationTime);
         if (!expired) {
             return super.isExpired(ticketState);
@@ -66,6 +66,11 @@ public class TimeoutExpirationPolicy extends AbstractCasExpirationPolicy {
         return expired;
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        return ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
@@ -53,6 +53,7 @@ import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.HostNameBasedUniqueTicketIdGenerator;
 import org.apereo.cas.util.cipher.ProtocolTicketCipherExecutor;
 import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.serialization.TicketSerializer;
 import org.jasig.cas.client.ssl.HttpURLConnectionFactory;
 import org.jasig.cas.client.validation.AbstractUrlBasedTicketValidator;
 import org.jasig.cas.client.validation.Cas10TicketValidator;
@@ -274,6 +275,12 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         return new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency(), cipher);
     }
 
+    @ConditionalOnMissingBean(name = "ticketSerializer")
+    @Bean
+    public TicketSerializer ticketSerializer() {
+        return TicketSerializer.java();
+    }
+
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
     @Bean
     public TicketRegistrySupport defaultTicketRegistrySupport() {
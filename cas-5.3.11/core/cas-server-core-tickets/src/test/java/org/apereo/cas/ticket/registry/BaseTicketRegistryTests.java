@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -406,4 +407,25 @@ public abstract class BaseTicketRegistryTests {
         final int c = this.ticketRegistry.deleteTicket(TGT_ID);
         assertEquals(6, c);
     }
+
+    @Test
+    public void verifySessionsForPrincipal() {
+        Assume.assumeTrue(isIterableRegistry());
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TGT_ID,
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TGT_ID + "-2",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TGT_ID + "-3",
+            CoreAuthenticationTestUtils.getAuthentication("otheruser"), new NeverExpiresExpirationPolicy()));
+        try (Stream<TicketGrantingTicket> sessions = this.ticketRegistry.getSessionsFor("CASUSER")) {
+            assertEquals(2, sessions.count());
+        }
+        this.ticketRegistry.deleteTicket(TGT_ID);
+        try (Stream<TicketGrantingTicket> sessions = this.ticketRegistry.getSessionsFor("casuser")) {
+            assertEquals(1, sessions.count());
+        }
+        try (Stream<TicketGrantingTicket> sessions = this.ticketRegistry.getSessionsFor("unknown")) {
+            assertEquals(0, sessions.count());
+        }
+    }
 }
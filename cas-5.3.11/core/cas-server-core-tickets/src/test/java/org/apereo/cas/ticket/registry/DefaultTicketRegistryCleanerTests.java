@@ -1,7 +1,11 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -27,4 +31,23 @@ public class DefaultTicketRegistryCleanerTests {
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
     }
+
+    @Test
+    public void verifyOnlyExpiredTicketsAreCleaned() {
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-2",
+            CoreAuthenticationTestUtils.getAuthentication(), new HardTimeoutExpirationPolicy(60)));
+        final MockTicketGrantingTicket casuser = new MockTicketGrantingTicket("casuser");
+        casuser.markTicketExpired();
+        ticketRegistry.addTicket(casuser);
+        assertEquals(3, ticketRegistry.getTickets().size());
+
+        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.clean();
+        assertEquals(2, ticketRegistry.sessionCount());
+        verify(logoutManager, times(1)).performLogout(any());
+    }
 }
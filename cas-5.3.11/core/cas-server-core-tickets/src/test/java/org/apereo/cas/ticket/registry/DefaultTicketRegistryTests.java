@@ -2,8 +2,13 @@ package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -11,6 +16,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -47,4 +63,50 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyIndexMatchesTicketsAfterConcurrentAddAndRemove() throws Exception {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        final List<TicketGrantingTicket> tickets = IntStream.range(0, 4)
+            .mapToObj(i -> new TicketGrantingTicketImpl("TGT-RACE-" + i,
+                CoreAuthenticationTestUtils.getAuthentication("raceuser"), new NeverExpiresExpirationPolicy()))
+            .collect(Collectors.toList());
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 2000; j++) {
+                        final TicketGrantingTicket ticket = tickets.get(ThreadLocalRandom.current().nextInt(tickets.size()));
+                        switch (ThreadLocalRandom.current().nextInt(3)) {
+                            case 0:
+                                registry.addTicket(ticket);
+                                break;
+                            case 1:
+                                registry.deleteSingleTicket(ticket.getId());
+                                break;
+                            default:
+                                registry.getTicket(ticket.getId());
+                                break;
+                        }
+                    }
+                    return null;
+                }))
+                .collect(Collectors.toList());
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Set<String> stored = registry.getTickets().stream()
+            .map(Ticket::getId)
+            .collect(Collectors.toSet());
+        try (Stream<TicketGrantingTicket> sessions = registry.getSessionsFor("raceuser")) {
+            assertEquals(stored, sessions.map(Ticket::getId).collect(Collectors.toSet()));
+        }
+    }
 }
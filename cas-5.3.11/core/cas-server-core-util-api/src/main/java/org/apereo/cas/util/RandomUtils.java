@@ -2,6 +2,7 @@ package org.apereo.cas.util;
 
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.gen.StripedSecureRandom;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -31,5 +32,18 @@ public class RandomUtils {
             return new SecureRandom();
         }
     }
-    
+
+    /**
+     * Get the shared instance that spreads random number generation across generators
+     * seeded from the native instance, for callers that produce random values on every request.
+     *
+     * @return the striped instance
+     */
+    public static SecureRandom getStripedInstance() {
+        return StripedInstanceHolder.INSTANCE;
+    }
+
+    private static class StripedInstanceHolder {
+        private static final SecureRandom INSTANCE = new StripedSecureRandom();
+    }
 }
@@ -4,6 +4,7 @@ import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.crypto.DecryptionException;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -16,8 +17,10 @@ import org.jose4j.jwk.OctetSequenceJsonWebKey;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.Map;
 
 /**
@@ -25,7 +28,14 @@ import java.util.Map;
  * <p>
  * A implementation that is based on algorithms
  * provided by the default platform's JCE. By default AES encryption is
- * used.
+ * used, and the ciphertext is signed.
+ * <p>
+ * When authenticated encryption is turned on, values are encrypted using AES in GCM mode
+ * which protects their integrity as part of encryption, and no separate signing step is needed.
+ * Such values are prefixed with a format marker, and are only accepted while authenticated encryption
+ * is turned on; signed values continue to be accepted in either mode, so that turning the setting on
+ * does not invalidate values produced before. Cipher instances are kept per thread, shared by all executors,
+ * and initialized with the key of the executor at hand for each operation.
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -35,6 +45,26 @@ import java.util.Map;
 @Setter
 public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
 
+    private static final String CIPHER_ALGORITHM = "AES";
+
+    private static final String GCM_CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    /**
+     * Leading bytes of values encrypted with AES/GCM. Signed values are compact JWS
+     * serializations that always start with a printable character.
+     */
+    private static final byte[] GCM_FORMAT_MARKER = {0x00, 0x01};
+
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final int GCM_TAG_LENGTH_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> newCipher(CIPHER_ALGORITHM));
+
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> newCipher(GCM_CIPHER_ALGORITHM));
+
     /**
      * Name of the cipher/component whose keys are generated here.
      */
@@ -47,9 +77,15 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
 
     private byte[] encryptionSecretKey;
 
-    private final SecretKeySpec encryptionKey;
+    @Setter(AccessLevel.NONE)
+    private SecretKeySpec encryptionKey;
 
-    private final String cipherAlgorithm = "AES";
+    private final String cipherAlgorithm = CIPHER_ALGORITHM;
+
+    /**
+     * Whether values should be encrypted using AES/GCM rather than encrypted and then signed.
+     */
+    private boolean authenticatedEncryption;
 
     /**
      * Instantiates a new cryptic ticket cipher executor.
@@ -68,10 +104,33 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
     }
 
+    /**
+     * Sets the secret key algorithm, and rebuilds the encryption key with it.
+     *
+     * @param secretKeyAlgorithm the secret key algorithm
+     */
+    public void setSecretKeyAlgorithm(final String secretKeyAlgorithm) {
+        this.secretKeyAlgorithm = secretKeyAlgorithm;
+        this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, secretKeyAlgorithm);
+    }
+
+    /**
+     * Sets the encryption secret key, and rebuilds the encryption key with it.
+     *
+     * @param encryptionSecretKey the encryption secret key
+     */
+    public void setEncryptionSecretKey(final byte[] encryptionSecretKey) {
+        this.encryptionSecretKey = encryptionSecretKey;
+        this.encryptionKey = new SecretKeySpec(encryptionSecretKey, this.secretKeyAlgorithm);
+    }
+
     @Override
     @SneakyThrows
     public byte[] encode(final byte[] value, final Object[] parameters) {
-        final Cipher aesCipher = Cipher.getInstance(cipherAlgorithm);
+        if (this.authenticatedEncryption) {
+            return encryptGcm(value);
+        }
+        final Cipher aesCipher = CIPHER.get();
         aesCipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
         final byte[] result = aesCipher.doFinal(value);
         return sign(result);
@@ -80,8 +139,16 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     @Override
     @SneakyThrows
     public byte[] decode(final byte[] value, final Object[] parameters) {
-        final Cipher aesCipher = Cipher.getInstance(cipherAlgorithm);
+        if (isGcmEncoded(value)) {
+            if (!this.authenticatedEncryption) {
+                LOGGER.warn("Rejecting value encrypted with [{}] for [{}] since authenticated encryption is turned off",
+                    GCM_CIPHER_ALGORITHM, this.cipherName);
+                throw new DecryptionException();
+            }
+            return decryptGcm(value);
+        }
         final byte[] verifiedValue = verifySignature(value);
+        final Cipher aesCipher = CIPHER.get();
         aesCipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
         final byte[] bytePlainText;
         try {
@@ -96,6 +163,46 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         return bytePlainText;
     }
 
+    @SneakyThrows
+    private byte[] encryptGcm(final byte[] value) {
+        final byte[] iv = new byte[GCM_IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        final Cipher cipher = GCM_CIPHER.get();
+        cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
+        final byte[] result = new byte[GCM_FORMAT_MARKER.length + GCM_IV_LENGTH + cipher.getOutputSize(value.length)];
+        System.arraycopy(GCM_FORMAT_MARKER, 0, result, 0, GCM_FORMAT_MARKER.length);
+        System.arraycopy(iv, 0, result, GCM_FORMAT_MARKER.length, GCM_IV_LENGTH);
+        cipher.doFinal(value, 0, value.length, result, GCM_FORMAT_MARKER.length + GCM_IV_LENGTH);
+        return result;
+    }
+
+    @SneakyThrows
+    private byte[] decryptGcm(final byte[] value) {
+        final int offset = GCM_FORMAT_MARKER.length + GCM_IV_LENGTH;
+        final Cipher cipher = GCM_CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey,
+            new GCMParameterSpec(GCM_TAG_LENGTH_BITS, value, GCM_FORMAT_MARKER.length, GCM_IV_LENGTH));
+        try {
+            return cipher.doFinal(value, offset, value.length - offset);
+        } catch (final IllegalBlockSizeException | BadPaddingException e) {
+            if (LOGGER.isTraceEnabled()) {
+                throw new DecryptionException(e);
+            }
+            //noinspection ThrowInsideCatchBlockWhichIgnoresCaughtException
+            throw new DecryptionException(); //NOPMD
+        }
+    }
+
+    @SneakyThrows
+    private static Cipher newCipher(final String algorithm) {
+        return Cipher.getInstance(algorithm);
+    }
+
+    private static boolean isGcmEncoded(final byte[] value) {
+        return value != null && value.length > GCM_FORMAT_MARKER.length + GCM_IV_LENGTH
+            && value[0] == GCM_FORMAT_MARKER[0] && value[1] == GCM_FORMAT_MARKER[1];
+    }
+
     private static String generateOctetJsonWebKeyOfSize(final int size) {
         final OctetSequenceJsonWebKey octetKey = OctJwkGenerator.generateJwk(size);
         final Map<String, Object> params = octetKey.toParams(JsonWebKey.OutputControlLevel.INCLUDE_SYMMETRIC);
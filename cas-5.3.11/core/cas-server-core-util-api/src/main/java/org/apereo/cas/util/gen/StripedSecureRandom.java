@@ -0,0 +1,179 @@
+package org.apereo.cas.util.gen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.RandomUtils;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+
+/**
+ * This is {@link StripedSecureRandom} that spreads random number generation across
+ * a fixed set of generators, picked by the calling thread.
+ * Each generator is seeded from the native source when first used and reseeded from it
+ * after producing {@link #RESEED_INTERVAL_BYTES} bytes, so that request threads
+ * no longer queue behind the single lock that guards reads of the native source.
+ * <p>
+ * Generators are instances obtained from the platform providers: {@code DRBG} when the
+ * runtime provides it, and {@code NativePRNGNonBlocking} or {@code SHA1PRNG} otherwise.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class StripedSecureRandom extends SecureRandom {
+    /**
+     * Number of bytes produced by a generator before it is reseeded.
+     */
+    public static final long RESEED_INTERVAL_BYTES = 64 * 1024;
+
+    /**
+     * Number of bytes drawn from the native source to seed a generator.
+     */
+    public static final int SEED_LENGTH = 32;
+
+    private static final long serialVersionUID = -3129467836482710274L;
+
+    private static final int STRIPES_PER_PROCESSOR = 4;
+
+    private static final String[] ALGORITHMS = {"DRBG", "NativePRNGNonBlocking", "SHA1PRNG"};
+
+    private final transient Stripe[] stripes;
+
+    private final transient SecureRandom seedSource;
+
+    private final String algorithm;
+
+    public StripedSecureRandom() {
+        this(Runtime.getRuntime().availableProcessors() * STRIPES_PER_PROCESSOR);
+    }
+
+    public StripedSecureRandom(final int stripeCount) {
+        this(stripeCount, RandomUtils.getNativeInstance());
+    }
+
+    StripedSecureRandom(final int stripeCount, final SecureRandom seedSource) {
+        this(stripeCount, seedSource, new StripedSecureRandomSpi(seedSource));
+    }
+
+    private StripedSecureRandom(final int stripeCount, final SecureRandom seedSource, final StripedSecureRandomSpi spi) {
+        super(spi, null);
+        this.seedSource = seedSource;
+        this.algorithm = findAlgorithm();
+        this.stripes = new Stripe[Math.max(stripeCount, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        spi.setOwner(this);
+        LOGGER.debug("Created [{}] [{}] generators seeded from [{}]", this.stripes.length, this.algorithm, seedSource.getAlgorithm());
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Fill the array with random bytes from the generator assigned to the calling thread.
+     * Unlike the parent class, this does not lock the whole instance.
+     *
+     * @param bytes the bytes
+     */
+    @Override
+    public void nextBytes(final byte[] bytes) {
+        final int index = (int) (Thread.currentThread().getId() % this.stripes.length);
+        this.stripes[index].nextBytes(bytes, this.algorithm, this.seedSource);
+    }
+
+    @Override
+    public void setSeed(final byte[] seed) {
+        if (this.stripes != null) {
+            final int index = (int) (Thread.currentThread().getId() % this.stripes.length);
+            this.stripes[index].setSeed(seed, this.algorithm, this.seedSource);
+        }
+    }
+
+    private static String findAlgorithm() {
+        for (final String algorithm : ALGORITHMS) {
+            try {
+                SecureRandom.getInstance(algorithm);
+                return algorithm;
+            } catch (final NoSuchAlgorithmException e) {
+                LOGGER.trace(e.getMessage(), e);
+            }
+        }
+        throw new IllegalStateException("No secure random number generator is available");
+    }
+
+    /**
+     * A single generator, along with the number of bytes it produced since it was last seeded.
+     */
+    private static class Stripe {
+        private SecureRandom random;
+
+        private long bytesSinceSeed;
+
+        synchronized void nextBytes(final byte[] bytes, final String algorithm, final SecureRandom seedSource) {
+            if (this.random == null || this.bytesSinceSeed >= RESEED_INTERVAL_BYTES) {
+                seed(algorithm, seedSource);
+            }
+            this.random.nextBytes(bytes);
+            this.bytesSinceSeed += bytes.length;
+        }
+
+        synchronized void setSeed(final byte[] seed, final String algorithm, final SecureRandom seedSource) {
+            if (this.random == null) {
+                seed(algorithm, seedSource);
+            }
+            this.random.setSeed(seed);
+        }
+
+        private void seed(final String algorithm, final SecureRandom seedSource) {
+            final byte[] seed = seedSource.generateSeed(SEED_LENGTH);
+            if (this.random == null) {
+                try {
+                    this.random = SecureRandom.getInstance(algorithm);
+                } catch (final NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            this.random.setSeed(seed);
+            this.bytesSinceSeed = 0;
+        }
+    }
+
+    /**
+     * Routes calls made through the service provider interface to the owning instance,
+     * and draws seeds from the native source.
+     */
+    private static class StripedSecureRandomSpi extends SecureRandomSpi {
+        private static final long serialVersionUID = 5260472108405217539L;
+
+        private final transient SecureRandom seedSource;
+
+        private transient StripedSecureRandom owner;
+
+        StripedSecureRandomSpi(final SecureRandom seedSource) {
+            this.seedSource = seedSource;
+        }
+
+        void setOwner(final StripedSecureRandom owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        protected void engineSetSeed(final byte[] seed) {
+            this.owner.setSeed(seed);
+        }
+
+        @Override
+        protected void engineNextBytes(final byte[] bytes) {
+            this.owner.nextBytes(bytes);
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(final int numBytes) {
+            return this.seedSource.generateSeed(numBytes);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.apereo.cas.util.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link JsonFileJournal} that records changes made to a JSON resource in a journal file
+ * next to it, one line of JSON per change, so that the resource does not have to be rewritten
+ * on every change. The journal is compacted into the resource by writing a temporary file
+ * that atomically replaces the resource, after which the journal is truncated.
+ *
+ * @param <T> the type of journal entries
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JsonFileJournal<T> {
+    /**
+     * Suffix appended to the name of the JSON resource to locate its journal.
+     */
+    public static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int MIN_COMPACTION_ENTRIES = 1000;
+
+    private final Resource resource;
+
+    private final ObjectMapper mapper;
+
+    private final Class<T> entryType;
+
+    /**
+     * Number of entries recorded in the journal since it was last compacted.
+     */
+    @Getter
+    private int entries;
+
+    /**
+     * Write a file by replacing it atomically with a temporary file that holds the new content.
+     * Falls back onto a regular move where the file system does not support atomic moves.
+     *
+     * @param file   the file
+     * @param writer the writer that produces the new content
+     */
+    @SneakyThrows
+    public static void writeAtomically(final File file, final FileContentWriter writer) {
+        final File target = file.getAbsoluteFile();
+        final File temp = new File(target.getParentFile(), target.getName() + TEMP_SUFFIX);
+        writer.write(temp);
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            LOGGER.trace("Atomic move is not supported for [{}]: [{}]", target, e.getMessage());
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Replay the journal, if any, handing each readable entry to the consumer.
+     * Entries that cannot be read are skipped.
+     *
+     * @param consumer the consumer
+     * @return true if a journal was found, and should be compacted
+     */
+    @SneakyThrows
+    public boolean replay(final Consumer<T> consumer) {
+        final File journal = getJournalFile();
+        if (journal == null || !journal.exists()) {
+            return false;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journal.toPath(), StandardCharsets.UTF_8)) {
+            reader.lines()
+                .filter(line -> !line.trim().isEmpty())
+                .forEach(line -> {
+                    try {
+                        consumer.accept(this.mapper.readValue(line, this.entryType));
+                        this.entries++;
+                    } catch (final Exception e) {
+                        LOGGER.warn("Skipping unreadable journal entry [{}]: [{}]", line, e.getMessage());
+                    }
+                });
+        }
+        LOGGER.debug("Replayed [{}] journal entries from [{}]", this.entries, journal);
+        return true;
+    }
+
+    /**
+     * Append an entry to the journal.
+     *
+     * @param entry the entry
+     * @return true if the entry was recorded, false if the resource is not a file and has no journal
+     */
+    @SneakyThrows
+    public boolean append(final T entry) {
+        final File journal = getJournalFile();
+        if (journal == null) {
+            LOGGER.warn("JSON resource [{}] is not a file; changes cannot be saved", this.resource);
+            return false;
+        }
+        final String line = this.mapper.writeValueAsString(entry) + System.lineSeparator();
+        Files.write(journal.toPath(), line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.entries++;
+        return true;
+    }
+
+    /**
+     * Whether the journal has grown enough to be compacted,
+     * i.e. it holds more entries than there are records in the resource.
+     *
+     * @param records the number of records
+     * @return true if the journal should be compacted
+     */
+    public boolean isCompactionDue(final int records) {
+        return this.entries > Math.max(MIN_COMPACTION_ENTRIES, records);
+    }
+
+    /**
+     * Compact the journal, by atomically replacing the JSON resource with the current records
+     * and then removing the journal.
+     *
+     * @param writer the writer that produces the current records
+     */
+    @SneakyThrows
+    public void compact(final FileContentWriter writer) {
+        writeAtomically(this.resource.getFile(), writer);
+        LOGGER.debug("Compacted [{}] journal entries into JSON resource @ [{}]", this.entries, this.resource);
+        final File journal = getJournalFile();
+        if (journal != null) {
+            Files.deleteIfExists(journal.toPath());
+        }
+        this.entries = 0;
+    }
+
+    private File getJournalFile() {
+        try {
+            final File file = this.resource.getFile().getAbsoluteFile();
+            return new File(file.getParentFile(), file.getName() + JOURNAL_SUFFIX);
+        } catch (final Exception e) {
+            LOGGER.trace("JSON resource [{}] is not a file and has no journal: [{}]", this.resource, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes content to a file.
+     */
+    @FunctionalInterface
+    public interface FileContentWriter {
+        /**
+         * Write content to the file.
+         *
+         * @param file the file
+         * @throws Exception the exception
+         */
+        void write(File file) throws Exception;
+    }
+}
@@ -0,0 +1,164 @@
+package org.apereo.cas.util.scripting;
+
+import org.apereo.cas.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * This is {@link CompiledGroovyScriptCache} that keeps compiled groovy classes keyed by a hash
+ * of the script source and the parent class loader the script is compiled against,
+ * so that a script that is evaluated repeatedly is only parsed once.
+ * <p>
+ * The source of a script resource is kept along with the last-modified time of the resource,
+ * and is only read again once that time changes. Resources that cannot report a last-modified
+ * time are read every time, and are then still matched to a compiled class by their content.
+ * <p>
+ * Compiled classes are kept apart for each parent class loader, which is only weakly referenced, so that
+ * caching scripts does not keep a discarded class loader alive. Since a compiled class refers back to
+ * its parent class loader through its own, compiled classes are softly referenced as well; otherwise
+ * they would keep their parent class loader reachable from the cache.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class CompiledGroovyScriptCache {
+
+    private final long maximumSize;
+
+    private final StatsCounter statistics = new ConcurrentStatsCounter();
+
+    private final Cache<ClassLoader, Cache<ScriptKey, Class<?>>> classes;
+
+    private final Cache<String, ResourceSource> resources;
+
+    public CompiledGroovyScriptCache(final long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.classes = Caffeine.newBuilder().weakKeys().build();
+        this.resources = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Gets the compiled class of the script, compiling it if it is not found in the cache.
+     *
+     * @param type     the kind of compilation, which distinguishes classes compiled differently from the same source
+     * @param parent   the parent class loader the script is compiled against
+     * @param script   the script source
+     * @param compiler the compiler
+     * @return the compiled class
+     */
+    public Class<?> getScriptClass(final String type, final ClassLoader parent, final String script,
+                                   final Function<String, Class<?>> compiler) {
+        return getScriptClass(parent, new ScriptKey(type, DigestUtils.sha256(script)), script, compiler);
+    }
+
+    /**
+     * Gets the compiled class of the script resource, compiling it if it is not found in the cache.
+     *
+     * @param type     the kind of compilation, which distinguishes classes compiled differently from the same source
+     * @param parent   the parent class loader the script is compiled against
+     * @param resource the script resource
+     * @param compiler the compiler
+     * @return the compiled class
+     */
+    public Class<?> getScriptClass(final String type, final ClassLoader parent, final Resource resource,
+                                   final Function<String, Class<?>> compiler) {
+        final ResourceSource source = getResourceSource(resource);
+        return getScriptClass(parent, new ScriptKey(type, source.getHash()), source.getScript(), compiler);
+    }
+
+    /**
+     * Gets cache statistics for compiled classes, across all parent class loaders.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStatistics() {
+        return this.statistics.snapshot();
+    }
+
+    /**
+     * Remove all compiled classes and resource sources.
+     */
+    public void clear() {
+        this.classes.invalidateAll();
+        this.resources.invalidateAll();
+    }
+
+    private Class<?> getScriptClass(final ClassLoader parent, final ScriptKey scriptKey, final String script,
+                                    final Function<String, Class<?>> compiler) {
+        final Cache<ScriptKey, Class<?>> parentClasses = this.classes.get(parent, loader -> Caffeine.newBuilder()
+            .maximumSize(this.maximumSize)
+            .softValues()
+            .recordStats(() -> this.statistics)
+            .build());
+        return parentClasses.get(scriptKey, key -> {
+            LOGGER.trace("Compiling groovy script with hash [{}]", key.getHash());
+            return compiler.apply(script);
+        });
+    }
+
+    @SneakyThrows
+    private ResourceSource getResourceSource(final Resource resource) {
+        final String key = resource.getDescription();
+        final long lastModified = getLastModified(resource);
+        if (lastModified > 0) {
+            final ResourceSource source = this.resources.getIfPresent(key);
+            if (source != null && source.getLastModified() == lastModified) {
+                return source;
+            }
+        }
+        final String script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
+        final ResourceSource source = new ResourceSource(lastModified, script, DigestUtils.sha256(script));
+        if (lastModified > 0) {
+            LOGGER.trace("Caching source of groovy script [{}] last modified at [{}]", key, lastModified);
+            this.resources.put(key, source);
+        }
+        return source;
+    }
+
+    private static long getLastModified(final Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (final IOException e) {
+            LOGGER.trace("Unable to determine last-modified time of [{}]: [{}]", resource, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * The key of a compiled class, among those compiled against the same parent class loader.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class ScriptKey {
+        private final String type;
+        private final String hash;
+    }
+
+    /**
+     * The source of a script resource, as of its last-modified time.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class ResourceSource {
+        private final long lastModified;
+        private final String script;
+        private final String hash;
+    }
+}
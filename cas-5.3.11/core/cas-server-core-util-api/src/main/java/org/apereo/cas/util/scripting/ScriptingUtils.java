@@ -3,16 +3,19 @@ package org.apereo.cas.util.scripting;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.Resource;
@@ -53,6 +56,22 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern("(file|classpath):(.+\\.groovy)");
 
+    /**
+     * Maximum number of compiled groovy classes kept in the cache.
+     */
+    private static final long MAXIMUM_COMPILED_SCRIPTS = 1000;
+
+    private static final CompiledGroovyScriptCache COMPILED_SCRIPTS = new CompiledGroovyScriptCache(MAXIMUM_COMPILED_SCRIPTS);
+
+    /**
+     * Gets statistics of the cache that keeps compiled groovy scripts.
+     *
+     * @return the statistics
+     */
+    public static CacheStats getCompiledGroovyScriptCacheStatistics() {
+        return COMPILED_SCRIPTS.getStatistics();
+    }
+
     /**
      * Is inline groovy script ?.
      *
@@ -107,7 +126,6 @@ public class ScriptingUtils {
                                                  final Class<T> clazz) {
         try {
             final Binding binding = new Binding();
-            final GroovyShell shell = new GroovyShell(binding);
             if (variables != null && !variables.isEmpty()) {
                 variables.forEach(binding::setVariable);
             }
@@ -116,7 +134,11 @@ public class ScriptingUtils {
             }
             LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
 
-            final Object result = shell.evaluate(script);
+            final ClassLoader parent = Thread.currentThread().getContextClassLoader();
+            final Class<?> scriptClass = COMPILED_SCRIPTS.getScriptClass("shell", parent, script,
+                source -> new GroovyShell(parent).parse(source).getClass());
+            final Script shellScript = InvokerHelper.createScript(scriptClass, binding);
+            final Object result = shellScript.run();
             if (result != null && !clazz.isAssignableFrom(result.getClass())) {
                 throw new ClassCastException("Result [" + result
                     + " is of type " + result.getClass()
@@ -249,10 +271,11 @@ public class ScriptingUtils {
 
     private static <T> T getGroovyResult(final Resource groovyScript, final String methodName,
                                          final Object[] args, final Class<T> clazz, final ClassLoader parent) {
-        try (GroovyClassLoader loader = new GroovyClassLoader(parent)) {
+        try {
             final File groovyFile = groovyScript.getFile();
             if (groovyFile.exists()) {
-                final Class<?> groovyClass = loader.parseClass(groovyFile);
+                final Class<?> groovyClass = COMPILED_SCRIPTS.getScriptClass("resource", parent, groovyScript,
+                    source -> parseGroovyClass(source, groovyFile.getName(), parent));
                 LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
 
                 final GroovyObject groovyObject = (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
@@ -272,6 +295,13 @@ public class ScriptingUtils {
         return null;
     }
 
+    @SneakyThrows
+    private static Class<?> parseGroovyClass(final String script, final String name, final ClassLoader parent) {
+        try (GroovyClassLoader loader = new GroovyClassLoader(parent)) {
+            return loader.parseClass(new GroovyCodeSource(script, name, GroovyShell.DEFAULT_CODE_BASE));
+        }
+    }
+
     /**
      * Execute groovy script engine t.
      *
@@ -382,13 +412,13 @@ public class ScriptingUtils {
                 return null;
             }
 
-            final String script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
-
-            final Class<T> clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> {
-                final GroovyClassLoader classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
-                    new CompilerConfiguration(), true);
-                return classLoader.parseClass(script);
-            });
+            final ClassLoader parent = ScriptingUtils.class.getClassLoader();
+            final Class<T> clazz = (Class<T>) COMPILED_SCRIPTS.getScriptClass("instance", parent, resource,
+                script -> AccessController.doPrivileged((PrivilegedAction<Class<?>>) () -> {
+                    final GroovyClassLoader classLoader = new GroovyClassLoader(parent,
+                        new CompilerConfiguration(), true);
+                    return classLoader.parseClass(script);
+                }));
 
             LOGGER.debug("Preparing constructor arguments [{}] for resource [{}]", args, resource);
             final Constructor<T> ctor = clazz.getDeclaredConstructor(constructorArgs);
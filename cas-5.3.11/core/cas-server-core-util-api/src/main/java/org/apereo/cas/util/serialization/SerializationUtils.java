@@ -101,10 +101,42 @@ public class SerializationUtils {
     public static byte[] serializeAndEncodeObject(final CipherExecutor cipher,
                                                   final Serializable object,
                                                   final Object[] parameters) {
-        final byte[] outBytes = serialize(object);
+        return serializeAndEncodeObject(TicketSerializer.java(), cipher, object, parameters);
+    }
+
+    /**
+     * Serialize and encode object, using the given serializer.
+     *
+     * @param serializer the serializer
+     * @param cipher     the cipher
+     * @param object     the object
+     * @param parameters the parameters
+     * @return the byte []
+     * @since 5.3.0
+     */
+    public static byte[] serializeAndEncodeObject(final TicketSerializer serializer,
+                                                  final CipherExecutor cipher,
+                                                  final Serializable object,
+                                                  final Object[] parameters) {
+        final byte[] outBytes = serializer.serialize(object);
         return (byte[]) cipher.encode(outBytes, parameters);
     }
 
+    /**
+     * Serialize and encode object, using the given serializer.
+     *
+     * @param serializer the serializer
+     * @param cipher     the cipher
+     * @param object     the object
+     * @return the byte []
+     * @since 5.3.0
+     */
+    public static byte[] serializeAndEncodeObject(final TicketSerializer serializer,
+                                                  final CipherExecutor cipher,
+                                                  final Serializable object) {
+        return serializeAndEncodeObject(serializer, cipher, object, new Object[]{});
+    }
+
     /**
      * Serialize and encode object byte [ ].
      *
@@ -133,8 +165,50 @@ public class SerializationUtils {
                                                                         final CipherExecutor cipher,
                                                                         final Class<T> type,
                                                                         final Object[] parameters) {
+        return decodeAndDeserializeObject(TicketSerializer.java(), object, cipher, type, parameters);
+    }
+
+    /**
+     * Decode and deserialize object, using the given serializer.
+     *
+     * @param <T>        the type parameter
+     * @param serializer the serializer
+     * @param object     the object
+     * @param cipher     the cipher
+     * @param type       the type
+     * @param parameters the parameters
+     * @return the t
+     * @since 5.3.0
+     */
+    public static <T extends Serializable> T decodeAndDeserializeObject(final TicketSerializer serializer,
+                                                                        final byte[] object,
+                                                                        final CipherExecutor cipher,
+                                                                        final Class<T> type,
+                                                                        final Object[] parameters) {
         final byte[] decoded = (byte[]) cipher.decode(object, parameters);
-        return deserializeAndCheckObject(decoded, type);
+        final Object result = serializer.deserialize(decoded, type);
+        if (!type.isAssignableFrom(result.getClass())) {
+            throw new ClassCastException("Decoded object is of type " + result.getClass() + " when we were expecting " + type);
+        }
+        return (T) result;
+    }
+
+    /**
+     * Decode and deserialize object, using the given serializer.
+     *
+     * @param <T>        the type parameter
+     * @param serializer the serializer
+     * @param object     the object
+     * @param cipher     the cipher
+     * @param type       the type
+     * @return the t
+     * @since 5.3.0
+     */
+    public static <T extends Serializable> T decodeAndDeserializeObject(final TicketSerializer serializer,
+                                                                        final byte[] object,
+                                                                        final CipherExecutor cipher,
+                                                                        final Class<T> type) {
+        return decodeAndDeserializeObject(serializer, object, cipher, type, new Object[]{});
     }
 
     /**
@@ -0,0 +1,45 @@
+package org.apereo.cas.util.serialization;
+
+import java.io.Serializable;
+
+/**
+ * Strategy that turns tickets and other serializable objects into a binary
+ * representation, and back, before they are encoded and handed off to a store.
+ * Implementations that change the binary format are expected to still read
+ * objects written by the default Java serialization format.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@FunctionalInterface
+public interface TicketSerializer {
+
+    /**
+     * Serialize the object.
+     *
+     * @param object the object
+     * @return the serialized bytes
+     */
+    byte[] serialize(Serializable object);
+
+    /**
+     * Deserialize the object.
+     *
+     * @param <T>   the type parameter
+     * @param bytes the serialized bytes
+     * @param clazz the expected type
+     * @return the object
+     */
+    default <T> T deserialize(final byte[] bytes, final Class<T> clazz) {
+        return SerializationUtils.deserialize(bytes, clazz);
+    }
+
+    /**
+     * Default serializer backed by Java object streams.
+     *
+     * @return the ticket serializer
+     */
+    static TicketSerializer java() {
+        return SerializationUtils::serialize;
+    }
+}
@@ -19,11 +19,14 @@ import org.apereo.cas.util.gen.ChainingPrincipalNameTransformerTests;
 import org.apereo.cas.util.gen.DefaultLongNumericGeneratorTests;
 import org.apereo.cas.util.gen.DefaultRandomStringGeneratorTests;
 import org.apereo.cas.util.gen.HexRandomStringGeneratorTests;
+import org.apereo.cas.util.gen.StripedSecureRandomTests;
 import org.apereo.cas.util.http.HttpClientMultiThreadedDownloaderTests;
 import org.apereo.cas.util.http.HttpMessageTests;
 import org.apereo.cas.util.http.SimpleHttpClientTests;
 import org.apereo.cas.util.io.CommunicationsManagerTests;
 import org.apereo.cas.util.io.CopyServletOutputStreamTests;
+import org.apereo.cas.util.io.JsonFileJournalTests;
+import org.apereo.cas.util.scripting.CompiledGroovyScriptCacheTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -45,7 +48,9 @@ import org.junit.runners.Suite;
     SimpleHttpClientTests.class,
     CommunicationsManagerTests.class,
     CopyServletOutputStreamTests.class,
+    JsonFileJournalTests.class,
     Base64RandomStringGeneratorTests.class,
+    StripedSecureRandomTests.class,
     ChainingPrincipalNameTransformerTests.class,
     CollectionUtilsTests.class,
     CompressionUtilsTests.class,
@@ -59,6 +64,7 @@ import org.junit.runners.Suite;
     BinaryCipherExecutorTests.class,
     ResourceUtilsTests.class,
     ScriptingUtilsTests.class,
+    CompiledGroovyScriptCacheTests.class,
     CopyServletOutputStreamTests.class
 })
 public class AllUtilityTestsSuite {
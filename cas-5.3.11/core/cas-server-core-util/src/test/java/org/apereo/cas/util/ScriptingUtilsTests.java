@@ -2,6 +2,7 @@ package org.apereo.cas.util;
 
 import org.apereo.cas.util.scripting.ScriptingUtils;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -11,6 +12,7 @@ import org.springframework.core.io.Resource;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.UUID;
 
 import static org.junit.Assert.*;
 
@@ -71,4 +73,36 @@ public class ScriptingUtilsTests {
             throw new AssertionError(e.getMessage(), e);
         }
     }
+
+    @Test
+    public void verifyCompiledGroovyScriptsAreCached() {
+        final String script = "return name + '-' + suffix // " + UUID.randomUUID();
+        final CacheStats before = ScriptingUtils.getCompiledGroovyScriptCacheStatistics();
+        assertEquals("casuser-1", ScriptingUtils.executeGroovyShellScript(script,
+            CollectionUtils.wrap("name", "casuser", "suffix", "1"), String.class));
+        assertEquals("casuser-2", ScriptingUtils.executeGroovyShellScript(script,
+            CollectionUtils.wrap("name", "casuser", "suffix", "2"), String.class));
+        final CacheStats stats = ScriptingUtils.getCompiledGroovyScriptCacheStatistics().minus(before);
+        assertTrue(stats.missCount() >= 1);
+        assertTrue(stats.hitCount() >= 1);
+    }
+
+    @Test
+    public void verifyModifiedGroovyResourceIsRecompiled() {
+        File file = null;
+        try {
+            file = File.createTempFile("test", ".groovy");
+            FileUtils.write(file, "def process(String name) { return name }", StandardCharsets.UTF_8);
+            final Resource resource = new FileSystemResource(file);
+            assertEquals("casuser", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+
+            FileUtils.write(file, "def process(String name) { return name.toUpperCase() }", StandardCharsets.UTF_8);
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+            assertEquals("CASUSER", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+        } catch (final Exception e) {
+            throw new AssertionError(e.getMessage(), e);
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
 }
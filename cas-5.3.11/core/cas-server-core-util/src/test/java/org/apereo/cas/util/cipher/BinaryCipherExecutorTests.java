@@ -2,6 +2,7 @@ package org.apereo.cas.util.cipher;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.util.crypto.DecryptionException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -58,6 +59,79 @@ public class BinaryCipherExecutorTests {
         assertEquals(value, new String(decoded, StandardCharsets.UTF_8));
     }
 
+    @Test
+    public void checkAuthenticatedEncodingDecoding() {
+        final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        final byte[] signed = cc.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+
+        cc.setAuthenticatedEncryption(true);
+        final byte[] bytes = cc.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+        assertTrue(bytes.length < signed.length);
+        assertEquals(value, new String(cc.decode(bytes, new Object[]{}), StandardCharsets.UTF_8));
+        assertEquals(value, new String(cc.decode(signed, new Object[]{}), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkAuthenticatedValueRejectedWhenTurnedOff() {
+        final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        cc.setAuthenticatedEncryption(true);
+        final byte[] bytes = cc.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+
+        cc.setAuthenticatedEncryption(false);
+        this.thrown.expect(DecryptionException.class);
+        cc.decode(bytes, new Object[]{});
+    }
+
+    @Test
+    public void checkAuthenticatedDecodingTamperedValue() {
+        final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        cc.setAuthenticatedEncryption(true);
+        final byte[] bytes = cc.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+        bytes[bytes.length - 1] ^= 1;
+
+        this.thrown.expect(DecryptionException.class);
+        cc.decode(bytes, new Object[]{});
+    }
+
+    @Test
+    public void checkExecutorsWithDifferentKeysOnSameThread() {
+        final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final TestBinaryCipherExecutor first = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        final TestBinaryCipherExecutor second = new TestBinaryCipherExecutor("NjU0MzIxMDk4NzY1NDMyMQ==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        final byte[] firstBytes = first.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+        final byte[] secondBytes = second.encode(value.getBytes(StandardCharsets.UTF_8), new Object[]{});
+        assertEquals(value, new String(first.decode(firstBytes, new Object[]{}), StandardCharsets.UTF_8));
+        assertEquals(value, new String(second.decode(secondBytes, new Object[]{}), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkSecretKeyAlgorithmIsApplied() {
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        cc.setSecretKeyAlgorithm("DES");
+        assertEquals("DES", cc.getEncryptionKey().getAlgorithm());
+    }
+
     private static class TestBinaryCipherExecutor extends BaseBinaryCipherExecutor {
         TestBinaryCipherExecutor(final String encKey, final String signingKey, final int sKey, final int eKey) {
             super(encKey, signingKey, sKey, eKey, "Test");
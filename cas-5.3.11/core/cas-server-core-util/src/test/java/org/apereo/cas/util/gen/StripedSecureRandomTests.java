@@ -0,0 +1,130 @@
+package org.apereo.cas.util.gen;
+
+import org.apereo.cas.util.RandomUtils;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link StripedSecureRandomTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class StripedSecureRandomTests {
+
+    @Test
+    public void verifyBytesAreUniqueAcrossThreads() throws Exception {
+        final StripedSecureRandom random = new StripedSecureRandom(4);
+        assertTrue(Arrays.asList("DRBG", "NativePRNGNonBlocking", "SHA1PRNG").contains(random.getAlgorithm()));
+
+        final Set<String> values = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        final byte[] bytes = new byte[RandomStringGenerator.DEFAULT_LENGTH];
+                        random.nextBytes(bytes);
+                        assertTrue(values.add(Base64.getEncoder().encodeToString(bytes)));
+                    }
+                }));
+            }
+            for (final Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(8000, values.size());
+    }
+
+    @Test
+    public void verifyGeneratorIsReseeded() {
+        final CountingSeedSource seedSource = new CountingSeedSource();
+        final StripedSecureRandom random = new StripedSecureRandom(1, seedSource);
+        final byte[] bytes = new byte[1024];
+
+        random.nextBytes(bytes);
+        assertEquals(1, seedSource.getSeeds());
+        assertEquals(StripedSecureRandom.SEED_LENGTH, seedSource.getLastSeedLength());
+
+        final long calls = StripedSecureRandom.RESEED_INTERVAL_BYTES / bytes.length;
+        for (long i = 1; i < calls; i++) {
+            random.nextBytes(bytes);
+        }
+        assertEquals(1, seedSource.getSeeds());
+
+        random.nextBytes(bytes);
+        assertEquals(2, seedSource.getSeeds());
+    }
+
+    @Test
+    public void verifyExplicitSeedDoesNotReplaceNativeSeed() {
+        final CountingSeedSource seedSource = new CountingSeedSource();
+        final StripedSecureRandom random = new StripedSecureRandom(1, seedSource);
+        random.setSeed(42L);
+        assertEquals(1, seedSource.getSeeds());
+
+        final StripedSecureRandom other = new StripedSecureRandom(1, new CountingSeedSource());
+        other.setSeed(42L);
+        final byte[] first = new byte[32];
+        final byte[] second = new byte[32];
+        random.nextBytes(first);
+        other.nextBytes(second);
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    public void verifyIdFormatsAreUnchanged() {
+        assertEquals(RandomUtils.getStripedInstance().getAlgorithm(), new DefaultRandomStringGenerator().getAlgorithm());
+
+        final String value = new DefaultRandomStringGenerator().getNewString();
+        assertTrue(value, value.matches("[a-zA-Z0-9]{" + RandomStringGenerator.DEFAULT_LENGTH + '}'));
+
+        final String hex = new HexRandomStringGenerator(16).getNewString();
+        assertTrue(hex, hex.matches("[0-9a-f]{32}"));
+
+        final String base64 = new Base64RandomStringGenerator(32).getNewString();
+        assertTrue(base64, base64.matches("[A-Za-z0-9_-]{43}"));
+    }
+
+    /**
+     * Seed source that counts how many seeds were drawn from it.
+     */
+    private static class CountingSeedSource extends SecureRandom {
+        private static final long serialVersionUID = 3547386510367414561L;
+
+        private final AtomicInteger seeds = new AtomicInteger();
+
+        private volatile int lastSeedLength;
+
+        @Override
+        public byte[] generateSeed(final int numBytes) {
+            this.seeds.incrementAndGet();
+            this.lastSeedLength = numBytes;
+            return super.generateSeed(numBytes);
+        }
+
+        int getSeeds() {
+            return this.seeds.get();
+        }
+
+        int getLastSeedLength() {
+            return this.lastSeedLength;
+        }
+    }
+}
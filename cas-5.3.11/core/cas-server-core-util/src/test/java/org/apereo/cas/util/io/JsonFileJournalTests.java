@@ -0,0 +1,78 @@
+package org.apereo.cas.util.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JsonFileJournalTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class JsonFileJournalTests {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private File file;
+
+    private File journalFile;
+
+    @Before
+    public void setUp() throws Exception {
+        this.file = File.createTempFile("journal", ".json");
+        this.journalFile = new File(this.file.getAbsolutePath() + JsonFileJournal.JOURNAL_SUFFIX);
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(this.file);
+        FileUtils.deleteQuietly(this.journalFile);
+    }
+
+    @Test
+    public void verifyEntriesAreAppendedAndReplayed() throws Exception {
+        final JsonFileJournal<String> journal = new JsonFileJournal<>(new FileSystemResource(this.file), MAPPER, String.class);
+        assertFalse(journal.replay(entry -> fail("No journal is expected")));
+        assertTrue(journal.append("first"));
+        assertTrue(journal.append("second"));
+        assertEquals(2, journal.getEntries());
+        FileUtils.write(this.journalFile, "{unreadable" + System.lineSeparator(), StandardCharsets.UTF_8, true);
+
+        final List<String> entries = new ArrayList<>();
+        final JsonFileJournal<String> reloaded = new JsonFileJournal<>(new FileSystemResource(this.file), MAPPER, String.class);
+        assertTrue(reloaded.replay(entries::add));
+        assertEquals(2, entries.size());
+        assertEquals("first", entries.get(0));
+        assertEquals("second", entries.get(1));
+        assertEquals(2, reloaded.getEntries());
+    }
+
+    @Test
+    public void verifyCompactionReplacesResourceAndRemovesJournal() throws Exception {
+        final JsonFileJournal<String> journal = new JsonFileJournal<>(new FileSystemResource(this.file), MAPPER, String.class);
+        journal.append("entry");
+        assertFalse(journal.isCompactionDue(0));
+        journal.compact(temp -> FileUtils.write(temp, "[\"entry\"]", StandardCharsets.UTF_8));
+        assertEquals("[\"entry\"]", FileUtils.readFileToString(this.file, StandardCharsets.UTF_8));
+        assertFalse(this.journalFile.exists());
+        assertFalse(new File(this.file.getAbsolutePath() + ".tmp").exists());
+        assertEquals(0, journal.getEntries());
+    }
+
+    @Test
+    public void verifyWriteAtomically() throws Exception {
+        FileUtils.write(this.file, "before", StandardCharsets.UTF_8);
+        JsonFileJournal.writeAtomically(this.file, temp -> FileUtils.write(temp, "after", StandardCharsets.UTF_8));
+        assertEquals("after", FileUtils.readFileToString(this.file, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package org.apereo.cas.util.scripting;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CompiledGroovyScriptCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class CompiledGroovyScriptCacheTests {
+    private static final String SCRIPT = "return name";
+
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    private final Function<String, Class<?>> compiler = script -> {
+        compilations.incrementAndGet();
+        return Object.class;
+    };
+
+    private CompiledGroovyScriptCache cache;
+
+    @Before
+    public void setUp() {
+        this.cache = new CompiledGroovyScriptCache(10);
+    }
+
+    @Test
+    public void verifyScriptIsCompiledOnce() {
+        final ClassLoader parent = getClass().getClassLoader();
+        this.cache.getScriptClass("shell", parent, SCRIPT, this.compiler);
+        this.cache.getScriptClass("shell", parent, SCRIPT, this.compiler);
+        assertEquals(1, this.compilations.get());
+
+        final CacheStats stats = this.cache.getStatistics();
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.hitCount());
+    }
+
+    @Test
+    public void verifyScriptIsCompiledPerParentClassLoader() throws Exception {
+        final ClassLoader parent = getClass().getClassLoader();
+        try (URLClassLoader other = new URLClassLoader(new URL[0], parent)) {
+            this.cache.getScriptClass("shell", parent, SCRIPT, this.compiler);
+            this.cache.getScriptClass("shell", other, SCRIPT, this.compiler);
+            this.cache.getScriptClass("resource", parent, SCRIPT, this.compiler);
+        }
+        assertEquals(3, this.compilations.get());
+    }
+
+    @Test
+    public void verifyDiscardedParentClassLoaderIsNotRetained() throws Exception {
+        final WeakReference<ClassLoader> reference;
+        try (URLClassLoader other = new URLClassLoader(new URL[0], getClass().getClassLoader())) {
+            this.cache.getScriptClass("shell", other, SCRIPT, this.compiler);
+            reference = new WeakReference<>(other);
+        }
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void verifyModifiedResourceIsCompiledAgain() throws Exception {
+        final ClassLoader parent = getClass().getClassLoader();
+        final File file = File.createTempFile("test", ".groovy");
+        try {
+            FileUtils.write(file, "def process(String name) { return name }", StandardCharsets.UTF_8);
+            final FileSystemResource resource = new FileSystemResource(file);
+            this.cache.getScriptClass("resource", parent, resource, this.compiler);
+            this.cache.getScriptClass("resource", parent, resource, this.compiler);
+            assertEquals(1, this.compilations.get());
+
+            FileUtils.write(file, "def process(String name) { return name.toUpperCase() }", StandardCharsets.UTF_8);
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+            this.cache.getScriptClass("resource", parent, resource, this.compiler);
+            assertEquals(2, this.compilations.get());
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link FlowExecutionConversation} that holds the flow execution snapshots
+ * of a single conversation, along with its conversation scope.
+ * <p>Snapshots and scope values are abstract or arbitrary types, so when the conversation is written
+ * to JSON they are carried in serialized form, which retains their concrete types and allows
+ * the conversation to be read back from JSON-based ticket registries.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@ToString(of = {"id", "flowId"})
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+public class FlowExecutionConversation implements Serializable {
+    private static final long serialVersionUID = 2412657437285730713L;
+
+    private final String id;
+
+    private final String flowId;
+
+    @JsonIgnore
+    private final LinkedHashMap<Integer, FlowExecutionSnapshot> snapshots = new LinkedHashMap<>();
+
+    @JsonIgnore
+    @Setter
+    private LocalAttributeMap<Object> scope = new LocalAttributeMap<>();
+
+    @JsonCreator
+    public FlowExecutionConversation(@JsonProperty("id") final String id, @JsonProperty("flowId") final String flowId) {
+        this.id = id;
+        this.flowId = flowId;
+    }
+
+    /**
+     * Gets snapshot.
+     *
+     * @param snapshotId the snapshot id
+     * @return the snapshot, or null
+     */
+    public FlowExecutionSnapshot getSnapshot(final int snapshotId) {
+        return this.snapshots.get(snapshotId);
+    }
+
+    /**
+     * Put the snapshot, discarding the oldest snapshots beyond the given maximum.
+     *
+     * @param snapshotId   the snapshot id
+     * @param snapshot     the snapshot
+     * @param maxSnapshots the max snapshots
+     */
+    public void putSnapshot(final int snapshotId, final FlowExecutionSnapshot snapshot, final int maxSnapshots) {
+        this.snapshots.remove(snapshotId);
+        this.snapshots.put(snapshotId, snapshot);
+        final Iterator<Integer> it = this.snapshots.keySet().iterator();
+        while (maxSnapshots > 0 && this.snapshots.size() > maxSnapshots && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Remove snapshot.
+     *
+     * @param snapshotId the snapshot id
+     */
+    public void removeSnapshot(final int snapshotId) {
+        this.snapshots.remove(snapshotId);
+    }
+
+    /**
+     * Remove all snapshots.
+     */
+    public void removeAllSnapshots() {
+        this.snapshots.clear();
+    }
+
+    /**
+     * Gets the snapshots in serialized form, keyed by snapshot id.
+     *
+     * @return the serialized snapshots
+     */
+    @JsonProperty("serializedSnapshots")
+    public Map<Integer, byte[]> getSerializedSnapshots() {
+        final Map<Integer, byte[]> serialized = new LinkedHashMap<>();
+        this.snapshots.forEach((snapshotId, snapshot) -> serialized.put(snapshotId, SerializationUtils.serialize(snapshot)));
+        return serialized;
+    }
+
+    /**
+     * Restore the snapshots from their serialized form.
+     *
+     * @param serialized the serialized snapshots, keyed by snapshot id
+     */
+    @JsonProperty("serializedSnapshots")
+    public void setSerializedSnapshots(final Map<Integer, byte[]> serialized) {
+        this.snapshots.clear();
+        if (serialized != null) {
+            serialized.forEach((snapshotId, bytes) ->
+                this.snapshots.put(snapshotId, SerializationUtils.deserialize(bytes, FlowExecutionSnapshot.class)));
+        }
+    }
+
+    /**
+     * Gets the conversation scope in serialized form.
+     *
+     * @return the serialized scope
+     */
+    @JsonProperty("serializedScope")
+    public byte[] getSerializedScope() {
+        return SerializationUtils.serialize(this.scope);
+    }
+
+    /**
+     * Restore the conversation scope from its serialized form.
+     *
+     * @param serialized the serialized scope
+     */
+    @JsonProperty("serializedScope")
+    public void setSerializedScope(final byte[] serialized) {
+        this.scope = serialized == null ? new LocalAttributeMap<>() : SerializationUtils.deserialize(serialized, LocalAttributeMap.class);
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * This is {@link InMemoryFlowExecutionRepository} that keeps conversations
+ * in memory on this node, and removes those that are not accessed
+ * within the given timeout. The number of conversations kept is capped,
+ * evicting those least likely to be used again once the cap is reached.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class InMemoryFlowExecutionRepository extends ServerSideFlowExecutionRepository {
+    private final Cache<String, FlowExecutionConversation> conversations;
+
+    public InMemoryFlowExecutionRepository(final Duration timeout, final int maxSnapshots, final long maxConversations) {
+        super(maxSnapshots);
+        this.conversations = Caffeine.newBuilder()
+            .expireAfterAccess(timeout)
+            .maximumSize(maxConversations)
+            .build();
+    }
+
+    @Override
+    protected FlowExecutionConversation getConversation(final String conversationId) {
+        return this.conversations.getIfPresent(conversationId);
+    }
+
+    @Override
+    protected void putConversation(final FlowExecutionConversation conversation) {
+        this.conversations.put(conversation.getId(), conversation);
+    }
+
+    @Override
+    protected void removeConversation(final String conversationId) {
+        this.conversations.invalidate(conversationId);
+    }
+}
@@ -0,0 +1,63 @@
+package org.apereo.cas.web.flow.executor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.webflow.execution.FlowExecutionKey;
+import org.springframework.webflow.execution.repository.BadlyFormattedFlowExecutionKeyException;
+
+/**
+ * This is {@link ServerSideFlowExecutionKey} that identifies a snapshot
+ * of a conversation whose flow executions are kept on the server.
+ * It is rendered as {@code <conversationId>_<snapshotId>}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class ServerSideFlowExecutionKey extends FlowExecutionKey {
+    private static final long serialVersionUID = -3517243098462411625L;
+
+    private static final String SEPARATOR = "_";
+
+    private static final String FORMAT = "<conversationId>" + SEPARATOR + "<snapshotId>";
+
+    private final String conversationId;
+
+    private final int snapshotId;
+
+    /**
+     * Parse the key from its encoded form.
+     *
+     * @param encodedKey the encoded key
+     * @return the key
+     */
+    public static ServerSideFlowExecutionKey parse(final String encodedKey) {
+        final int index = StringUtils.defaultString(encodedKey).lastIndexOf(SEPARATOR);
+        if (index <= 0 || index == encodedKey.length() - 1) {
+            throw new BadlyFormattedFlowExecutionKeyException(encodedKey, FORMAT);
+        }
+        try {
+            return new ServerSideFlowExecutionKey(encodedKey.substring(0, index), Integer.parseInt(encodedKey.substring(index + 1)));
+        } catch (final NumberFormatException e) {
+            throw new BadlyFormattedFlowExecutionKeyException(encodedKey, FORMAT, e);
+        }
+    }
+
+    /**
+     * Key of the next snapshot in the same conversation.
+     *
+     * @return the key
+     */
+    public ServerSideFlowExecutionKey next() {
+        return new ServerSideFlowExecutionKey(this.conversationId, this.snapshotId + 1);
+    }
+
+    @Override
+    public String toString() {
+        return this.conversationId + SEPARATOR + this.snapshotId;
+    }
+}
@@ -0,0 +1,180 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.google.common.util.concurrent.Striped;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+import org.apereo.cas.util.gen.RandomStringGenerator;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.FlowExecutionKey;
+import org.springframework.webflow.execution.FlowExecutionKeyFactory;
+import org.springframework.webflow.execution.repository.FlowExecutionLock;
+import org.springframework.webflow.execution.repository.FlowExecutionRepository;
+import org.springframework.webflow.execution.repository.FlowExecutionRestorationFailureException;
+import org.springframework.webflow.execution.repository.NoSuchFlowExecutionException;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * This is {@link ServerSideFlowExecutionRepository} that keeps flow execution snapshots
+ * on the server, grouped into conversations, so that the browser only carries
+ * a short opaque key rather than the flow state itself. Unlike the session-bound repository,
+ * it does not require sticky HTTP sessions; where conversations are kept is left
+ * to implementations, which are expected to expire abandoned conversations.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public abstract class ServerSideFlowExecutionRepository implements FlowExecutionRepository, FlowExecutionKeyFactory {
+    private static final int CONVERSATION_ID_LENGTH = 32;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final RandomStringGenerator conversationIdGenerator = new Base64RandomStringGenerator(CONVERSATION_ID_LENGTH);
+
+    private final Striped<Lock> locks = Striped.lazyWeakLock(LOCK_STRIPES);
+
+    /**
+     * Maximum number of snapshots kept for each conversation.
+     */
+    @Getter
+    private final int maxSnapshots;
+
+    @Setter
+    private FlowExecutionSnapshotFactory flowExecutionSnapshotFactory;
+
+    @Override
+    public FlowExecutionKey parseFlowExecutionKey(final String encodedKey) {
+        return ServerSideFlowExecutionKey.parse(encodedKey);
+    }
+
+    @Override
+    public FlowExecutionLock getLock(final FlowExecutionKey key) {
+        final Lock lock = this.locks.get(((ServerSideFlowExecutionKey) key).getConversationId());
+        return new FlowExecutionLock() {
+            @Override
+            public void lock() {
+                lock.lock();
+            }
+
+            @Override
+            public void unlock() {
+                lock.unlock();
+            }
+        };
+    }
+
+    @Override
+    public FlowExecution getFlowExecution(final FlowExecutionKey key) {
+        final ServerSideFlowExecutionKey executionKey = (ServerSideFlowExecutionKey) key;
+        final FlowExecutionConversation conversation = getConversation(executionKey.getConversationId());
+        if (conversation == null) {
+            throw new NoSuchFlowExecutionException(key, null);
+        }
+        final FlowExecutionSnapshot snapshot = conversation.getSnapshot(executionKey.getSnapshotId());
+        if (snapshot == null) {
+            throw new NoSuchFlowExecutionException(key, null);
+        }
+        try {
+            return this.flowExecutionSnapshotFactory.restoreExecution(snapshot, conversation.getFlowId(), key,
+                new LocalAttributeMap<>(conversation.getScope().asMap()), this);
+        } catch (final FlowExecutionRestorationFailureException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new FlowExecutionRestorationFailureException(key, e);
+        }
+    }
+
+    @Override
+    public void putFlowExecution(final FlowExecution flowExecution) {
+        final ServerSideFlowExecutionKey key = (ServerSideFlowExecutionKey) flowExecution.getKey();
+        final FlowExecutionConversation existing = getConversation(key.getConversationId());
+        final FlowExecutionConversation conversation = existing != null
+            ? existing
+            : new FlowExecutionConversation(key.getConversationId(), flowExecution.getDefinition().getId());
+        conversation.setScope(new LocalAttributeMap<>(flowExecution.getConversationScope().asMap()));
+        conversation.putSnapshot(key.getSnapshotId(), this.flowExecutionSnapshotFactory.createSnapshot(flowExecution), this.maxSnapshots);
+        LOGGER.trace("Storing snapshot [{}] of conversation [{}]", key.getSnapshotId(), conversation);
+        putConversation(conversation);
+    }
+
+    @Override
+    public void removeFlowExecution(final FlowExecution flowExecution) {
+        final ServerSideFlowExecutionKey key = (ServerSideFlowExecutionKey) flowExecution.getKey();
+        LOGGER.trace("Removing conversation [{}]", key.getConversationId());
+        removeConversation(key.getConversationId());
+    }
+
+    @Override
+    public FlowExecutionKey getKey(final FlowExecution execution) {
+        final ServerSideFlowExecutionKey key = (ServerSideFlowExecutionKey) execution.getKey();
+        if (key == null) {
+            return new ServerSideFlowExecutionKey(newConversationId(), 1);
+        }
+        return key.next();
+    }
+
+    @Override
+    public void updateFlowExecutionSnapshot(final FlowExecution execution) {
+        putFlowExecution(execution);
+    }
+
+    @Override
+    public void removeFlowExecutionSnapshot(final FlowExecution execution) {
+        final ServerSideFlowExecutionKey key = (ServerSideFlowExecutionKey) execution.getKey();
+        final FlowExecutionConversation conversation = getConversation(key.getConversationId());
+        if (conversation != null) {
+            conversation.removeSnapshot(key.getSnapshotId());
+            putConversation(conversation);
+        }
+    }
+
+    @Override
+    public void removeAllFlowExecutionSnapshots(final FlowExecution execution) {
+        final ServerSideFlowExecutionKey key = (ServerSideFlowExecutionKey) execution.getKey();
+        final FlowExecutionConversation conversation = getConversation(key.getConversationId());
+        if (conversation != null) {
+            conversation.removeAllSnapshots();
+            putConversation(conversation);
+        }
+    }
+
+    /**
+     * Generate the identifier of a new conversation.
+     * The identifier is handed to the browser and must not be guessable.
+     *
+     * @return the conversation id
+     */
+    protected String newConversationId() {
+        return this.conversationIdGenerator.getNewString();
+    }
+
+    /**
+     * Gets conversation.
+     *
+     * @param conversationId the conversation id
+     * @return the conversation, or null if it does not exist or has expired
+     */
+    protected abstract FlowExecutionConversation getConversation(String conversationId);
+
+    /**
+     * Store the conversation, extending its expiration.
+     *
+     * @param conversation the conversation
+     */
+    protected abstract void putConversation(FlowExecutionConversation conversation);
+
+    /**
+     * Remove conversation.
+     *
+     * @param conversationId the conversation id
+     */
+    protected abstract void removeConversation(String conversationId);
+}
@@ -0,0 +1,84 @@
+package org.apereo.cas.web.flow.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import java.time.Duration;
+
+/**
+ * This is {@link TicketRegistryFlowExecutionRepository} that keeps each conversation
+ * in a {@link TransientSessionTicket}, so that flow executions are shared by all nodes
+ * that share the ticket registry. Conversations expire once they are not used within the
+ * given timeout, and are then removed by the registry cleaner.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class TicketRegistryFlowExecutionRepository extends ServerSideFlowExecutionRepository {
+    private static final String CONVERSATION_PROPERTY = FlowExecutionConversation.class.getName();
+
+    private final TicketRegistry ticketRegistry;
+
+    private final ExpirationPolicy expirationPolicy;
+
+    private final UniqueTicketIdGenerator ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+
+    public TicketRegistryFlowExecutionRepository(final TicketRegistry ticketRegistry, final Duration timeout, final int maxSnapshots) {
+        super(maxSnapshots);
+        this.ticketRegistry = ticketRegistry;
+        this.expirationPolicy = new TimeoutExpirationPolicy(timeout.getSeconds());
+    }
+
+    @Override
+    protected String newConversationId() {
+        return this.ticketIdGenerator.getNewTicketId(TransientSessionTicket.PREFIX);
+    }
+
+    @Override
+    protected FlowExecutionConversation getConversation(final String conversationId) {
+        final TransientSessionTicket ticket = getConversationTicket(conversationId);
+        if (ticket == null) {
+            LOGGER.debug("Conversation [{}] cannot be found or has expired", conversationId);
+            return null;
+        }
+        return ticket.get(CONVERSATION_PROPERTY, FlowExecutionConversation.class);
+    }
+
+    @Override
+    protected void putConversation(final FlowExecutionConversation conversation) {
+        final TransientSessionTicket ticket = getConversationTicket(conversation.getId());
+        if (ticket == null) {
+            final TransientSessionTicketImpl newTicket = new TransientSessionTicketImpl(conversation.getId(), this.expirationPolicy, null);
+            newTicket.put(CONVERSATION_PROPERTY, conversation);
+            this.ticketRegistry.addTicket(newTicket);
+        } else {
+            ticket.put(CONVERSATION_PROPERTY, conversation);
+            if (ticket instanceof TicketState) {
+                ((TicketState) ticket).update();
+            }
+            this.ticketRegistry.updateTicket(ticket);
+        }
+    }
+
+    @Override
+    protected void removeConversation(final String conversationId) {
+        this.ticketRegistry.deleteTicket(conversationId);
+    }
+
+    private TransientSessionTicket getConversationTicket(final String conversationId) {
+        final Ticket ticket = this.ticketRegistry.getTicket(conversationId);
+        if (ticket instanceof TransientSessionTicket && !ticket.isExpired()) {
+            return (TransientSessionTicket) ticket;
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.web.flow.executor;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
@@ -34,13 +35,25 @@ public class WebflowExecutorFactory {
     private final CipherExecutor webflowCipherExecutor;
     private final FlowExecutionListener[] executionListeners;
 
+    /**
+     * Repository that keeps flow executions on the server, used when server-side
+     * storage is not bound to the HTTP session.
+     */
+    @Setter
+    private ServerSideFlowExecutionRepository flowExecutionRepository;
+
     /**
      * Build flow executor.
      *
      * @return the flow executor
      */
     public FlowExecutor build() {
-        if (webflowProperties.getSession().isStorage()) {
+        final WebflowSessionManagementProperties session = webflowProperties.getSession();
+        if (session.isStorage()) {
+            if (session.getServerStorage() != WebflowSessionManagementProperties.ServerStorageTypes.SESSION
+                && this.flowExecutionRepository != null) {
+                return buildFlowExecutorViaServerSideRepository();
+            }
             return buildFlowExecutorViaServerSessionBindingExecution();
         }
         return buildFlowExecutorViaClientFlowExecution();
@@ -64,6 +77,18 @@ public class WebflowExecutorFactory {
         return new FlowExecutorImpl(this.flowDefinitionRegistry, executionFactory, repository);
     }
 
+    private FlowExecutor buildFlowExecutorViaServerSideRepository() {
+        final FlowExecutionImplFactory executionFactory = new FlowExecutionImplFactory();
+        executionFactory.setExecutionListenerLoader(new StaticFlowExecutionListenerLoader(executionListeners));
+        executionFactory.setExecutionKeyFactory(this.flowExecutionRepository);
+
+        final SerializedFlowExecutionSnapshotFactory flowExecutionSnapshotFactory =
+            new SerializedFlowExecutionSnapshotFactory(executionFactory, this.flowDefinitionRegistry);
+        flowExecutionSnapshotFactory.setCompress(webflowProperties.getSession().isCompress());
+        this.flowExecutionRepository.setFlowExecutionSnapshotFactory(flowExecutionSnapshotFactory);
+        return new FlowExecutorImpl(this.flowDefinitionRegistry, executionFactory, this.flowExecutionRepository);
+    }
+
     private FlowExecutor buildFlowExecutorViaClientFlowExecution() {
         final ClientFlowExecutionRepository repository = new ClientFlowExecutionRepository();
         repository.setFlowDefinitionLocator(this.flowDefinitionRegistry);
@@ -417,12 +417,14 @@ public class CasCoreWebflowConfiguration {
             enabled = true;
         }
         if (enabled) {
-            return new WebflowConversationStateCipherExecutor(
+            final WebflowConversationStateCipherExecutor cipher = new WebflowConversationStateCipherExecutor(
                 crypto.getEncryption().getKey(),
                 crypto.getSigning().getKey(),
                 crypto.getAlg(),
                 crypto.getSigning().getKeySize(),
                 crypto.getEncryption().getKeySize());
+            cipher.setAuthenticatedEncryption(crypto.isAuthenticatedEncryption());
+            return cipher;
         }
         LOGGER.warn("Webflow encryption/signing is turned off. This "
             + "MAY NOT be safe in a production environment. Consider using other choices to handle encryption, "
@@ -3,6 +3,9 @@ package org.apereo.cas.web.flow.config;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.webapp.WebflowSessionManagementProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.flow.CasFlowHandlerAdapter;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
@@ -14,6 +17,9 @@ import org.apereo.cas.web.flow.configurer.DefaultLoginWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.DefaultLogoutWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.GroovyWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.plan.DefaultCasWebflowExecutionPlan;
+import org.apereo.cas.web.flow.executor.InMemoryFlowExecutionRepository;
+import org.apereo.cas.web.flow.executor.ServerSideFlowExecutionRepository;
+import org.apereo.cas.web.flow.executor.TicketRegistryFlowExecutionRepository;
 import org.apereo.cas.web.flow.executor.WebflowExecutorFactory;
 import org.apereo.cas.web.support.AuthenticationThrottlingExecutionPlan;
 import org.springframework.beans.factory.ObjectProvider;
@@ -49,6 +55,7 @@ import org.springframework.webflow.mvc.builder.MvcViewFactoryCreator;
 import org.springframework.webflow.mvc.servlet.FlowHandlerAdapter;
 import org.springframework.webflow.mvc.servlet.FlowHandlerMapping;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -87,6 +94,10 @@ public class CasWebflowContextConfiguration {
     @Qualifier("webflowCipherExecutor")
     private CipherExecutor webflowCipherExecutor;
 
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private ObjectProvider<TicketRegistry> ticketRegistry;
+
     @Bean
     public ExpressionParser expressionParser() {
         return new WebFlowSpringELExpressionParser(new SpelExpressionParser(), logoutConversionService());
@@ -206,6 +217,7 @@ public class CasWebflowContextConfiguration {
     public FlowExecutor logoutFlowExecutor() {
         final WebflowExecutorFactory factory = new WebflowExecutorFactory(casProperties.getWebflow(),
             logoutFlowRegistry(), this.webflowCipherExecutor, new FlowExecutionListener[0]);
+        factory.setFlowExecutionRepository(buildFlowExecutionRepository());
         return factory.build();
     }
 
@@ -215,10 +227,31 @@ public class CasWebflowContextConfiguration {
         final WebflowExecutorFactory factory = new WebflowExecutorFactory(casProperties.getWebflow(),
             loginFlowRegistry(), this.webflowCipherExecutor,
             new FlowExecutionListener[0]);
-
+        factory.setFlowExecutionRepository(buildFlowExecutionRepository());
         return factory.build();
     }
 
+    private ServerSideFlowExecutionRepository buildFlowExecutionRepository() {
+        final WebflowSessionManagementProperties session = casProperties.getWebflow().getSession();
+        if (!session.isStorage()) {
+            return null;
+        }
+        final Duration timeout = Beans.newDuration(session.getConversationTimeout());
+        switch (session.getServerStorage()) {
+            case MEMORY:
+                return new InMemoryFlowExecutionRepository(timeout, session.getMaxSnapshots(), session.getMaxConversations());
+            case TICKET_REGISTRY:
+                final TicketRegistry registry = this.ticketRegistry.getIfAvailable();
+                if (registry == null) {
+                    LOGGER.warn("No ticket registry is available to keep flow executions; flow executions are kept in memory instead");
+                    return new InMemoryFlowExecutionRepository(timeout, session.getMaxSnapshots(), session.getMaxConversations());
+                }
+                return new TicketRegistryFlowExecutionRepository(registry, timeout, session.getMaxSnapshots());
+            default:
+                return null;
+        }
+    }
+
     @ConditionalOnMissingBean(name = "defaultWebflowConfigurer")
     @Bean
     @Order(0)
@@ -0,0 +1,154 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.junit.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.definition.FlowDefinition;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.FlowExecutionKey;
+import org.springframework.webflow.execution.repository.BadlyFormattedFlowExecutionKeyException;
+import org.springframework.webflow.execution.repository.NoSuchFlowExecutionException;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ServerSideFlowExecutionRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class ServerSideFlowExecutionRepositoryTests {
+
+    @Test
+    public void verifyKeyIsParsed() {
+        final ServerSideFlowExecutionKey key = ServerSideFlowExecutionKey.parse("TST-1-a_b-cas_3");
+        assertEquals("TST-1-a_b-cas", key.getConversationId());
+        assertEquals(3, key.getSnapshotId());
+        assertEquals("TST-1-a_b-cas_3", key.toString());
+        assertEquals(key, ServerSideFlowExecutionKey.parse(key.toString()));
+        assertEquals(4, key.next().getSnapshotId());
+    }
+
+    @Test(expected = BadlyFormattedFlowExecutionKeyException.class)
+    public void verifyBadKeyIsRejected() {
+        ServerSideFlowExecutionKey.parse("e1s1");
+    }
+
+    @Test
+    public void verifyExecutionsAreKeptInMemory() {
+        verifyExecutionIsStoredAndRestored(new InMemoryFlowExecutionRepository(Duration.ofMinutes(5), 2, 100));
+    }
+
+    @Test
+    public void verifyExecutionsAreKeptInTicketRegistry() {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        final TicketRegistryFlowExecutionRepository repository =
+            new TicketRegistryFlowExecutionRepository(registry, Duration.ofMinutes(5), 2);
+        final ServerSideFlowExecutionKey key = verifyExecutionIsStoredAndRestored(repository);
+        assertTrue(key.getConversationId().startsWith(TransientSessionTicket.PREFIX));
+        assertNull(registry.getTicket(key.getConversationId()));
+    }
+
+    @Test
+    public void verifyConversationIsReadFromJson() throws Exception {
+        final String json = "{\"@class\":\"" + FlowExecutionConversation.class.getName() + "\",\"id\":\"TST-1\",\"flowId\":\"login\"}";
+        final FlowExecutionConversation conversation = new ObjectMapper().readValue(json, FlowExecutionConversation.class);
+        assertEquals("TST-1", conversation.getId());
+        assertEquals("login", conversation.getFlowId());
+        assertTrue(conversation.getSnapshots().isEmpty());
+    }
+
+    @Test
+    public void verifyConversationRoundTripsThroughJson() throws Exception {
+        final FlowExecutionConversation conversation = new FlowExecutionConversation("TST-1", "login");
+        conversation.putSnapshot(1, new SampleFlowExecutionSnapshot("first"), 5);
+        conversation.putSnapshot(2, new SampleFlowExecutionSnapshot("second"), 5);
+        final LocalAttributeMap<Object> scope = new LocalAttributeMap<>();
+        scope.put("service", "https://example.org");
+        scope.put("attempts", 3);
+        scope.put("warnings", new ArrayList<>(Arrays.asList("first", "second")));
+        conversation.setScope(scope);
+
+        final ObjectMapper mapper = new ObjectMapper();
+        final FlowExecutionConversation read = mapper.readValue(mapper.writeValueAsString(conversation), FlowExecutionConversation.class);
+        assertEquals("TST-1", read.getId());
+        assertEquals("login", read.getFlowId());
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(read.getSnapshots().keySet()));
+        assertEquals("first", ((SampleFlowExecutionSnapshot) read.getSnapshot(1)).getData());
+        assertEquals("second", ((SampleFlowExecutionSnapshot) read.getSnapshot(2)).getData());
+        assertEquals("https://example.org", read.getScope().get("service"));
+        assertEquals(3, read.getScope().get("attempts"));
+        assertEquals(Arrays.asList("first", "second"), read.getScope().get("warnings"));
+    }
+
+    private static ServerSideFlowExecutionKey verifyExecutionIsStoredAndRestored(final ServerSideFlowExecutionRepository repository) {
+        final FlowExecutionSnapshotFactory snapshotFactory = mock(FlowExecutionSnapshotFactory.class);
+        final FlowExecutionSnapshot snapshot = mock(FlowExecutionSnapshot.class);
+        final FlowExecution restored = mock(FlowExecution.class);
+        when(snapshotFactory.createSnapshot(any())).thenReturn(snapshot);
+        when(snapshotFactory.restoreExecution(any(), anyString(), any(), any(), any())).thenReturn(restored);
+        repository.setFlowExecutionSnapshotFactory(snapshotFactory);
+
+        final FlowExecution execution = mock(FlowExecution.class);
+        final FlowDefinition definition = mock(FlowDefinition.class);
+        when(definition.getId()).thenReturn("login");
+        when(execution.getDefinition()).thenReturn(definition);
+        final MutableAttributeMap<Object> scope = new LocalAttributeMap<>();
+        when(execution.getConversationScope()).thenReturn(scope);
+
+        final ServerSideFlowExecutionKey first = (ServerSideFlowExecutionKey) repository.getKey(execution);
+        assertEquals(1, first.getSnapshotId());
+        when(execution.getKey()).thenReturn(first);
+        repository.putFlowExecution(execution);
+
+        final FlowExecutionKey parsed = repository.parseFlowExecutionKey(first.toString());
+        assertSame(restored, repository.getFlowExecution(parsed));
+        verify(snapshotFactory).restoreExecution(eq(snapshot), eq("login"), eq(parsed), any(), eq(repository));
+
+        final ServerSideFlowExecutionKey second = (ServerSideFlowExecutionKey) repository.getKey(execution);
+        assertEquals(first.getConversationId(), second.getConversationId());
+        assertEquals(2, second.getSnapshotId());
+        when(execution.getKey()).thenReturn(second);
+        repository.putFlowExecution(execution);
+        final ServerSideFlowExecutionKey third = second.next();
+        when(execution.getKey()).thenReturn(third);
+        repository.putFlowExecution(execution);
+
+        try {
+            repository.getFlowExecution(first);
+            fail("Oldest snapshot should have been discarded");
+        } catch (final NoSuchFlowExecutionException e) {
+            assertNotNull(repository.getFlowExecution(second));
+        }
+
+        repository.removeFlowExecution(execution);
+        try {
+            repository.getFlowExecution(third);
+            fail("Conversation should have been removed");
+        } catch (final NoSuchFlowExecutionException e) {
+            assertNotNull(e);
+        }
+        return third;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class SampleFlowExecutionSnapshot extends FlowExecutionSnapshot {
+        private static final long serialVersionUID = -2461271093870251372L;
+
+        private final String data;
+    }
+}
@@ -154,8 +154,14 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         AuthenticationCredentialsThreadLocalBinder.bindCurrent(latestAuthentication);
         final Principal principal = latestAuthentication.getPrincipal();
         final ServiceTicketFactory factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
+        final int sessionCount = ticketGrantingTicket.getServices().size();
         final ServiceTicket serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
+        // a session that was only added, rather than replacing a previous one, can be recorded on its own
+        if (ticketGrantingTicket.getServices().size() > sessionCount) {
+            this.ticketRegistry.addServiceSession(ticketGrantingTicket, serviceTicket);
+        } else {
+            this.ticketRegistry.updateTicket(ticketGrantingTicket);
+        }
         this.ticketRegistry.addTicket(serviceTicket);
 
         LOGGER.info("Granted ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
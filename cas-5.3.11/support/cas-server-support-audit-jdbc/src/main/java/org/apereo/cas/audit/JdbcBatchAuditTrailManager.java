@@ -0,0 +1,60 @@
+package org.apereo.cas.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This is {@link JdbcBatchAuditTrailManager} that extends the Inspektr
+ * {@link JdbcAuditTrailManager} to insert a number of audit records in one transaction.
+ * Each record is inserted by Inspektr itself, so the statement and the truncation of long values
+ * remain those of Inspektr. Inspektr always runs synchronously here; asynchronous recording of
+ * single records is handled by this class, so that {@link #recordAll(Collection)} always stores
+ * its records before returning.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class JdbcBatchAuditTrailManager extends JdbcAuditTrailManager implements BatchAuditTrailManager {
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    private final TransactionTemplate transactionTemplate;
+
+    private boolean asynchronous = true;
+
+    public JdbcBatchAuditTrailManager(final TransactionTemplate transactionTemplate) {
+        super(transactionTemplate);
+        super.setAsynchronous(false);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void setAsynchronous(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    @Override
+    public void record(final AuditActionContext audit) {
+        if (this.asynchronous) {
+            this.executorService.execute(() -> super.record(audit));
+        } else {
+            super.record(audit);
+        }
+    }
+
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        LOGGER.debug("Inserting [{}] audit records", audits.size());
+        this.transactionTemplate.execute(status -> {
+            audits.forEach(super::record);
+            return null;
+        });
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Set;
 
@@ -58,4 +59,19 @@ public class CasSupportJdbcAuditConfigurationTests {
         final Set results = jdbcAuditTrailManager.getAuditRecordsSince(time);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    public void verifyAuditRecordsAreInsertedInBatch() {
+        final LocalDate time = LocalDate.now().minusDays(3);
+        final Date since = DateTimeUtils.dateOf(time);
+        final AuditActionContext first = new AuditActionContext("casuser1", "TEST", "TEST",
+            "CAS", since, "1.2.3.4", "1.2.3.4");
+        final AuditActionContext second = new AuditActionContext("casuser2", "TEST", "TEST",
+            "CAS", since, "1.2.3.4", "1.2.3.4");
+        assertTrue(jdbcAuditTrailManager instanceof BatchAuditTrailManager);
+        BatchAuditTrailManager.class.cast(jdbcAuditTrailManager).recordAll(Arrays.asList(first, second));
+        final Set<AuditActionContext> results = jdbcAuditTrailManager.getAuditRecordsSince(time);
+        assertTrue(results.stream().anyMatch(r -> "casuser1".equals(r.getPrincipal())));
+        assertTrue(results.stream().anyMatch(r -> "casuser2".equals(r.getPrincipal())));
+    }
 }
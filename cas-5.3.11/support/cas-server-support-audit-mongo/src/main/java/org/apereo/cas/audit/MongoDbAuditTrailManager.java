@@ -4,12 +4,12 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -24,7 +24,7 @@ import java.util.concurrent.Executors;
  */
 @Slf4j
 @Setter
-public class MongoDbAuditTrailManager implements AuditTrailManager {
+public class MongoDbAuditTrailManager implements BatchAuditTrailManager {
 
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
@@ -48,6 +48,12 @@ public class MongoDbAuditTrailManager implements AuditTrailManager {
         }
     }
 
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        LOGGER.debug("Inserting [{}] audit records into [{}]", audits.size(), this.collectionName);
+        this.mongoTemplate.insert(audits, this.collectionName);
+    }
+
     private void saveAuditRecord(final AuditActionContext audit) {
         this.mongoTemplate.save(audit, this.collectionName);
     }
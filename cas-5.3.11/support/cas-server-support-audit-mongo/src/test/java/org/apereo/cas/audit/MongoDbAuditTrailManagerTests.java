@@ -8,6 +8,7 @@ import org.apereo.cas.config.CasSupportMongoDbAuditConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
@@ -21,8 +22,10 @@ import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.junit.Assert.*;
@@ -56,6 +59,10 @@ public class MongoDbAuditTrailManagerTests {
     @Qualifier("auditTrailExecutionPlan")
     private AuditTrailExecutionPlan auditTrailExecutionPlan;
 
+    @Autowired
+    @Qualifier("mongoDbAuditTrailManager")
+    private AuditTrailManager mongoDbAuditTrailManager;
+
     @Test
     public void verify() {
         final LocalDate twoDaysAgo = LocalDate.now().minusDays(2);
@@ -68,4 +75,23 @@ public class MongoDbAuditTrailManagerTests {
         final Set results = auditTrailExecutionPlan.getAuditRecordsSince(twoDaysAgo);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    public void verifyRecordAll() {
+        final LocalDate threeDaysAgo = LocalDate.now().minusDays(3);
+        final Date since = DateTimeUtils.dateOf(threeDaysAgo);
+        final String principal = UUID.randomUUID().toString();
+        final AuditActionContext first = new AuditActionContext(principal, "resource1",
+            "action", "appcode", since, "clientIp", "serverIp");
+        final AuditActionContext second = new AuditActionContext(principal, "resource2",
+            "action", "appcode", since, "clientIp", "serverIp");
+        final BatchAuditTrailManager manager = (BatchAuditTrailManager) this.mongoDbAuditTrailManager;
+        manager.recordAll(Arrays.asList(first, second));
+
+        final long results = manager.getAuditRecordsSince(threeDaysAgo)
+            .stream()
+            .filter(audit -> principal.equals(audit.getPrincipal()))
+            .count();
+        assertEquals(2, results);
+    }
 }
@@ -15,15 +15,16 @@ import org.apereo.cas.configuration.model.core.audit.AuditRestProperties;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.audit.AuditTrailManager;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RestAuditTrailManager}.
@@ -33,7 +34,7 @@ import java.util.concurrent.Executors;
  */
 @Slf4j
 @RequiredArgsConstructor
-public class RestAuditTrailManager implements AuditTrailManager {
+public class RestAuditTrailManager implements BatchAuditTrailManager {
     private static final ObjectMapper MAPPER = new ObjectMapper()
         .findAndRegisterModules()
         .registerModule(new SimpleModule().setMixInAnnotation(AuditActionContext.class, AbstractAuditActionContextMixin.class));
@@ -49,13 +50,11 @@ public class RestAuditTrailManager implements AuditTrailManager {
     @Override
     public void record(final AuditActionContext audit) {
         final Runnable task = () -> {
-            final String auditJson = serializer.toString(audit);
             LOGGER.debug("Sending audit action context to REST endpoint [{}]", properties.getUrl());
-            HttpResponse response = null;
             try {
-                response = HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
-            } finally {
-                HttpUtils.close(response);
+                post(serializer.toString(audit));
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
             }
         };
 
@@ -66,6 +65,19 @@ public class RestAuditTrailManager implements AuditTrailManager {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The audit records are sent to the REST endpoint in a single request, as a JSON array.
+     * The batch is considered delivered only when the endpoint responds with a successful status;
+     * otherwise an exception is thrown so that the caller can spool or account for the records.
+     */
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        LOGGER.debug("Sending [{}] audit action contexts to REST endpoint [{}]", audits.size(), properties.getUrl());
+        post(audits.stream().map(serializer::toString).collect(Collectors.joining(",", "[", "]")));
+    }
+
     @Override
     public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
         HttpResponse response = null;
@@ -87,6 +99,21 @@ public class RestAuditTrailManager implements AuditTrailManager {
         return new HashSet<>(0);
     }
 
+    private void post(final String auditJson) {
+        HttpResponse response = null;
+        try {
+            response = HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
+            if (response == null) {
+                throw new IllegalStateException("Unable to send audit records to REST endpoint " + properties.getUrl());
+            }
+            final int status = response.getStatusLine().getStatusCode();
+            if (status < HttpStatus.SC_OK || status >= HttpStatus.SC_MULTIPLE_CHOICES) {
+                throw new IllegalStateException("REST endpoint " + properties.getUrl() + " rejected audit records with status " + status);
+            }
+        } finally {
+            HttpUtils.close(response);
+        }
+    }
 
     private abstract static class AbstractAuditActionContextMixin extends AuditActionContext {
         private static final long serialVersionUID = -7839084408338396531L;
@@ -13,9 +13,13 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.SocketUtils;
 
+import java.io.IOException;
+import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -53,4 +57,52 @@ public class RestAuditTrailManagerTests {
             throw new AssertionError(e.getMessage(), e);
         }
     }
+
+    @Test
+    public void verifyBatchDelivered() throws Exception {
+        final int port = SocketUtils.findAvailableTcpPort();
+        final RestAuditTrailManager r = new RestAuditTrailManager(getProperties(port));
+        try (MockWebServer webServer = new MockWebServer(port,
+            new ByteArrayResource("[]".getBytes(StandardCharsets.UTF_8), "REST Output"), MediaType.APPLICATION_JSON_VALUE)) {
+            webServer.start();
+            r.recordAll(Arrays.asList(getAuditActionContext(), getAuditActionContext()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyBatchFailsWhenEndpointIsUnavailable() {
+        final RestAuditTrailManager r = new RestAuditTrailManager(getProperties(SocketUtils.findAvailableTcpPort()));
+        r.recordAll(Arrays.asList(getAuditActionContext(), getAuditActionContext()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyBatchFailsWhenEndpointRejectsRecords() throws Exception {
+        final int port = SocketUtils.findAvailableTcpPort();
+        final RestAuditTrailManager r = new RestAuditTrailManager(getProperties(port));
+        try (MockWebServer webServer = new MockWebServer(port, socket -> writeErrorResponse((Socket) socket))) {
+            webServer.start();
+            r.recordAll(Arrays.asList(getAuditActionContext(), getAuditActionContext()));
+        }
+    }
+
+    private static Object writeErrorResponse(final Socket socket) {
+        try {
+            socket.getOutputStream().write("HTTP/1.1 500 Internal Server Error\r\nContent-Length: 0\r\n\r\n"
+                .getBytes(StandardCharsets.UTF_8));
+            return Boolean.TRUE;
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static AuditRestProperties getProperties(final int port) {
+        final AuditRestProperties props = new AuditRestProperties();
+        props.setUrl("http://localhost:" + port);
+        return props;
+    }
+
+    private static AuditActionContext getAuditActionContext() {
+        return new AuditActionContext("casuser", "resource", "action",
+            "CAS", new Date(), "123.456.789.000", "123.456.789.000");
+    }
 }
@@ -1,6 +1,5 @@
 package org.apereo.cas.consent;
 
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
@@ -9,67 +8,135 @@ import org.apereo.cas.util.RandomUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link BaseConsentRepository}.
+ * <p>
+ * Decisions are kept in memory by id, and indexed by principal
+ * as well as by principal and service, so that looking up a decision
+ * does not require scanning all decisions.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
-@Setter
 public abstract class BaseConsentRepository implements ConsentRepository {
 
     private static final long serialVersionUID = 1736846688546785564L;
 
-    private Set<ConsentDecision> consentDecisions;
+    private final Map<Long, ConsentDecision> consentDecisions = new ConcurrentHashMap<>();
 
-    public BaseConsentRepository() {
-        this.consentDecisions = new LinkedHashSet<>();
-    }
+    private final Map<String, Map<Long, ConsentDecision>> principalDecisions = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, ConsentDecision>> serviceDecisions = new ConcurrentHashMap<>();
 
     @Override
     public ConsentDecision findConsentDecision(final Service service, final RegisteredService registeredService,
                                                final Authentication authentication) {
-        return this.consentDecisions.stream().filter(d -> d.getPrincipal().equals(authentication.getPrincipal().getId())
-            && d.getService().equals(service.getId())).findFirst().orElse(null);
+        return this.serviceDecisions.getOrDefault(authentication.getPrincipal().getId(), Collections.emptyMap())
+            .get(service.getId());
     }
 
     @Override
     public Collection<ConsentDecision> findConsentDecisions(final String principal) {
-        return this.consentDecisions.stream().filter(d -> d.getPrincipal().equals(principal)).collect(Collectors.toSet());
+        return new LinkedHashSet<>(this.principalDecisions.getOrDefault(principal, Collections.emptyMap()).values());
     }
 
     @Override
     public Collection<ConsentDecision> findConsentDecisions() {
-        return new ArrayList<>(this.consentDecisions);
+        return new ArrayList<>(this.consentDecisions.values());
     }
 
     @Override
-    public boolean storeConsentDecision(final ConsentDecision decision) {
-        final ConsentDecision consent = getConsentDecisions().stream().filter(d -> d.getId() == decision.getId()).findFirst().orElse(null);
-        if (consent != null) {
-            getConsentDecisions().remove(decision);
-        } else {
+    public synchronized boolean storeConsentDecision(final ConsentDecision decision) {
+        if (removeDecision(decision.getId()) == null) {
             decision.setId(Math.abs(RandomUtils.getNativeInstance().nextInt()));
         }
-        getConsentDecisions().add(decision);
+        putDecision(decision);
         return true;
     }
 
     @Override
-    public boolean deleteConsentDecision(final long decisionId, final String principal) {
-        final Collection<ConsentDecision> decisions = findConsentDecisions(principal);
-        final Optional<ConsentDecision> result = decisions.stream().filter(d -> d.getId() == decisionId).findFirst();
-        result.ifPresent(value -> this.consentDecisions.remove(value));
-        return result.isPresent();
+    public synchronized boolean deleteConsentDecision(final long decisionId, final String principal) {
+        final ConsentDecision decision = this.principalDecisions.getOrDefault(principal, Collections.emptyMap()).get(decisionId);
+        if (decision != null) {
+            removeDecision(decisionId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Replace all decisions held by this repository.
+     *
+     * @param decisions the decisions
+     */
+    protected synchronized void setConsentDecisions(final Collection<ConsentDecision> decisions) {
+        this.consentDecisions.clear();
+        this.principalDecisions.clear();
+        this.serviceDecisions.clear();
+        if (decisions != null) {
+            decisions.forEach(this::putDecision);
+        }
     }
 
     protected Set<ConsentDecision> getConsentDecisions() {
-        return this.consentDecisions;
+        return new LinkedHashSet<>(this.consentDecisions.values());
+    }
+
+    /**
+     * Put the decision in the store and its indexes, replacing any decision with the same id.
+     *
+     * @param decision the decision
+     */
+    protected void putDecision(final ConsentDecision decision) {
+        removeDecision(decision.getId());
+        this.consentDecisions.put(decision.getId(), decision);
+        this.principalDecisions.computeIfAbsent(decision.getPrincipal(), p -> new ConcurrentHashMap<>())
+            .put(decision.getId(), decision);
+        this.serviceDecisions.computeIfAbsent(decision.getPrincipal(), p -> new ConcurrentHashMap<>())
+            .put(decision.getService(), decision);
+    }
+
+    /**
+     * Remove the decision from the store and its indexes.
+     *
+     * @param decisionId the decision id
+     * @return the removed decision, or null
+     */
+    protected ConsentDecision removeDecision(final long decisionId) {
+        final ConsentDecision decision = this.consentDecisions.remove(decisionId);
+        if (decision == null) {
+            return null;
+        }
+        final String principal = decision.getPrincipal();
+        final Map<Long, ConsentDecision> decisions = this.principalDecisions.get(principal);
+        if (decisions != null) {
+            decisions.remove(decisionId);
+            if (decisions.isEmpty()) {
+                this.principalDecisions.remove(principal);
+            }
+        }
+        final Map<String, ConsentDecision> services = this.serviceDecisions.get(principal);
+        if (services != null && services.get(decision.getService()) == decision) {
+            final ConsentDecision remaining = decisions == null ? null : decisions.values().stream()
+                .filter(d -> d.getService().equals(decision.getService()))
+                .findFirst()
+                .orElse(null);
+            if (remaining != null) {
+                services.put(decision.getService(), remaining);
+            } else {
+                services.remove(decision.getService());
+                if (services.isEmpty()) {
+                    this.serviceDecisions.remove(principal);
+                }
+            }
+        }
+        return decision;
     }
 }
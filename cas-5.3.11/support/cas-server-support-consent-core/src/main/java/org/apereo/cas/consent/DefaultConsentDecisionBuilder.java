@@ -2,7 +2,10 @@ package org.apereo.cas.consent;
 
 import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
@@ -16,22 +19,38 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultConsentDecisionBuilder}.
+ * <p>
+ * The attribute name and value digests of a decision are cached,
+ * keyed by the decision's encoded attributes, so they are not
+ * deciphered and recomputed each time consent is evaluated.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
-@AllArgsConstructor
 public class DefaultConsentDecisionBuilder implements ConsentDecisionBuilder {
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
     private static final long serialVersionUID = 8220243983483982326L;
 
+    private static final int MAX_CACHED_DIGESTS = 10_000;
+
     private final transient CipherExecutor<Serializable, String> consentCipherExecutor;
 
+    private final transient LoadingCache<String, ConsentAttributeDigests> consentAttributeDigests;
+
+    public DefaultConsentDecisionBuilder(final CipherExecutor<Serializable, String> consentCipherExecutor) {
+        this.consentCipherExecutor = consentCipherExecutor;
+        this.consentAttributeDigests = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_DIGESTS)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build(this::digestConsentableAttributes);
+    }
+
     @Override
     public ConsentDecision update(final ConsentDecision consent, final Map<String, Object> attributes) {
         final String encodedNames = buildAndEncodeConsentAttributes(attributes);
@@ -54,23 +73,19 @@ public class DefaultConsentDecisionBuilder implements ConsentDecisionBuilder {
     @Override
     public boolean doesAttributeReleaseRequireConsent(final ConsentDecision decision,
                                                       final Map<String, Object> attributes) {
-        final Map<String, Object> consentAttributes = getConsentableAttributesFrom(decision);
-
         if (decision.getOptions() == ConsentReminderOptions.ATTRIBUTE_NAME) {
-            final String consentAttributesHash = sha512ConsentAttributeNames(consentAttributes);
+            final ConsentAttributeDigests consentDigests = getConsentAttributeDigests(decision);
             final String currentAttributesHash = sha512ConsentAttributeNames(attributes);
-            return !StringUtils.equals(consentAttributesHash, currentAttributesHash);
+            return !StringUtils.equals(consentDigests.getNames(), currentAttributesHash);
         }
 
         if (decision.getOptions() == ConsentReminderOptions.ATTRIBUTE_VALUE) {
-            final String consentAttributesHash = sha512ConsentAttributeNames(consentAttributes);
+            final ConsentAttributeDigests consentDigests = getConsentAttributeDigests(decision);
             final String currentAttributesHash = sha512ConsentAttributeNames(attributes);
-
-            final String consentAttributeValuesHash = sha512ConsentAttributeValues(consentAttributes);
             final String currentAttributeValuesHash = sha512ConsentAttributeValues(attributes);
 
-            return !StringUtils.equals(consentAttributesHash, currentAttributesHash)
-                || !StringUtils.equals(consentAttributeValuesHash, currentAttributeValuesHash);
+            return !StringUtils.equals(consentDigests.getNames(), currentAttributesHash)
+                || !StringUtils.equals(consentDigests.getValues(), currentAttributeValuesHash);
         }
         return true;
     }
@@ -91,6 +106,23 @@ public class DefaultConsentDecisionBuilder implements ConsentDecisionBuilder {
         }
     }
 
+    private ConsentAttributeDigests getConsentAttributeDigests(final ConsentDecision decision) {
+        if (StringUtils.isBlank(decision.getAttributes())) {
+            return digestConsentAttributes(getConsentableAttributesFrom(decision));
+        }
+        return this.consentAttributeDigests.get(decision.getAttributes());
+    }
+
+    private ConsentAttributeDigests digestConsentableAttributes(final String encodedAttributes) {
+        final ConsentDecision decision = new ConsentDecision();
+        decision.setAttributes(encodedAttributes);
+        return digestConsentAttributes(getConsentableAttributesFrom(decision));
+    }
+
+    private ConsentAttributeDigests digestConsentAttributes(final Map<String, Object> attributes) {
+        return new ConsentAttributeDigests(sha512ConsentAttributeNames(attributes), sha512ConsentAttributeValues(attributes));
+    }
+
     private String sha512ConsentAttributeNames(final Map<String, Object> attributes) {
         final String allNames = attributes.keySet().stream().collect(Collectors.joining("|"));
         return DigestUtils.sha512(allNames);
@@ -120,4 +152,14 @@ public class DefaultConsentDecisionBuilder implements ConsentDecisionBuilder {
             throw new IllegalArgumentException("Could not serialize attributes for consent decision");
         }
     }
+
+    /**
+     * Digests of the attribute names and values of a consent decision.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ConsentAttributeDigests {
+        private final String names;
+        private final String values;
+    }
 }
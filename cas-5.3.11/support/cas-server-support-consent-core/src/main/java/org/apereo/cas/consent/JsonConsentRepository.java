@@ -2,9 +2,14 @@ package org.apereo.cas.consent;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.util.ResourceUtils;
+import org.apereo.cas.util.io.JsonFileJournal;
 import org.hjson.JsonValue;
 import org.springframework.core.io.Resource;
 
@@ -16,6 +21,9 @@ import java.util.Set;
 
 /**
  * This is {@link JsonConsentRepository}.
+ * <p>
+ * Changes are appended to a {@link JsonFileJournal} rather than rewriting the JSON resource.
+ * The journal is compacted into the JSON resource on startup and once it grows beyond the number of decisions.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -25,24 +33,33 @@ public class JsonConsentRepository extends BaseConsentRepository {
     private static final long serialVersionUID = -402728417464783825L;
 
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
     private final transient Resource jsonResource;
 
+    private final transient JsonFileJournal<JournalEntry> journal;
+
     public JsonConsentRepository(final Resource jsonResource) {
         this.jsonResource = jsonResource;
+        this.journal = new JsonFileJournal<>(jsonResource, MAPPER, JournalEntry.class);
         setConsentDecisions(readDecisionsFromJsonResource());
+        if (this.journal.replay(this::replayJournalEntry)) {
+            writeDecisionsToJsonResource();
+        }
     }
 
     @Override
-    public boolean storeConsentDecision(final ConsentDecision decision) {
+    public synchronized boolean storeConsentDecision(final ConsentDecision decision) {
         final boolean result = super.storeConsentDecision(decision);
-        writeAccountToJsonResource();
+        appendToJournal(new JournalEntry(JournalEntry.STORE, decision.getId(), decision));
         return result;
     }
 
     @Override
-    public boolean deleteConsentDecision(final long decisionId, final String principal) {
+    public synchronized boolean deleteConsentDecision(final long decisionId, final String principal) {
         final boolean result = super.deleteConsentDecision(decisionId, principal);
-        writeAccountToJsonResource();
+        if (result) {
+            appendToJournal(new JournalEntry(JournalEntry.DELETE, decisionId, null));
+        }
         return result;
     }
 
@@ -58,10 +75,39 @@ public class JsonConsentRepository extends BaseConsentRepository {
         return new LinkedHashSet<>(0);
     }
 
-    @SneakyThrows
-    private boolean writeAccountToJsonResource() {
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(this.jsonResource.getFile(), getConsentDecisions());
-        readDecisionsFromJsonResource();
-        return true;
+    private void replayJournalEntry(final JournalEntry entry) {
+        if (JournalEntry.STORE.equals(entry.getOperation()) && entry.getDecision() != null) {
+            putDecision(entry.getDecision());
+        } else if (JournalEntry.DELETE.equals(entry.getOperation())) {
+            removeDecision(entry.getId());
+        }
+    }
+
+    private void appendToJournal(final JournalEntry entry) {
+        if (this.journal.append(entry) && this.journal.isCompactionDue(findConsentDecisions().size())) {
+            writeDecisionsToJsonResource();
+        }
+    }
+
+    private void writeDecisionsToJsonResource() {
+        final Set<ConsentDecision> decisions = getConsentDecisions();
+        this.journal.compact(file -> MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, decisions));
+        LOGGER.debug("Wrote [{}] decisions to JSON resource @ [{}]", decisions.size(), this.jsonResource);
+    }
+
+    /**
+     * A change to the consent decisions, as recorded in the journal.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class JournalEntry {
+        static final String STORE = "STORE";
+        static final String DELETE = "DELETE";
+
+        private String operation;
+        private long id;
+        private ConsentDecision decision;
     }
 }
@@ -31,4 +31,30 @@ public class InMemoryConsentRepositoryTests {
         final boolean b = repo.deleteConsentDecision(decision.getId(), "casuser");
         assertTrue(b);
     }
+
+    @Test
+    public void verifyConsentDecisionsAreIndexedByPrincipalAndService() {
+        final DefaultConsentDecisionBuilder builder = new DefaultConsentDecisionBuilder(CipherExecutor.noOpOfSerializableToString());
+        final AbstractRegisteredService regSvc = RegisteredServiceTestUtils.getRegisteredService("test");
+        final Service svc = RegisteredServiceTestUtils.getService();
+        final Service other = RegisteredServiceTestUtils.getService("https://other.example.org");
+        final InMemoryConsentRepository repo = new InMemoryConsentRepository();
+        final ConsentDecision decision = builder.build(svc, regSvc, "casuser", CollectionUtils.wrap("attribute", "value"));
+        assertTrue(repo.storeConsentDecision(decision));
+        assertTrue(repo.storeConsentDecision(builder.build(other, regSvc, "casuser", CollectionUtils.wrap("attribute", "value"))));
+        assertTrue(repo.storeConsentDecision(builder.build(svc, regSvc, "someuser", CollectionUtils.wrap("attribute", "value"))));
+
+        assertEquals(2, repo.findConsentDecisions("casuser").size());
+        assertEquals(3, repo.findConsentDecisions().size());
+        assertSame(decision, repo.findConsentDecision(svc, regSvc, RegisteredServiceTestUtils.getAuthentication("casuser")));
+
+        decision.setReminder(30L);
+        assertTrue(repo.storeConsentDecision(decision));
+        assertEquals(3, repo.findConsentDecisions().size());
+
+        assertFalse(repo.deleteConsentDecision(decision.getId(), "someuser"));
+        assertTrue(repo.deleteConsentDecision(decision.getId(), "casuser"));
+        assertNull(repo.findConsentDecision(svc, regSvc, RegisteredServiceTestUtils.getAuthentication("casuser")));
+        assertEquals(1, repo.findConsentDecisions("casuser").size());
+    }
 }
@@ -9,6 +9,8 @@ import org.junit.AfterClass;
 import org.junit.Test;
 import org.springframework.core.io.FileSystemResource;
 
+import java.io.File;
+
 import static org.junit.Assert.*;
 
 /**
@@ -23,6 +25,7 @@ public class JsonConsentRepositoryTests {
     @AfterClass
     public static void shutdown() {
         JSON_FILE.getFile().delete();
+        new File(JSON_FILE.getFile().getAbsolutePath() + ".journal").delete();
     }
 
     @Test
@@ -40,4 +43,26 @@ public class JsonConsentRepositoryTests {
         final boolean b = repo.deleteConsentDecision(decision.getId(), "casuser");
         assertTrue(b);
     }
+
+    @Test
+    public void verifyConsentDecisionsAreJournaledAndReplayed() {
+        final DefaultConsentDecisionBuilder builder = new DefaultConsentDecisionBuilder(CipherExecutor.noOpOfSerializableToString());
+        final AbstractRegisteredService regSvc = RegisteredServiceTestUtils.getRegisteredService("test");
+        final Service svc = RegisteredServiceTestUtils.getService();
+        final JsonConsentRepository repo = new JsonConsentRepository(JSON_FILE);
+        final ConsentDecision kept = builder.build(svc, regSvc, "journaled", CollectionUtils.wrap("attribute", "value"));
+        final ConsentDecision deleted = builder.build(svc, regSvc, "deleted", CollectionUtils.wrap("attribute", "value"));
+        assertTrue(repo.storeConsentDecision(kept));
+        assertTrue(repo.storeConsentDecision(deleted));
+        assertTrue(repo.deleteConsentDecision(deleted.getId(), "deleted"));
+
+        final File journal = new File(JSON_FILE.getFile().getAbsolutePath() + ".journal");
+        assertTrue(journal.exists());
+
+        final JsonConsentRepository reloaded = new JsonConsentRepository(JSON_FILE);
+        assertFalse(journal.exists());
+        assertEquals(1, reloaded.findConsentDecisions("journaled").size());
+        assertTrue(reloaded.findConsentDecisions("deleted").isEmpty());
+        assertTrue(reloaded.deleteConsentDecision(kept.getId(), "journaled"));
+    }
 }
@@ -69,4 +69,28 @@ public class JsonGoogleAuthenticatorTokenCredentialRepositoryTests {
         acct = repo.get("casuser");
         assertNotNull(acct);
     }
+
+    @Test
+    public void verifyUpdateReplacesAccountAndFileChangesAreLoaded() throws Exception {
+        if (JSON_FILE.exists()) {
+            FileUtils.forceDelete(JSON_FILE.getFile());
+        }
+        final JsonGoogleAuthenticatorTokenCredentialRepository repo =
+            new JsonGoogleAuthenticatorTokenCredentialRepository(JSON_FILE, google, CipherExecutor.noOpOfStringToString());
+        final JsonGoogleAuthenticatorTokenCredentialRepository other =
+            new JsonGoogleAuthenticatorTokenCredentialRepository(JSON_FILE, google, CipherExecutor.noOpOfStringToString());
+        assertNull(other.get("casuser"));
+
+        final OneTimeTokenAccount first = repo.create("casuser");
+        repo.save(first.getUsername(), first.getSecretKey(), first.getValidationCode(), first.getScratchCodes());
+        assertEquals(first.getSecretKey(), other.get("casuser").getSecretKey());
+
+        final OneTimeTokenAccount second = repo.create("casuser");
+        repo.save(second.getUsername(), second.getSecretKey(), second.getValidationCode(), second.getScratchCodes());
+        assertEquals(second.getSecretKey(), repo.get("casuser").getSecretKey());
+
+        assertTrue(JSON_FILE.getFile().setLastModified(JSON_FILE.lastModified() + 5000));
+        assertEquals(second.getSecretKey(), other.get("casuser").getSecretKey());
+        assertNull(other.get("unknown"));
+    }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -45,6 +46,10 @@ public class HazelcastTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     @Autowired
     @Qualifier("casHazelcastInstance")
     private HazelcastInstance hazelcastInstance;
@@ -59,6 +64,7 @@ public class HazelcastTicketRegistryConfiguration {
                 ticketCatalog,
                 hz.getPageSize());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(hz.getCrypto(), "hazelcast"));
+        r.setTicketSerializer(this.ticketSerializer);
         return r;
     }
 
@@ -19,6 +19,7 @@ import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.registry.IgniteTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -47,6 +48,10 @@ public class IgniteTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     /**
      * Ignite configuration ignite configuration.
      *
@@ -115,6 +120,7 @@ public class IgniteTicketRegistryConfiguration {
         final IgniteConfiguration igniteConfiguration = igniteConfiguration(ticketCatalog);
         final IgniteTicketRegistry r = new IgniteTicketRegistry(ticketCatalog, igniteConfiguration, igniteProperties);
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(igniteProperties.getCrypto(), "ignite"));
+        r.setTicketSerializer(this.ticketSerializer);
         r.initialize();
         return r;
     }
@@ -9,10 +9,12 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.registry.InfinispanTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
 import org.infinispan.Cache;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,11 +34,16 @@ public class InfinispanTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     @Bean
     public TicketRegistry ticketRegistry() {
         final InfinispanProperties span = casProperties.getTicket().getRegistry().getInfinispan();
         final InfinispanTicketRegistry r = new InfinispanTicketRegistry(getCache(span));
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(span.getCrypto(), "infinispan"));
+        r.setTicketSerializer(this.ticketSerializer);
         return r;
     }
 
@@ -1,14 +1,19 @@
 package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 import org.hibernate.LockOptions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
@@ -16,8 +21,15 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,16 +46,40 @@ import java.util.stream.Stream;
 @Slf4j
 public class JpaTicketRegistry extends AbstractTicketRegistry {
     private static final int STREAM_BATCH_SIZE = 100;
+    private static final int DEFAULT_PURGE_BATCH_SIZE = 500;
 
     private final TicketCatalog ticketCatalog;
     private final LockModeType lockType;
+    private final int purgeBatchSize;
+
+    /**
+     * Runs each batch of the purge in a transaction of its own, or null if batches run in the caller's transaction.
+     */
+    private final TransactionTemplate batchTransactionTemplate;
+
+    /**
+     * Id of the last ticket examined among those with no recorded expiration time, by entity name.
+     */
+    private final Map<String, String> unscheduledTicketPositions = new ConcurrentHashMap<>();
 
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private transient EntityManager entityManager;
 
     public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog) {
+        this(lockType, ticketCatalog, DEFAULT_PURGE_BATCH_SIZE, null);
+    }
+
+    public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog, final int purgeBatchSize,
+                             final PlatformTransactionManager transactionManager) {
         this.lockType = lockType;
         this.ticketCatalog = ticketCatalog;
+        this.purgeBatchSize = purgeBatchSize;
+        if (transactionManager != null) {
+            this.batchTransactionTemplate = new TransactionTemplate(transactionManager);
+            this.batchTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            this.batchTransactionTemplate = null;
+        }
     }
 
     @Override
@@ -126,6 +162,49 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .flatMap(org.hibernate.query.Query::stream);
     }
 
+    /**
+     * Gets a stream of the expired ticket-granting tickets, located via the indexed expiration time column,
+     * so that the cleaner may issue logout requests for them. Other ticket types are purged in bulk
+     * by {@link #deleteExpiredTickets()}. Tickets with no recorded expiration time (i.e. those persisted before
+     * the column was introduced or those whose policy is unable to describe one) are examined individually,
+     * at most one batch of each type per run, and have their expiration time recorded when it can be determined
+     * so that they are not examined again.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Ticket> getExpiredTicketsStream() {
+        final TicketDefinition md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        final String sql = String.format("select t from %s t where t.expirationTime <= :now", getTicketEntityName(md));
+        final org.hibernate.query.Query<Ticket> query = (org.hibernate.query.Query<Ticket>) entityManager.createQuery(sql, md.getImplementationClass());
+        query.setParameter("now", ZonedDateTime.now(ZoneOffset.UTC));
+        query.setFetchSize(STREAM_BATCH_SIZE);
+        query.setLockOptions(LockOptions.NONE);
+
+        final Stream<Ticket> unscheduledTickets = this.ticketCatalog.findAll()
+            .stream()
+            .collect(Collectors.toMap(JpaTicketRegistry::getTicketEntityName, TicketDefinition::getImplementationClass,
+                (first, second) -> first, LinkedHashMap::new))
+            .entrySet()
+            .stream()
+            .flatMap(entry -> getUnscheduledTickets(entry.getKey(), entry.getValue()).stream());
+
+        return Stream.concat(query.stream(), unscheduledTickets).filter(Ticket::isExpired);
+    }
+
+    @Override
+    public long deleteExpiredTickets() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(t -> !TicketGrantingTicket.class.isAssignableFrom(t.getImplementationClass()))
+            .map(JpaTicketRegistry::getTicketEntityName)
+            .distinct()
+            .mapToLong(entityName -> deleteExpiredTickets(entityName, now))
+            .sum();
+    }
+
     @Override
     public long sessionCount() {
         final TicketDefinition md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -169,6 +248,98 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return tk.getImplementationClass().getSimpleName();
     }
 
+    /**
+     * Delete expired tickets of the given entity in batches, selecting only the ids of
+     * expired rows via the expiration time column and removing them with a set-based statement.
+     * Each batch is committed on its own, so that locks are only held for the duration of a batch.
+     *
+     * @param entityName the entity name
+     * @param now        the current time
+     * @return the number of deleted tickets
+     */
+    private long deleteExpiredTickets(final String entityName, final ZonedDateTime now) {
+        final String selectSql = String.format("select t.id from %s t where t.expirationTime <= :now", entityName);
+        final String deleteSql = String.format("delete from %s t where t.id in :ids", entityName);
+        long totalCount = 0;
+        while (true) {
+            final int count = executeBatch(() -> {
+                final List<String> ids = entityManager.createQuery(selectSql, String.class)
+                    .setParameter("now", now)
+                    .setMaxResults(this.purgeBatchSize)
+                    .getResultList();
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                return entityManager.createQuery(deleteSql)
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            });
+            if (count == 0) {
+                break;
+            }
+            LOGGER.debug("Deleted [{}] expired ticket(s) of type [{}]", count, entityName);
+            totalCount += count;
+        }
+        return totalCount;
+    }
+
+    /**
+     * Gets the next batch of tickets of the given entity that have no recorded expiration time, picking up
+     * after the last ticket examined by the previous run. The expiration time of those that are not expired
+     * is recorded if their policy is able to determine one. Since the expiration time is recorded with a bulk update
+     * that bypasses the persistence context, the tickets concerned are refreshed afterwards so that the managed
+     * entities do not carry a stale state.
+     *
+     * @param entityName          the entity name
+     * @param implementationClass the implementation class
+     * @return the tickets
+     */
+    private List<Ticket> getUnscheduledTickets(final String entityName, final Class<? extends Ticket> implementationClass) {
+        final String sql = String.format("select t from %s t where t.expirationTime is null and t.id > :id order by t.id", entityName);
+        final List<Ticket> tickets = new ArrayList<>(entityManager.createQuery(sql, implementationClass)
+            .setParameter("id", this.unscheduledTicketPositions.getOrDefault(entityName, StringUtils.EMPTY))
+            .setMaxResults(this.purgeBatchSize)
+            .setLockMode(LockModeType.NONE)
+            .getResultList());
+        if (tickets.size() < this.purgeBatchSize) {
+            this.unscheduledTicketPositions.remove(entityName);
+        } else {
+            this.unscheduledTicketPositions.put(entityName, tickets.get(tickets.size() - 1).getId());
+        }
+        final Map<String, ZonedDateTime> expirationTimes = new LinkedHashMap<>();
+        tickets.stream()
+            .filter(t -> t instanceof TicketState && t.getExpirationPolicy() != null && !t.isExpired())
+            .forEach(t -> {
+                final ZonedDateTime expirationTime = t.getExpirationPolicy().getMaximumExpirationTime((TicketState) t);
+                if (expirationTime != null) {
+                    expirationTimes.put(t.getId(), expirationTime);
+                }
+            });
+        if (!expirationTimes.isEmpty()) {
+            final String updateSql = String.format("update %s t set t.expirationTime = :expirationTime where t.id = :id", entityName);
+            executeBatch(() -> expirationTimes.entrySet()
+                .stream()
+                .mapToInt(entry -> entityManager.createQuery(updateSql)
+                    .setParameter("expirationTime", entry.getValue())
+                    .setParameter("id", entry.getKey())
+                    .executeUpdate())
+                .sum());
+            LOGGER.debug("Recorded the expiration time of [{}] ticket(s) of type [{}]", expirationTimes.size(), entityName);
+            tickets.stream()
+                .filter(t -> expirationTimes.containsKey(t.getId()))
+                .forEach(entityManager::refresh);
+        }
+        return tickets;
+    }
+
+    private int executeBatch(final Supplier<Integer> batch) {
+        if (this.batchTransactionTemplate == null) {
+            return batch.get();
+        }
+        final Integer count = this.batchTransactionTemplate.execute(status -> batch.get());
+        return count == null ? 0 : count;
+    }
+
     /**
      * Delete ticket granting tickets int.
      *
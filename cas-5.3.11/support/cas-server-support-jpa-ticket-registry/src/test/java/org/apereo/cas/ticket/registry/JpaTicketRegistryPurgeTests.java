@@ -0,0 +1,140 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPolicyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPrincipalConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationServiceSelectionStrategyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationSupportConfiguration;
+import org.apereo.cas.config.CasCoreConfiguration;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreServicesAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsSchedulingConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JpaTicketRegistryPurgeTests}. Since the bulk purge commits each batch on its own,
+ * these tests do not run inside a rolled-back test transaction and remove their tickets afterwards.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    AopAutoConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasPersonDirectoryConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    JpaTicketRegistryTicketCatalogConfiguration.class,
+    JpaTicketRegistryConfiguration.class,
+    CasCoreTicketsSchedulingConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class})
+@ContextConfiguration(initializers = EnvironmentConversionServiceInitializer.class)
+@Slf4j
+public class JpaTicketRegistryPurgeTests {
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("ticketRegistryCleaner")
+    private TicketRegistryCleaner ticketRegistryCleaner;
+
+    @Autowired
+    @Qualifier("ticketTransactionManager")
+    private PlatformTransactionManager ticketTransactionManager;
+
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private EntityManager entityManager;
+
+    @After
+    public void cleanup() {
+        this.ticketRegistry.deleteAll();
+    }
+
+    @Test
+    public void verifyExpiredServiceTicketsArePurged() {
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-654321",
+            RegisteredServiceTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st = tgt.grantServiceTicket("ST-54321",
+            RegisteredServiceTestUtils.getService(),
+            new AlwaysExpiresExpirationPolicy(), true, false);
+        ticketRegistry.addTicket(tgt);
+        ticketRegistry.addTicket(st);
+        ticketRegistryCleaner.clean();
+        assertNotNull(this.ticketRegistry.getTicket(tgt.getId()));
+        assertEquals(0, this.ticketRegistry.serviceTicketCount());
+    }
+
+    @Test
+    public void verifyMissingExpirationTimeIsRecorded() {
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-987654",
+            RegisteredServiceTestUtils.getAuthentication(), new HardTimeoutExpirationPolicy(3600));
+        ticketRegistry.addTicket(tgt);
+        final TransactionTemplate template = new TransactionTemplate(this.ticketTransactionManager);
+        template.execute(status -> entityManager
+            .createQuery("update TicketGrantingTicketImpl t set t.expirationTime = null where t.id = :id")
+            .setParameter("id", tgt.getId())
+            .executeUpdate());
+
+        ticketRegistryCleaner.clean();
+        final ZonedDateTime expirationTime = template.execute(status -> entityManager
+            .createQuery("select t.expirationTime from TicketGrantingTicketImpl t where t.id = :id", ZonedDateTime.class)
+            .setParameter("id", tgt.getId())
+            .getSingleResult());
+        assertNotNull(expirationTime);
+        assertNotNull(this.ticketRegistry.getTicket(tgt.getId()));
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ComponentSerializationPlan;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.memcached.MemcachedUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasKryoTicketSerializerConfiguration} that lets ticket registries
+ * serialize encoded tickets with kryo rather than Java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Configuration("casKryoTicketSerializerConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@AutoConfigureBefore(CasCoreTicketsConfiguration.class)
+@ConditionalOnProperty(prefix = "cas.ticket.registry", name = "serializer", havingValue = "kryo")
+@Slf4j
+public class CasKryoTicketSerializerConfiguration {
+
+    @Autowired
+    @Qualifier("componentSerializationPlan")
+    private ComponentSerializationPlan componentSerializationPlan;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Bean
+    public TicketSerializer ticketSerializer() {
+        return MemcachedUtils.newTicketSerializer(componentSerializationPlan.getRegisteredClasses(),
+            casProperties.getTicket().getRegistry().isJavaSerializationFallback());
+    }
+}
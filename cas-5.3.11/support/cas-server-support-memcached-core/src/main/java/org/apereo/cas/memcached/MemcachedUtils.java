@@ -10,6 +10,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.model.support.memcached.BaseMemcachedProperties;
 import org.apereo.cas.memcached.kryo.CasKryoPool;
 import org.apereo.cas.memcached.kryo.CasKryoTranscoder;
+import org.apereo.cas.memcached.kryo.KryoTicketSerializer;
+import org.apereo.cas.util.serialization.TicketSerializer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -70,4 +72,28 @@ public class MemcachedUtils {
                 return kryo;
         }
     }
+
+    /**
+     * New ticket serializer backed by kryo.
+     * Object references are tracked so that shared or cyclic ticket graphs survive the round trip.
+     *
+     * @param kryoSerializableClasses the kryo serializable classes
+     * @return the ticket serializer
+     */
+    public static TicketSerializer newTicketSerializer(final Collection<Class> kryoSerializableClasses) {
+        return newTicketSerializer(kryoSerializableClasses, false);
+    }
+
+    /**
+     * New ticket serializer backed by kryo.
+     *
+     * @param kryoSerializableClasses   the kryo serializable classes
+     * @param javaSerializationFallback whether objects kryo cannot handle should be written with Java serialization
+     * @return the ticket serializer
+     */
+    public static TicketSerializer newTicketSerializer(final Collection<Class> kryoSerializableClasses,
+                                                       final boolean javaSerializationFallback) {
+        final CasKryoPool kryoPool = new CasKryoPool(kryoSerializableClasses, true, true, true, true);
+        return new KryoTicketSerializer(kryoPool, javaSerializationFallback);
+    }
 }
@@ -0,0 +1,91 @@
+package org.apereo.cas.memcached.kryo;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+
+/**
+ * This is {@link KryoTicketSerializer} that serializes tickets using Kryo, based on the same
+ * deterministic class registrations used by {@link CasKryoTranscoder}.
+ * <p>
+ * Serialized objects are prefixed with a small header that carries a format version.
+ * Payloads without the header are treated as Java object streams, so tickets written
+ * before Kryo was enabled can still be read during a rolling upgrade. Objects
+ * that cannot be handled by Kryo (i.e. types that are not registered) are rejected,
+ * unless falling back onto Java serialization for such objects is explicitly allowed.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class KryoTicketSerializer implements TicketSerializer {
+
+    /**
+     * Current version of the Kryo binary format.
+     */
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte[] FORMAT_MAGIC = {(byte) 0xCA, (byte) 0x5C};
+
+    private static final int HEADER_LENGTH = FORMAT_MAGIC.length + 1;
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final CasKryoPool kryoPool;
+
+    private final boolean javaSerializationFallback;
+
+    @Override
+    public byte[] serialize(final Serializable object) {
+        try (CloseableKryo kryo = this.kryoPool.borrow();
+             ByteArrayOutputStream byteStream = new ByteArrayOutputStream(BUFFER_SIZE);
+             Output output = new Output(byteStream)) {
+            output.writeBytes(FORMAT_MAGIC);
+            output.writeByte(FORMAT_VERSION);
+            kryo.writeClassAndObject(output, object);
+            output.flush();
+            return byteStream.toByteArray();
+        } catch (final Exception e) {
+            final String className = object == null ? null : object.getClass().getName();
+            if (!this.javaSerializationFallback) {
+                throw new KryoException("Unable to serialize " + className + " with Kryo", e);
+            }
+            LOGGER.warn("Unable to serialize [{}] with Kryo; falling back to Java serialization: [{}]", className, e.getMessage());
+            return SerializationUtils.serialize(object);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(final byte[] bytes, final Class<T> clazz) {
+        if (!hasFormatHeader(bytes)) {
+            LOGGER.trace("Serialized object carries no Kryo format header and is read as a Java object stream");
+            return SerializationUtils.deserialize(bytes, clazz);
+        }
+        final byte version = bytes[FORMAT_MAGIC.length];
+        if (version != FORMAT_VERSION) {
+            throw new KryoException("Unsupported Kryo ticket format version " + version);
+        }
+        try (CloseableKryo kryo = this.kryoPool.borrow();
+             Input input = new Input(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH)) {
+            final Object result = kryo.readClassAndObject(input);
+            if (!clazz.isInstance(result)) {
+                throw new ClassCastException("Result [" + result + "] is of type "
+                    + (result == null ? null : result.getClass()) + " when we were expecting " + clazz);
+            }
+            return clazz.cast(result);
+        }
+    }
+
+    private static boolean hasFormatHeader(final byte[] bytes) {
+        return bytes != null && bytes.length > HEADER_LENGTH
+            && bytes[0] == FORMAT_MAGIC[0] && bytes[1] == FORMAT_MAGIC[1];
+    }
+}
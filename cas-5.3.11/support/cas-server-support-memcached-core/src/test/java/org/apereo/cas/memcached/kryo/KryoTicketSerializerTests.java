@@ -0,0 +1,89 @@
+package org.apereo.cas.memcached.kryo;
+
+import com.esotericsoftware.kryo.KryoException;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.memcached.MemcachedUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.serialization.TicketSerializer;
+import org.junit.Test;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link KryoTicketSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class KryoTicketSerializerTests {
+    private static final String TGT_ID = "TGT-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK-cas1";
+    private static final String ST_ID = "ST-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK";
+
+    private final TicketSerializer serializer = MemcachedUtils.newTicketSerializer(new ArrayList<>());
+
+    @Test
+    public void verifyTicketsRoundTrip() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TGT_ID,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st = tgt.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+
+        final byte[] tgtBytes = serializer.serialize(tgt);
+        assertTrue(tgtBytes.length < SerializationUtils.serialize(tgt).length);
+        assertEquals(tgt, serializer.deserialize(tgtBytes, Ticket.class));
+
+        final ServiceTicket result = serializer.deserialize(serializer.serialize(st), ServiceTicket.class);
+        assertEquals(st, result);
+        assertEquals(tgt, result.getTicketGrantingTicket());
+    }
+
+    @Test
+    public void verifyJavaSerializedTicketsAreReadable() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TGT_ID,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final byte[] bytes = TicketSerializer.java().serialize(tgt);
+        assertEquals(tgt, serializer.deserialize(bytes, Ticket.class));
+    }
+
+    @Test(expected = KryoException.class)
+    public void verifyUnknownFormatVersionIsRejected() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TGT_ID,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final byte[] bytes = serializer.serialize(tgt);
+        bytes[2] = KryoTicketSerializer.FORMAT_VERSION + 1;
+        serializer.deserialize(bytes, Ticket.class);
+    }
+
+    @Test(expected = KryoException.class)
+    public void verifyUnregisteredObjectIsRejected() {
+        serializer.serialize(new UnregisteredObject("value"));
+    }
+
+    @Test
+    public void verifyUnregisteredObjectFallsBackToJavaSerialization() {
+        final TicketSerializer fallbackSerializer = MemcachedUtils.newTicketSerializer(new ArrayList<>(), true);
+        final UnregisteredObject object = new UnregisteredObject("value");
+        final byte[] bytes = fallbackSerializer.serialize(object);
+        assertEquals(object, fallbackSerializer.deserialize(bytes, UnregisteredObject.class));
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class UnregisteredObject implements Serializable {
+        private static final long serialVersionUID = 4127365482719047635L;
+
+        private final String value;
+    }
+}
@@ -17,6 +17,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -30,7 +31,7 @@ import java.util.HashSet;
  * @since 5.0.0
  */
 @Entity
-@Table(name = "OAUTH_TOKENS")
+@Table(name = "OAUTH_TOKENS", indexes = @Index(name = "IDX_OAUTH_EXP_TIME", columnList = "EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(OAuthCode.PREFIX)
 @Slf4j
@@ -14,6 +14,8 @@ import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 import javax.persistence.Lob;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * An extension of the {@link RegexRegisteredService} that defines the
@@ -31,6 +33,11 @@ import java.util.HashSet;
 @EqualsAndHashCode(callSuper = true)
 public class OAuthRegisteredService extends RegexRegisteredService {
 
+    /**
+     * Name of the indexed key that holds the client id.
+     */
+    public static final String INDEXED_KEY_CLIENT_ID = "clientId";
+
     private static final long serialVersionUID = 5318897374067731021L;
 
     @Column
@@ -77,4 +84,12 @@ public class OAuthRegisteredService extends RegexRegisteredService {
     public String getFriendlyName() {
         return "OAuth2 Client";
     }
+
+    @JsonIgnore
+    @Override
+    public Map<String, String> getIndexedKeys() {
+        final Map<String, String> keys = new LinkedHashMap<>(super.getIndexedKeys());
+        keys.put(INDEXED_KEY_CLIENT_ID, this.clientId);
+        return keys;
+    }
 }
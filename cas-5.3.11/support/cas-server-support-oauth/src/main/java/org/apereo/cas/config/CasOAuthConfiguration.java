@@ -1,6 +1,7 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.audit.AuditableExecution;
@@ -10,10 +11,13 @@ import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.util.EncryptionOptionalSigningOptionalJwtCryptographyProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthAccessTokenProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthRefreshTokenProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutExecutionPlan;
+import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.services.DenyAllAttributeReleasePolicy;
 import org.apereo.cas.services.RegexRegisteredService;
 import org.apereo.cas.services.ServiceRegistryExecutionPlan;
@@ -69,9 +73,15 @@ import org.apereo.cas.support.oauth.web.views.OAuth20DefaultUserProfileViewRende
 import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.InMemoryOAuth20AccessTokenRevocationList;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenCipherExecutor;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenRevocationList;
+import org.apereo.cas.ticket.accesstoken.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
+import org.apereo.cas.ticket.accesstoken.TicketRegistryOAuth20AccessTokenRevocationList;
 import org.apereo.cas.ticket.code.DefaultOAuthCodeFactory;
 import org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
@@ -105,12 +115,14 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.apereo.cas.support.oauth.OAuth20Constants.BASE_OAUTH20_URL;
 import static org.apereo.cas.support.oauth.OAuth20Constants.CALLBACK_AUTHORIZE_URL_DEFINITION;
@@ -127,7 +139,8 @@ import static org.apereo.cas.support.oauth.OAuth20Constants.CLIENT_SECRET;
 @Configuration("oauthConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @Slf4j
-public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConfigurer, ServiceRegistryExecutionPlanConfigurer {
+public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConfigurer, ServiceRegistryExecutionPlanConfigurer,
+    LogoutExecutionPlanConfigurer {
 
     @Autowired
     @Qualifier("registeredServiceAccessStrategyEnforcer")
@@ -250,7 +263,45 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
     @RefreshScope
     @ConditionalOnMissingBean(name = "defaultAccessTokenFactory")
     public AccessTokenFactory defaultAccessTokenFactory() {
-        return new DefaultAccessTokenFactory(accessTokenIdGenerator(), accessTokenExpirationPolicy());
+        return new DefaultAccessTokenFactory(accessTokenIdGenerator(), accessTokenExpirationPolicy(), oauthJwtAccessTokenEncoder());
+    }
+
+    @Bean
+    @RefreshScope
+    @ConditionalOnMissingBean(name = "oauthAccessTokenCipherExecutor")
+    public CipherExecutor<Serializable, String> oauthAccessTokenCipherExecutor() {
+        final OAuthAccessTokenProperties accessToken = casProperties.getAuthn().getOauth().getAccessToken();
+        if (accessToken.isCreateAsJwt()) {
+            final EncryptionOptionalSigningOptionalJwtCryptographyProperties crypto = accessToken.getCrypto();
+            return new OAuth20AccessTokenCipherExecutor(
+                crypto.getEncryption().getKey(),
+                crypto.getSigning().getKey(),
+                crypto.getAlg(),
+                crypto.isEncryptionEnabled());
+        }
+        return CipherExecutor.noOpOfSerializableToString();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "oauthAccessTokenRevocationList")
+    public OAuth20AccessTokenRevocationList oauthAccessTokenRevocationList() {
+        if (!casProperties.getAuthn().getOauth().getAccessToken().isCreateAsJwt()) {
+            return new InMemoryOAuth20AccessTokenRevocationList();
+        }
+        return new TicketRegistryOAuth20AccessTokenRevocationList(ticketRegistry);
+    }
+
+    @Bean
+    @RefreshScope
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenEncoder")
+    public OAuth20JwtAccessTokenEncoder oauthJwtAccessTokenEncoder() {
+        return new OAuth20JwtAccessTokenEncoder(oauthAccessTokenCipherExecutor(),
+            servicesManager,
+            oauthPrincipalFactory(),
+            webApplicationServiceFactory,
+            oauthAccessTokenRevocationList(),
+            casProperties.getServer().getPrefix(),
+            casProperties.getAuthn().getOauth().getAccessToken().isCreateAsJwt());
     }
 
     @Bean
@@ -321,7 +372,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
     @Bean
     @RefreshScope
     public OAuth20TokenGenerator oauthTokenGenerator() {
-        return new OAuth20DefaultTokenGenerator(defaultAccessTokenFactory(), defaultRefreshTokenFactory(), ticketRegistry);
+        return new OAuth20DefaultTokenGenerator(defaultAccessTokenFactory(), defaultRefreshTokenFactory(),
+            ticketRegistry, oauthJwtAccessTokenEncoder());
     }
 
     @Bean
@@ -395,7 +447,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             oauthUserProfileViewRenderer(),
-            oAuth2UserProfileDataCreator());
+            oAuth2UserProfileDataCreator(),
+            oauthJwtAccessTokenEncoder());
     }
 
     @ConditionalOnMissingBean(name = "oauthAuthorizationResponseBuilders")
@@ -559,6 +612,24 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             new AccessTokenGrantRequestAuditResourceResolver());
     }
 
+    @Override
+    public void configureLogoutExecutionPlan(final LogoutExecutionPlan plan) {
+        if (casProperties.getLogout().isRemoveDescendantTickets() && casProperties.getAuthn().getOauth().getAccessToken().isCreateAsJwt()) {
+            LOGGER.debug("CAS is configured to revoke JWT access tokens that descend from ticket-granting tickets");
+            plan.registerLogoutHandler(ticketGrantingTicket -> {
+                final long expirationTime = System.currentTimeMillis()
+                    + TimeUnit.SECONDS.toMillis(accessTokenExpirationPolicy().getTimeToLive());
+                ticketGrantingTicket.getDescendantTickets()
+                    .stream()
+                    .filter(t -> t.startsWith(AccessToken.PREFIX + '-'))
+                    .forEach(t -> {
+                        LOGGER.debug("Revoking access token [{}] as a descendant of [{}]", t, ticketGrantingTicket.getId());
+                        oauthAccessTokenRevocationList().revoke(t, expirationTime);
+                    });
+            });
+        }
+    }
+
     @Bean
     public Service oauthCallbackService() {
         final String oAuthCallbackUrl = casProperties.getServer().getPrefix()
@@ -100,7 +100,7 @@ public class OAuth20Utils {
      * @return null, or the located {@link OAuthRegisteredService} instance in the service registry.
      */
     public static OAuthRegisteredService getRegisteredOAuthServiceByClientId(final ServicesManager servicesManager, final String clientId) {
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equals(clientId));
+        return servicesManager.findServiceByIndexedKey(OAuthRegisteredService.INDEXED_KEY_CLIENT_ID, clientId, OAuthRegisteredService.class);
     }
 
     /**
@@ -16,6 +16,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.Pac4jUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
@@ -50,6 +51,12 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
      * User profile data creator.
      */
     private final OAuth20UserProfileDataCreator userProfileDataCreator;
+
+    /**
+     * Encoder that verifies access tokens issued as JWTs.
+     */
+    private final OAuth20JwtAccessTokenEncoder jwtAccessTokenEncoder;
+
     private final ResponseEntity expiredAccessTokenResponseEntity;
 
     public OAuth20UserProfileEndpointController(final ServicesManager servicesManager,
@@ -61,11 +68,13 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
                                                 final CasConfigurationProperties casProperties,
                                                 final CookieRetrievingCookieGenerator cookieGenerator,
                                                 final OAuth20UserProfileViewRenderer userProfileViewRenderer,
-                                                final OAuth20UserProfileDataCreator userProfileDataCreator) {
+                                                final OAuth20UserProfileDataCreator userProfileDataCreator,
+                                                final OAuth20JwtAccessTokenEncoder jwtAccessTokenEncoder) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.userProfileViewRenderer = userProfileViewRenderer;
         this.userProfileDataCreator = userProfileDataCreator;
+        this.jwtAccessTokenEncoder = jwtAccessTokenEncoder;
         this.expiredAccessTokenResponseEntity = buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
     }
 
@@ -89,6 +98,15 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             return buildUnauthorizedResponseEntity(OAuth20Constants.MISSING_ACCESS_TOKEN);
         }
 
+        if (this.jwtAccessTokenEncoder.isJwtAccessToken(accessToken)) {
+            final AccessToken jwtAccessTokenTicket = this.jwtAccessTokenEncoder.decode(accessToken);
+            if (jwtAccessTokenTicket == null) {
+                LOGGER.error("JWT access token cannot be verified, or has expired or been revoked");
+                return expiredAccessTokenResponseEntity;
+            }
+            return buildUserProfileResponseEntity(jwtAccessTokenTicket, context);
+        }
+
         final AccessToken accessTokenTicket = this.ticketRegistry.getTicket(accessToken, AccessToken.class);
 
         if (accessTokenTicket == null) {
@@ -110,7 +128,10 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             }
         }
         updateAccessTokenUsage(accessTokenTicket);
+        return buildUserProfileResponseEntity(accessTokenTicket, context);
+    }
 
+    private ResponseEntity<String> buildUserProfileResponseEntity(final AccessToken accessTokenTicket, final J2EContext context) {
         final Map<String, Object> map = this.userProfileDataCreator.createFrom(accessTokenTicket, context);
         final String value = this.userProfileViewRenderer.render(map, accessTokenTicket);
         return new ResponseEntity<>(value, HttpStatus.OK);
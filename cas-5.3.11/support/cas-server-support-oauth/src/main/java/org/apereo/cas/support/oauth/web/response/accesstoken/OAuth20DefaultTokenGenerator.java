@@ -12,6 +12,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.code.OAuthCode;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
@@ -43,6 +44,18 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      */
     protected final TicketRegistry ticketRegistry;
 
+    /**
+     * The encoder of access tokens issued as JWTs, if any.
+     * Such access tokens are not added to the ticket registry.
+     */
+    protected final OAuth20JwtAccessTokenEncoder jwtAccessTokenEncoder;
+
+    public OAuth20DefaultTokenGenerator(final AccessTokenFactory accessTokenFactory,
+                                        final RefreshTokenFactory refreshTokenFactory,
+                                        final TicketRegistry ticketRegistry) {
+        this(accessTokenFactory, refreshTokenFactory, ticketRegistry, null);
+    }
+
     @Override
     public Pair<AccessToken, RefreshToken> generate(final AccessTokenRequestDataHolder holder) {
         LOGGER.debug("Creating refresh token for [{}]", holder.getService());
@@ -56,9 +69,16 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             authn, holder.getTicketGrantingTicket(), holder.getScopes());
 
         LOGGER.debug("Created access token [{}]", accessToken);
-        //将accessToken缓存(redis)
-        addTicketToRegistry(accessToken, holder.getTicketGrantingTicket());
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
+        if (this.jwtAccessTokenEncoder != null && this.jwtAccessTokenEncoder.isJwtAccessToken(accessToken.getId())) {
+            LOGGER.debug("Access token is a JWT and will not be added to the registry");
+            if (holder.getTicketGrantingTicket() != null) {
+                this.ticketRegistry.updateTicket(holder.getTicketGrantingTicket());
+            }
+        } else {
+            //将accessToken缓存(redis)
+            addTicketToRegistry(accessToken, holder.getTicketGrantingTicket());
+            LOGGER.debug("Added access token [{}] to registry", accessToken);
+        }
 
         if (holder.getToken() instanceof OAuthCode) {
             final TicketState codeState = TicketState.class.cast(holder.getToken());
@@ -29,10 +29,17 @@ public class DefaultAccessTokenFactory implements AccessTokenFactory {
     /** ExpirationPolicy for refresh tokens. */
     protected final ExpirationPolicy expirationPolicy;
 
+    /** Encoder for access tokens issued as JWTs, or null if access tokens are kept in the ticket registry. */
+    protected final OAuth20JwtAccessTokenEncoder jwtAccessTokenEncoder;
+
     public DefaultAccessTokenFactory(final ExpirationPolicy expirationPolicy) {
         this(new DefaultUniqueTicketIdGenerator(), expirationPolicy);
     }
 
+    public DefaultAccessTokenFactory(final UniqueTicketIdGenerator accessTokenIdGenerator, final ExpirationPolicy expirationPolicy) {
+        this(accessTokenIdGenerator, expirationPolicy, null);
+    }
+
     @Override
     public AccessToken create(final Service service, final Authentication authentication,
                               final TicketGrantingTicket ticketGrantingTicket, final Collection<String> scopes) {
@@ -42,6 +49,11 @@ public class DefaultAccessTokenFactory implements AccessTokenFactory {
         if (ticketGrantingTicket != null) {
             ticketGrantingTicket.getDescendantTickets().add(at.getId());
         }
+        if (this.jwtAccessTokenEncoder != null && this.jwtAccessTokenEncoder.isEnabled()) {
+            LOGGER.debug("Issuing access token [{}] as a JWT", codeId);
+            return new AccessTokenImpl(this.jwtAccessTokenEncoder.encode(at), service, authentication,
+                this.expirationPolicy, ticketGrantingTicket, scopes);
+        }
         return at;
     }
 
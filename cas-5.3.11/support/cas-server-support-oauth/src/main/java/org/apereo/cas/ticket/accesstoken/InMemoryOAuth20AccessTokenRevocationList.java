@@ -0,0 +1,60 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link InMemoryOAuth20AccessTokenRevocationList} that keeps revoked tokens
+ * in memory, each until its expiration time, after which the entry is evicted.
+ * Revocations are only visible to the node that recorded them.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class InMemoryOAuth20AccessTokenRevocationList implements OAuth20AccessTokenRevocationList {
+
+    private final Cache<String, Long> revokedTokens = Caffeine.newBuilder()
+        .expireAfter(new RevokedTokenExpiry())
+        .build();
+
+    @Override
+    public void revoke(final String tokenId, final long expirationTime) {
+        if (expirationTime > System.currentTimeMillis()) {
+            LOGGER.debug("Revoking access token [{}] until [{}]", tokenId, expirationTime);
+            this.revokedTokens.put(tokenId, expirationTime);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(final String tokenId) {
+        final Long expiration = this.revokedTokens.getIfPresent(tokenId);
+        return expiration != null && expiration > System.currentTimeMillis();
+    }
+
+    /**
+     * Evicts each revoked token once the token itself would have expired.
+     */
+    private static class RevokedTokenExpiry implements Expiry<String, Long> {
+        @Override
+        public long expireAfterCreate(final String tokenId, final Long expirationTime, final long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expirationTime - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String tokenId, final Long expirationTime,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(tokenId, expirationTime, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String tokenId, final Long expirationTime,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.cipher.BaseStringCipherExecutor;
+
+/**
+ * This is {@link OAuth20AccessTokenCipherExecutor} that signs,
+ * and optionally encrypts, access tokens issued as JWTs.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class OAuth20AccessTokenCipherExecutor extends BaseStringCipherExecutor {
+    /**
+     * Instantiates a new access token cipher executor.
+     * Signing is always enabled, as access tokens are trusted based on their signature.
+     *
+     * @param secretKeyEncryption                  the secret key encryption
+     * @param secretKeySigning                     the secret key signing
+     * @param contentEncryptionAlgorithmIdentifier the content encryption algorithm identifier
+     * @param encryptionEnabled                    the encryption enabled
+     */
+    public OAuth20AccessTokenCipherExecutor(final String secretKeyEncryption, final String secretKeySigning,
+                                            final String contentEncryptionAlgorithmIdentifier,
+                                            final boolean encryptionEnabled) {
+        super(secretKeyEncryption, secretKeySigning, contentEncryptionAlgorithmIdentifier, encryptionEnabled, true);
+    }
+
+    @Override
+    public String getName() {
+        return "OAuth Access Token";
+    }
+
+    @Override
+    protected String getEncryptionKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.encryption.key";
+    }
+
+    @Override
+    protected String getSigningKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.signing.key";
+    }
+}
@@ -0,0 +1,28 @@
+package org.apereo.cas.ticket.accesstoken;
+
+/**
+ * This is {@link OAuth20AccessTokenRevocationList} that tracks JWT access tokens
+ * revoked before their expiration. Entries only need to be kept until the revoked token
+ * would have expired on its own, which keeps the list compact.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public interface OAuth20AccessTokenRevocationList {
+
+    /**
+     * Revoke the access token.
+     *
+     * @param tokenId        the token id, as found in the {@code jti} claim
+     * @param expirationTime the time, in epoch milliseconds, after which the token expires on its own
+     */
+    void revoke(String tokenId, long expirationTime);
+
+    /**
+     * Is the access token revoked?
+     *
+     * @param tokenId the token id
+     * @return true if revoked
+     */
+    boolean isRevoked(String tokenId);
+}
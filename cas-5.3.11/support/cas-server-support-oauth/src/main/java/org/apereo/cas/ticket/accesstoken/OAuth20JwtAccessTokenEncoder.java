@@ -0,0 +1,245 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenEncoder} that turns access tokens into signed JWTs
+ * carrying the principal, scopes, client id and expiration, and restores them from such JWTs.
+ * Tokens are validated by verifying their signature, expiration and the revocation list,
+ * without consulting the ticket registry. The original access token id is kept as the {@code jti} claim.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OAuth20JwtAccessTokenEncoder {
+    private static final String CLAIM_SERVICE = "service";
+
+    private static final String CLAIM_AUTH_TIME = "auth_time";
+
+    private static final String CLAIM_ATTRIBUTES = "attributes";
+
+    private static final String CLAIM_AUTHENTICATION_ATTRIBUTES = "authentication_attributes";
+
+    private final CipherExecutor<Serializable, String> cipherExecutor;
+
+    private final ServicesManager servicesManager;
+
+    private final PrincipalFactory principalFactory;
+
+    private final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory;
+
+    private final OAuth20AccessTokenRevocationList revocationList;
+
+    private final String issuer;
+
+    /**
+     * Whether access tokens are issued as JWTs.
+     */
+    @Getter
+    private final boolean enabled;
+
+    /**
+     * Whether JWT access tokens are enabled and the token looks like a JWT access token
+     * rather than the identifier of an access token kept in the ticket registry.
+     *
+     * @param token the token
+     * @return true if the token is a JWT
+     */
+    public boolean isJwtAccessToken(final String token) {
+        return this.enabled
+            && StringUtils.isNotBlank(token)
+            && !token.startsWith(AccessToken.PREFIX + '-')
+            && StringUtils.countMatches(token, '.') >= 2;
+    }
+
+    /**
+     * Encode the access token as a signed JWT.
+     *
+     * @param accessToken the access token
+     * @return the JWT
+     */
+    public String encode(final AccessToken accessToken) {
+        final Authentication authentication = accessToken.getAuthentication();
+        final Principal principal = authentication.getPrincipal();
+        final Service service = accessToken.getService();
+
+        final JwtClaims claims = new JwtClaims();
+        claims.setJwtId(accessToken.getId());
+        claims.setIssuer(this.issuer);
+        claims.setIssuedAtToNow();
+        final NumericDate expiration = NumericDate.now();
+        expiration.addSeconds(accessToken.getExpirationPolicy().getTimeToLive());
+        claims.setExpirationTime(expiration);
+        claims.setSubject(principal.getId());
+        claims.setClaim(CLAIM_AUTH_TIME, authentication.getAuthenticationDate().toEpochSecond());
+        claims.setClaim(CLAIM_SERVICE, service.getId());
+
+        final RegisteredService registeredService = this.servicesManager.findServiceBy(service);
+        if (registeredService instanceof OAuthRegisteredService) {
+            final String clientId = ((OAuthRegisteredService) registeredService).getClientId();
+            claims.setAudience(clientId);
+            claims.setClaim(OAuth20Constants.CLIENT_ID, clientId);
+        }
+        claims.setClaim(OAuth20Constants.SCOPE, String.join(" ", accessToken.getScopes()));
+        claims.setClaim(CLAIM_ATTRIBUTES, toClaimValue(principal.getAttributes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_ATTRIBUTES, toClaimValue(authentication.getAttributes()));
+
+        LOGGER.debug("Encoding access token [{}] as a JWT for [{}]", accessToken.getId(), service.getId());
+        return this.cipherExecutor.encode(claims.toJson());
+    }
+
+    /**
+     * Restore the access token from the JWT.
+     * The restored token carries the JWT as its id, and expires along with the JWT.
+     *
+     * @param token the JWT
+     * @return the access token, or null if the JWT cannot be verified, has expired or is revoked
+     */
+    public AccessToken decode(final String token) {
+        final JwtClaims claims = verify(token);
+        if (claims == null) {
+            return null;
+        }
+        try {
+            final long timeToLive = TimeUnit.MILLISECONDS.toSeconds(
+                claims.getExpirationTime().getValueInMillis() - System.currentTimeMillis());
+            final Principal principal = this.principalFactory.createPrincipal(claims.getSubject(),
+                getClaimValueAsMap(claims, CLAIM_ATTRIBUTES));
+            final ZonedDateTime authenticationDate = ZonedDateTime.ofInstant(
+                Instant.ofEpochSecond(claims.getClaimValue(CLAIM_AUTH_TIME, Long.class)), ZoneOffset.UTC);
+            final Authentication authentication = DefaultAuthenticationBuilder.newInstance()
+                .setPrincipal(principal)
+                .setAuthenticationDate(authenticationDate)
+                .setAttributes(getClaimValueAsMap(claims, CLAIM_AUTHENTICATION_ATTRIBUTES))
+                .build();
+            final Service service = this.webApplicationServiceServiceFactory.createService(claims.getStringClaimValue(CLAIM_SERVICE));
+            final Collection<String> scopes = Arrays.stream(StringUtils.split(
+                StringUtils.defaultString(claims.getStringClaimValue(OAuth20Constants.SCOPE)), ' '))
+                .collect(Collectors.toSet());
+            return new AccessTokenImpl(token, service, authentication,
+                new HardTimeoutExpirationPolicy(Math.max(timeToLive, 1)), null, scopes);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to restore access token from JWT: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Revoke the JWT access token until it expires.
+     *
+     * @param token the JWT
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revoke(final String token) {
+        final JwtClaims claims = verify(token);
+        if (claims == null) {
+            return false;
+        }
+        try {
+            this.revocationList.revoke(claims.getJwtId(), claims.getExpirationTime().getValueInMillis());
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to revoke JWT access token: [{}]", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Verify the JWT signature, issuer, expiration and revocation status.
+     *
+     * @param token the JWT
+     * @return the claims, or null if the token is not valid
+     */
+    private JwtClaims verify(final String token) {
+        if (!isJwtAccessToken(token)) {
+            return null;
+        }
+        try {
+            final String json = this.cipherExecutor.decode(token);
+            if (StringUtils.isBlank(json)) {
+                LOGGER.warn("Unable to verify the signature of the JWT access token");
+                return null;
+            }
+            final JwtClaims claims = JwtClaims.parse(json);
+            if (!StringUtils.equals(this.issuer, claims.getIssuer())) {
+                LOGGER.warn("JWT access token [{}] was not issued by [{}]", claims.getJwtId(), this.issuer);
+                return null;
+            }
+            if (claims.getExpirationTime() == null || claims.getExpirationTime().isBefore(NumericDate.now())) {
+                LOGGER.debug("JWT access token [{}] has expired", claims.getJwtId());
+                return null;
+            }
+            if (this.revocationList.isRevoked(claims.getJwtId())) {
+                LOGGER.debug("JWT access token [{}] has been revoked", claims.getJwtId());
+                return null;
+            }
+            return claims;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to verify JWT access token: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static Map<String, Object> getClaimValueAsMap(final JwtClaims claims, final String name) {
+        final Object value = claims.getClaimValue(name);
+        final Map<String, Object> results = new LinkedHashMap<>();
+        if (value instanceof Map) {
+            ((Map<?, ?>) value).forEach((key, v) -> results.put(key.toString(), v));
+        }
+        return results;
+    }
+
+    /**
+     * Convert values into types that can be safely serialized as JSON claims.
+     *
+     * @param value the value
+     * @return the claim value
+     */
+    private static Object toClaimValue(final Object value) {
+        if (value instanceof Map) {
+            final Map<String, Object> results = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, v) -> results.put(key.toString(), toClaimValue(v)));
+            return results;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(OAuth20JwtAccessTokenEncoder::toClaimValue).collect(Collectors.toList());
+        }
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return value.toString();
+    }
+}
@@ -54,6 +54,13 @@ public class OAuthAccessTokenExpirationPolicy extends AbstractCasExpirationPolic
         return expired;
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime hardExpirationTime = ticketState.getCreationTime().plus(this.maxTimeToLiveInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime idleExpirationTime = ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        return hardExpirationTime.isBefore(idleExpirationTime) ? hardExpirationTime : idleExpirationTime;
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.maxTimeToLiveInSeconds;
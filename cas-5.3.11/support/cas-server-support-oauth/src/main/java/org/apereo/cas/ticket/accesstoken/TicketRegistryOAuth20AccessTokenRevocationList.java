@@ -0,0 +1,85 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link TicketRegistryOAuth20AccessTokenRevocationList} that records revoked tokens
+ * in the ticket registry, so that a token revoked on one node is rejected by all nodes that share the registry.
+ * Each revocation is stored as a transient session ticket keyed by the token id, which expires along with the token.
+ * Validation only consults revocations kept in memory; revocations recorded by other nodes are copied
+ * from the registry into memory periodically, so they take effect on this node within the synchronization interval.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TicketRegistryOAuth20AccessTokenRevocationList implements OAuth20AccessTokenRevocationList {
+    private static final String TICKET_ID_PREFIX = TransientSessionTicket.PREFIX + "-REVOKED-";
+
+    private static final String EXPIRATION_TIME_PROPERTY = "expirationTime";
+
+    private final TicketRegistry ticketRegistry;
+
+    private final OAuth20AccessTokenRevocationList localRevocationList;
+
+    public TicketRegistryOAuth20AccessTokenRevocationList(final TicketRegistry ticketRegistry) {
+        this(ticketRegistry, new InMemoryOAuth20AccessTokenRevocationList());
+    }
+
+    @Override
+    public void revoke(final String tokenId, final long expirationTime) {
+        final long remaining = expirationTime - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+        final long timeToLive = Math.max(1, (long) Math.ceil(remaining / (double) TimeUnit.SECONDS.toMillis(1)));
+        final TransientSessionTicket ticket = new TransientSessionTicketImpl(getTicketId(tokenId),
+            new HardTimeoutExpirationPolicy(timeToLive), null);
+        ticket.put(EXPIRATION_TIME_PROPERTY, expirationTime);
+        LOGGER.debug("Recording revoked access token [{}] in the ticket registry until [{}]", tokenId, expirationTime);
+        this.ticketRegistry.addTicket(ticket);
+        this.localRevocationList.revoke(tokenId, expirationTime);
+    }
+
+    @Override
+    public boolean isRevoked(final String tokenId) {
+        return this.localRevocationList.isRevoked(tokenId);
+    }
+
+    /**
+     * Copy revocations recorded in the ticket registry, possibly by other nodes, into memory.
+     *
+     * @return the number of revocations found in the registry
+     */
+    @Scheduled(initialDelayString = "${cas.authn.oauth.accessToken.revocation.schedule.startDelay:PT5S}",
+        fixedDelayString = "${cas.authn.oauth.accessToken.revocation.schedule.repeatInterval:PT15S}")
+    public int synchronize() {
+        final AtomicInteger count = new AtomicInteger();
+        this.ticketRegistry.getTickets(ticket -> ticket.getId().startsWith(TICKET_ID_PREFIX) && !ticket.isExpired())
+            .filter(TransientSessionTicket.class::isInstance)
+            .map(TransientSessionTicket.class::cast)
+            .forEach(ticket -> {
+                final Long expirationTime = ticket.get(EXPIRATION_TIME_PROPERTY, Long.class);
+                if (expirationTime != null) {
+                    this.localRevocationList.revoke(ticket.getId().substring(TICKET_ID_PREFIX.length()), expirationTime);
+                    count.incrementAndGet();
+                }
+            });
+        LOGGER.trace("Synchronized [{}] revoked access tokens from the ticket registry", count.get());
+        return count.get();
+    }
+
+    private static String getTicketId(final String tokenId) {
+        return TICKET_ID_PREFIX + tokenId;
+    }
+}
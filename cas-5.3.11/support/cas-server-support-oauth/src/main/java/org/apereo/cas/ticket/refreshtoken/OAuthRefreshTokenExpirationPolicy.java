@@ -52,6 +52,11 @@ public class OAuthRefreshTokenExpirationPolicy extends AbstractCasExpirationPoli
         return expired;
     }
 
+    @Override
+    public ZonedDateTime getMaximumExpirationTime(final TicketState ticketState) {
+        return ticketState.getCreationTime().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.timeToKillInSeconds;
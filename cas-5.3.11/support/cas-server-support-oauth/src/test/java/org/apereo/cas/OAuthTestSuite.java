@@ -16,8 +16,10 @@ import org.apereo.cas.support.oauth.web.audit.AccessTokenGrantRequestAuditResour
 import org.apereo.cas.support.oauth.web.audit.OAuth20UserProfileDataAuditResourceResolverTests;
 import org.apereo.cas.support.oauth.web.views.OAuth20DefaultUserProfileViewRendererFlatTests;
 import org.apereo.cas.support.oauth.web.views.OAuth20DefaultUserProfileViewRendererNestedTests;
+import org.apereo.cas.ticket.accesstoken.OAuth20JwtAccessTokenEncoderTests;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicyTests;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenSovereignExpirationPolicyTests;
+import org.apereo.cas.ticket.accesstoken.TicketRegistryOAuth20AccessTokenRevocationListTests;
 import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenExpirationPolicyTests;
 import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenSovereignExpirationPolicyTests;
 import org.junit.runner.RunWith;
@@ -49,7 +51,9 @@ import org.junit.runners.Suite;
     OAuth20DefaultUserProfileViewRendererFlatTests.class,
     OAuth20DefaultUserProfileViewRendererNestedTests.class,
     AccessTokenGrantRequestAuditResourceResolverTests.class,
-    OAuth20UserProfileDataAuditResourceResolverTests.class
+    OAuth20UserProfileDataAuditResourceResolverTests.class,
+    OAuth20JwtAccessTokenEncoderTests.class,
+    TicketRegistryOAuth20AccessTokenRevocationListTests.class
 })
 @Slf4j
 public class OAuthTestSuite {
@@ -37,6 +37,7 @@ public class OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidatorTe
                 CollectionUtils.wrapHashSet(OAuth20GrantTypes.AUTHORIZATION_CODE.getType()));
 
         when(serviceManager.getAllServices()).thenReturn(CollectionUtils.wrapList(service));
+        when(serviceManager.findServiceByIndexedKey(anyString(), anyString(), any())).thenCallRealMethod();
         final OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidator v =
             new OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidator(serviceManager, new WebApplicationServiceFactory(),
                 new RegisteredServiceAccessStrategyAuditableEnforcer());
@@ -94,6 +94,7 @@ public class OAuth20AuthorizationCodeGrantTypeTokenRequestValidatorTests {
                         supportingService,
                         nonSupportingService,
                         promiscuousService));
+        when(serviceManager.findServiceByIndexedKey(anyString(), anyString(), any())).thenCallRealMethod();
         this.validator = new OAuth20AuthorizationCodeGrantTypeTokenRequestValidator(serviceManager,
                 ticketRegistry, new RegisteredServiceAccessStrategyAuditableEnforcer(),
                 new WebApplicationServiceFactory());
@@ -60,6 +60,7 @@ public class OAuth20PasswordGrantTypeTokenRequestValidatorTests {
 
         when(serviceManager.getAllServices()).thenReturn(CollectionUtils.wrapList(
                 supportingService, nonSupportingService, promiscuousService));
+        when(serviceManager.findServiceByIndexedKey(anyString(), anyString(), any())).thenCallRealMethod();
 
         this.validator = new OAuth20PasswordGrantTypeTokenRequestValidator(new RegisteredServiceAccessStrategyAuditableEnforcer(),
             serviceManager, new WebApplicationServiceFactory());
@@ -69,6 +69,7 @@ public class OAuth20RefreshTokenGrantTypeTokenRequestValidatorTests {
                 RequestValidatorTestUtils.SHARED_SECRET);
         when(serviceManager.getAllServices()).thenReturn(CollectionUtils.wrapList(supportingService,
                 nonSupportingService, promiscuousService));
+        when(serviceManager.findServiceByIndexedKey(anyString(), anyString(), any())).thenCallRealMethod();
 
         this.ticketRegistry = mock(TicketRegistry.class);
 
@@ -0,0 +1,100 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenEncoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class OAuth20JwtAccessTokenEncoderTests {
+    private static final String ISSUER = "https://sso.example.org/cas";
+
+    private OAuth20JwtAccessTokenEncoder encoder;
+
+    @Before
+    public void initialize() {
+        final OAuthRegisteredService registeredService = new OAuthRegisteredService();
+        registeredService.setClientId("clientid");
+        final ServicesManager servicesManager = mock(ServicesManager.class);
+        when(servicesManager.findServiceBy(any(Service.class))).thenReturn(registeredService);
+
+        this.encoder = new OAuth20JwtAccessTokenEncoder(
+            new OAuth20AccessTokenCipherExecutor(null, null, CipherExecutor.DEFAULT_CONTENT_ENCRYPTION_ALGORITHM, false),
+            servicesManager, PrincipalFactoryUtils.newPrincipalFactory(), new WebApplicationServiceFactory(),
+            new InMemoryOAuth20AccessTokenRevocationList(), ISSUER, true);
+    }
+
+    @Test
+    public void verifyAccessTokenIsIssuedAndRestoredAsJwt() {
+        final Collection<String> descendants = new HashSet<>();
+        final TicketGrantingTicket tgt = mock(TicketGrantingTicket.class);
+        when(tgt.getDescendantTickets()).thenReturn(descendants);
+        final AccessToken accessToken = newAccessTokenFactory(this.encoder).create(RegisteredServiceTestUtils.getService(),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), tgt, Arrays.asList("profile", "email"));
+
+        assertTrue(this.encoder.isJwtAccessToken(accessToken.getId()));
+        assertTrue(descendants.stream().anyMatch(id -> id.startsWith(AccessToken.PREFIX + '-')));
+
+        final AccessToken restored = this.encoder.decode(accessToken.getId());
+        assertNotNull(restored);
+        assertEquals(accessToken.getId(), restored.getId());
+        assertEquals("casuser", restored.getAuthentication().getPrincipal().getId());
+        assertEquals(RegisteredServiceTestUtils.getService().getId(), restored.getService().getId());
+        assertTrue(restored.getScopes().containsAll(Arrays.asList("profile", "email")));
+        assertFalse(restored.isExpired());
+    }
+
+    @Test
+    public void verifyTamperedAccessTokenIsRejected() {
+        final AccessToken accessToken = newAccessTokenFactory(this.encoder).create(RegisteredServiceTestUtils.getService(),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), null, Arrays.asList("profile"));
+        final String[] parts = accessToken.getId().split("\\.");
+        final String tampered = parts[0] + '.' + parts[1] + "x." + parts[2];
+        assertNull(this.encoder.decode(tampered));
+    }
+
+    @Test
+    public void verifyRevokedAccessTokenIsRejected() {
+        final AccessToken accessToken = newAccessTokenFactory(this.encoder).create(RegisteredServiceTestUtils.getService(),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), null, Arrays.asList("profile"));
+        assertTrue(this.encoder.revoke(accessToken.getId()));
+        assertNull(this.encoder.decode(accessToken.getId()));
+        assertFalse(this.encoder.revoke(accessToken.getId()));
+    }
+
+    @Test
+    public void verifyAccessTokenIsNotJwtWhenDisabled() {
+        final OAuth20JwtAccessTokenEncoder disabled = new OAuth20JwtAccessTokenEncoder(CipherExecutor.noOpOfSerializableToString(),
+            mock(ServicesManager.class), PrincipalFactoryUtils.newPrincipalFactory(), new WebApplicationServiceFactory(),
+            new InMemoryOAuth20AccessTokenRevocationList(), ISSUER, false);
+        final AccessToken accessToken = newAccessTokenFactory(disabled).create(RegisteredServiceTestUtils.getService(),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), null, Arrays.asList("profile"));
+        assertTrue(accessToken.getId().startsWith(AccessToken.PREFIX + '-'));
+        assertFalse(disabled.isJwtAccessToken("{\"iss\":\"" + ISSUER + "\"}.a.b"));
+    }
+
+    private static AccessTokenFactory newAccessTokenFactory(final OAuth20JwtAccessTokenEncoder encoder) {
+        return new DefaultAccessTokenFactory(new DefaultUniqueTicketIdGenerator(), new HardTimeoutExpirationPolicy(60), encoder);
+    }
+}
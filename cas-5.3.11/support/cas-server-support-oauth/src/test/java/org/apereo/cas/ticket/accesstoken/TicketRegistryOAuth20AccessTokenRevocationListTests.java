@@ -0,0 +1,66 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link TicketRegistryOAuth20AccessTokenRevocationListTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class TicketRegistryOAuth20AccessTokenRevocationListTests {
+
+    @Test
+    public void verifyRevocationIsSharedThroughTicketRegistry() {
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        final TicketRegistryOAuth20AccessTokenRevocationList node1 = new TicketRegistryOAuth20AccessTokenRevocationList(ticketRegistry);
+        final TicketRegistryOAuth20AccessTokenRevocationList node2 = new TicketRegistryOAuth20AccessTokenRevocationList(ticketRegistry);
+
+        assertFalse(node2.isRevoked("AT-1-token"));
+        node1.revoke("AT-1-token", System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1));
+        assertTrue(node1.isRevoked("AT-1-token"));
+        assertFalse(node2.isRevoked("AT-1-token"));
+        assertEquals(1, node2.synchronize());
+        assertTrue(node2.isRevoked("AT-1-token"));
+
+        ticketRegistry.deleteAll();
+        assertTrue(node2.isRevoked("AT-1-token"));
+        assertFalse(node2.isRevoked("AT-2-token"));
+    }
+
+    @Test
+    public void verifyExpiredTokenIsNotRecorded() {
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        final OAuth20AccessTokenRevocationList revocationList = new TicketRegistryOAuth20AccessTokenRevocationList(ticketRegistry);
+        revocationList.revoke("AT-1-token", System.currentTimeMillis() - 1);
+        assertFalse(revocationList.isRevoked("AT-1-token"));
+        assertTrue(ticketRegistry.getTickets().isEmpty());
+    }
+
+    @Test
+    public void verifyValidationDoesNotReadTicketRegistry() {
+        final TicketRegistry ticketRegistry = mock(TicketRegistry.class);
+        final OAuth20AccessTokenRevocationList revocationList = new TicketRegistryOAuth20AccessTokenRevocationList(ticketRegistry);
+        assertFalse(revocationList.isRevoked("AT-1-token"));
+        revocationList.revoke("AT-1-token", System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1));
+        assertTrue(revocationList.isRevoked("AT-1-token"));
+        verify(ticketRegistry).addTicket(any());
+        verifyNoMoreInteractions(ticketRegistry);
+    }
+
+    @Test
+    public void verifyInMemoryRevocationExpires() throws Exception {
+        final OAuth20AccessTokenRevocationList revocationList = new InMemoryOAuth20AccessTokenRevocationList();
+        revocationList.revoke("AT-1-token", System.currentTimeMillis() + 200);
+        assertTrue(revocationList.isRevoked("AT-1-token"));
+        Thread.sleep(300);
+        assertFalse(revocationList.isRevoked("AT-1-token"));
+    }
+}
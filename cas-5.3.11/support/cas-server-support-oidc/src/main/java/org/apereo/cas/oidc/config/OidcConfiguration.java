@@ -25,6 +25,7 @@ import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettings;
 import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettingsFactory;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequest;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequestSerializer;
+import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystore;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoader;
@@ -71,6 +72,7 @@ import org.apereo.cas.support.oauth.web.views.OAuth20CallbackAuthorizeViewResolv
 import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
@@ -221,6 +223,10 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
     @Qualifier("defaultAccessTokenFactory")
     private AccessTokenFactory defaultAccessTokenFactory;
 
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuth20JwtAccessTokenEncoder oauthJwtAccessTokenEncoder;
+
     @Autowired
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
@@ -339,7 +345,8 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             profileScopeToAttributesFilter(), casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             centralAuthenticationService,
-            registeredServiceAccessStrategyEnforcer);
+            registeredServiceAccessStrategyEnforcer,
+            oauthJwtAccessTokenEncoder);
     }
 
     @RefreshScope
@@ -350,7 +357,8 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             oidcPrincipalFactory(), webApplicationServiceFactory,
             profileScopeToAttributesFilter(), casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer);
+            registeredServiceAccessStrategyEnforcer,
+            oauthJwtAccessTokenEncoder);
     }
 
     @RefreshScope
@@ -389,7 +397,8 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             defaultAccessTokenFactory,
             oidcPrincipalFactory(), webApplicationServiceFactory,
             profileScopeToAttributesFilter(), casProperties,
-            ticketGrantingTicketCookieGenerator.getIfAvailable());
+            ticketGrantingTicketCookieGenerator.getIfAvailable(),
+            oidcDefaultJsonWebKeystore());
     }
 
     @Autowired
@@ -413,7 +422,8 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             profileScopeToAttributesFilter(),
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
-            oauthUserProfileViewRenderer, oidcUserProfileDataCreator());
+            oauthUserProfileViewRenderer, oidcUserProfileDataCreator(),
+            oauthJwtAccessTokenEncoder);
     }
 
     @Bean
@@ -474,10 +484,15 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
 
     @Bean
     public OidcIdTokenSigningAndEncryptionService oidcTokenSigningAndEncryptionService() {
-        final OidcProperties oidc = casProperties.getAuthn().getOidc();
-        return new OidcIdTokenSigningAndEncryptionService(oidcDefaultJsonWebKeystoreCache(),
-            oidcServiceJsonWebKeystoreCache(),
-            oidc.getIssuer());
+        return new OidcIdTokenSigningAndEncryptionService(oidcDefaultJsonWebKeystore(),
+            oidcServiceJsonWebKeystoreCache());
+    }
+
+    @RefreshScope
+    @Bean
+    @ConditionalOnMissingBean(name = "oidcDefaultJsonWebKeystore")
+    public OidcDefaultJsonWebKeystore oidcDefaultJsonWebKeystore() {
+        return new OidcDefaultJsonWebKeystore(casProperties.getAuthn().getOidc().getJwksFile());
     }
 
     @Bean
@@ -502,7 +517,7 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
 
     @Bean
     public OidcDefaultJsonWebKeystoreCacheLoader oidcDefaultJsonWebKeystoreCacheLoader() {
-        return new OidcDefaultJsonWebKeystoreCacheLoader(casProperties.getAuthn().getOidc().getJwksFile());
+        return new OidcDefaultJsonWebKeystoreCacheLoader(oidcDefaultJsonWebKeystore());
     }
 
     @Bean
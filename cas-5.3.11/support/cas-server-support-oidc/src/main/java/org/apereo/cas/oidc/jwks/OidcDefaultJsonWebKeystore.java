@@ -0,0 +1,155 @@
+package org.apereo.cas.oidc.jwks;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * This is {@link OidcDefaultJsonWebKeystore} that holds the default CAS keystore in memory,
+ * parsed once along with its signing key and its public serialized form.
+ * A keystore kept on the file system is checked for modifications on access, and is reloaded
+ * when its last-modified timestamp changes; other resources are loaded once. The keys used
+ * to sign tokens and the keys published to relying parties always come from the same copy of the keystore.
+ * A keystore that cannot be loaded is not kept, and loading it is attempted again on the next access.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class OidcDefaultJsonWebKeystore {
+    private final Resource jwksFile;
+
+    private final boolean watchable;
+
+    private final Object lock = new Object();
+
+    private volatile LoadedJsonWebKeystore keystore;
+
+    public OidcDefaultJsonWebKeystore(final Resource jwksFile) {
+        this.jwksFile = jwksFile;
+        this.watchable = isFile(jwksFile);
+    }
+
+    /**
+     * Gets the current copy of the keystore, reloading it if the keystore resource has changed.
+     *
+     * @return the keystore
+     * @throws Exception if the keystore cannot be read or parsed
+     */
+    public LoadedJsonWebKeystore getKeystore() throws Exception {
+        final long lastModified = getLastModified();
+        final LoadedJsonWebKeystore current = this.keystore;
+        if (current != null && current.getLastModified() == lastModified) {
+            return current;
+        }
+        synchronized (this.lock) {
+            if (this.keystore == null || this.keystore.getLastModified() != lastModified) {
+                LOGGER.debug("Loading default JSON web keystore from [{}]", this.jwksFile);
+                this.keystore = load(lastModified);
+            }
+            return this.keystore;
+        }
+    }
+
+    /**
+     * Gets the signing key, which is the first key of the keystore.
+     *
+     * @return the signing key
+     */
+    public Optional<RsaJsonWebKey> getSigningKey() {
+        try {
+            return Optional.ofNullable(getKeystore().getSigningKey());
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to load JSON web keystore from [{}]: [{}]", this.jwksFile, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    private long getLastModified() {
+        if (!this.watchable) {
+            return 0;
+        }
+        try {
+            return this.jwksFile.lastModified();
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    private static boolean isFile(final Resource resource) {
+        try {
+            return resource != null && resource.isFile();
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private LoadedJsonWebKeystore load(final long lastModified) throws Exception {
+        final String json = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
+        LOGGER.debug("Retrieved JSON web keystore from [{}]", this.jwksFile);
+        final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(json);
+        final String publicJson = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        return new LoadedJsonWebKeystore(lastModified, getSigningKeyFromJwks(jsonWebKeySet), publicJson);
+    }
+
+    private static RsaJsonWebKey getSigningKeyFromJwks(final JsonWebKeySet jwks) {
+        if (jwks.getJsonWebKeys().isEmpty()) {
+            LOGGER.warn("No JSON web keys are available in the keystore");
+            return null;
+        }
+        final long badKeysCount = jwks.getJsonWebKeys().stream().filter(k ->
+            StringUtils.isBlank(k.getAlgorithm())
+                && StringUtils.isBlank(k.getKeyId())
+                && StringUtils.isBlank(k.getKeyType())).count();
+        if (badKeysCount == jwks.getJsonWebKeys().size()) {
+            LOGGER.warn("No valid JSON web keys could be found");
+            return null;
+        }
+
+        final JsonWebKey first = jwks.getJsonWebKeys().get(0);
+        if (!(first instanceof RsaJsonWebKey)) {
+            LOGGER.warn("Located JSON web key [{}] is not an RSA key", first);
+            return null;
+        }
+        final RsaJsonWebKey key = (RsaJsonWebKey) first;
+        if (StringUtils.isBlank(key.getAlgorithm())) {
+            LOGGER.warn("Located JSON web key [{}] has no algorithm defined", key);
+        }
+        if (StringUtils.isBlank(key.getKeyId())) {
+            LOGGER.warn("Located JSON web key [{}] has no key id defined", key);
+        }
+        if (key.getPrivateKey() == null) {
+            LOGGER.warn("Located JSON web key [{}] has no private key", key);
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * A copy of the keystore as loaded from the keystore resource.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class LoadedJsonWebKeystore {
+        private final long lastModified;
+
+        private final RsaJsonWebKey signingKey;
+
+        /**
+         * The keystore serialized as JSON, without private keys.
+         */
+        private final String publicJson;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystore;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.jose4j.jwa.AlgorithmConstraints;
 import org.jose4j.jwe.JsonWebEncryption;
@@ -24,9 +25,8 @@ import java.util.Optional;
 @Slf4j
 @RequiredArgsConstructor
 public class OidcIdTokenSigningAndEncryptionService {
-    private final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache;
+    private final OidcDefaultJsonWebKeystore defaultJsonWebKeystore;
     private final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
-    private final String issuer;
 
     /**
      * Sign id token claim string.
@@ -80,7 +80,7 @@ public class OidcIdTokenSigningAndEncryptionService {
     }
 
     private String signIdToken(final OidcRegisteredService svc, final JsonWebSignature jws) throws Exception {
-        final Optional<RsaJsonWebKey> jwks = defaultJsonWebKeystoreCache.get(this.issuer);
+        final Optional<RsaJsonWebKey> jwks = this.defaultJsonWebKeystore.getSigningKey();
         if (!jwks.isPresent()) {
             throw new IllegalArgumentException("Service " + svc.getServiceId()
                 + " with client id " + svc.getClientId()
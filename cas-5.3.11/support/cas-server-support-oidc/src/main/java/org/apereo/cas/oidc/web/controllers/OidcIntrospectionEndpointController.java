@@ -22,6 +22,7 @@ import org.apereo.cas.support.oauth.util.OAuth20Utils;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpRequestUtils;
@@ -55,6 +56,7 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
 
     private final CentralAuthenticationService centralAuthenticationService;
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
+    private final OAuth20JwtAccessTokenEncoder jwtAccessTokenEncoder;
 
     public OidcIntrospectionEndpointController(final ServicesManager servicesManager,
             final TicketRegistry ticketRegistry, final AccessTokenFactory accessTokenFactory,
@@ -63,11 +65,13 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
             final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
             final CasConfigurationProperties casProperties, final CookieRetrievingCookieGenerator cookieGenerator,
             final CentralAuthenticationService centralAuthenticationService,
-            final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+            final AuditableExecution registeredServiceAccessStrategyEnforcer,
+            final OAuth20JwtAccessTokenEncoder jwtAccessTokenEncoder) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
                 webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.centralAuthenticationService = centralAuthenticationService;
         this.registeredServiceAccessStrategyEnforcer = registeredServiceAccessStrategyEnforcer;
+        this.jwtAccessTokenEncoder = jwtAccessTokenEncoder;
     }
 
     /**
@@ -122,10 +126,14 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
 
                     LOGGER.debug("Located access token [{}] in the request", accessToken);
                     AccessToken ticket = null;
-                    try {
-                        ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
-                    } catch (final org.apereo.cas.ticket.InvalidTicketException ite) {
-                        LOGGER.info("No ticket for supplied access token");
+                    if (this.jwtAccessTokenEncoder.isJwtAccessToken(accessToken)) {
+                        ticket = this.jwtAccessTokenEncoder.decode(accessToken);
+                    } else {
+                        try {
+                            ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
+                        } catch (final org.apereo.cas.ticket.InvalidTicketException ite) {
+                            LOGGER.info("No ticket for supplied access token");
+                        }
                     }
 
                     result = createIntrospectionResponse(service, ticket);
@@ -1,7 +1,8 @@
 package org.apereo.cas.oidc.web.controllers;
 
 
-import lombok.NonNull;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -10,12 +11,14 @@ import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.oidc.OidcConstants;
+import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystore;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.jooq.lambda.Unchecked;
 import org.jose4j.jwk.JsonWebKey;
@@ -23,6 +26,8 @@ import org.jose4j.jwk.JsonWebKeySet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -32,9 +37,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link OidcJwksEndpointController}.
+ * The published key set is kept in memory in its serialized form, and is served with
+ * a strong {@code ETag} so that relying parties can revalidate it with {@code If-None-Match}.
+ * It is rebuilt when the default keystore changes, or once the keys of registered services
+ * have been kept for longer than the configured JWKS cache duration.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -46,8 +57,15 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
     @Autowired
     private ResourceLoader resourceLoader;
 
-    @NonNull
-    private final Resource jwksFile;
+    private final OidcDefaultJsonWebKeystore defaultJsonWebKeystore;
+
+    private final long jwksCacheInMillis;
+
+    private final String cacheControl;
+
+    private final Object lock = new Object();
+
+    private volatile PublishedJsonWebKeySet publishedJsonWebKeySet;
 
     public OidcJwksEndpointController(final ServicesManager servicesManager,
                                       final TicketRegistry ticketRegistry,
@@ -56,11 +74,15 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
                                       final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
                                       final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                       final CasConfigurationProperties casProperties,
-                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator) {
+                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
+                                      final OidcDefaultJsonWebKeystore defaultJsonWebKeystore) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
                 webApplicationServiceServiceFactory, scopeToAttributesFilter, 
                 casProperties, ticketGrantingTicketCookieGenerator);
-        this.jwksFile = casProperties.getAuthn().getOidc().getJwksFile();
+        this.defaultJsonWebKeystore = defaultJsonWebKeystore;
+        final int jwksCacheInMinutes = casProperties.getAuthn().getOidc().getJwksCacheInMinutes();
+        this.jwksCacheInMillis = TimeUnit.MINUTES.toMillis(jwksCacheInMinutes);
+        this.cacheControl = CacheControl.maxAge(jwksCacheInMinutes, TimeUnit.MINUTES).cachePublic().getHeaderValue();
     }
 
     /**
@@ -76,25 +98,76 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
                                                         final HttpServletResponse response,
                                                         final Model model) {
         try {
-            final String jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
-            final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(jsonJwks);
-
-            this.servicesManager.getAllServices()
-                    .stream()
-                    .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
-                    .forEach(
-                            Unchecked.consumer(s -> {
-                                final OidcRegisteredService service = (OidcRegisteredService) s;
-                                final Resource resource = this.resourceLoader.getResource(service.getJwks());
-                                final JsonWebKeySet set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
-                                set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
-                            }));
-            final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+            final PublishedJsonWebKeySet jwks = getPublishedJsonWebKeySet();
+            response.setHeader(HttpHeaders.ETAG, jwks.getEntityTag());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, this.cacheControl);
+            if (isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), jwks.getEntityTag())) {
+                LOGGER.trace("JSON web key set with entity tag [{}] has not been modified", jwks.getEntityTag());
+                return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+            }
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            return new ResponseEntity<>(body, HttpStatus.OK);
+            return new ResponseEntity<>(jwks.getBody(), HttpStatus.OK);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    private PublishedJsonWebKeySet getPublishedJsonWebKeySet() throws Exception {
+        final OidcDefaultJsonWebKeystore.LoadedJsonWebKeystore keystore = this.defaultJsonWebKeystore.getKeystore();
+        final PublishedJsonWebKeySet current = this.publishedJsonWebKeySet;
+        if (isCurrent(current, keystore)) {
+            return current;
+        }
+        synchronized (this.lock) {
+            if (!isCurrent(this.publishedJsonWebKeySet, keystore)) {
+                this.publishedJsonWebKeySet = buildPublishedJsonWebKeySet(keystore);
+            }
+            return this.publishedJsonWebKeySet;
+        }
+    }
+
+    private boolean isCurrent(final PublishedJsonWebKeySet jwks, final OidcDefaultJsonWebKeystore.LoadedJsonWebKeystore keystore) {
+        return jwks != null && jwks.getKeystore() == keystore && jwks.getExpirationTime() > System.currentTimeMillis();
+    }
+
+    private PublishedJsonWebKeySet buildPublishedJsonWebKeySet(final OidcDefaultJsonWebKeystore.LoadedJsonWebKeystore keystore) throws Exception {
+        final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(keystore.getPublicJson());
+        this.servicesManager.getAllServices()
+                .stream()
+                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
+                .forEach(
+                        Unchecked.consumer(s -> {
+                            final OidcRegisteredService service = (OidcRegisteredService) s;
+                            final Resource resource = this.resourceLoader.getResource(service.getJwks());
+                            final JsonWebKeySet set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
+                            set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
+                        }));
+        final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        final String entityTag = '"' + DigestUtils.sha256(body) + '"';
+        LOGGER.debug("Built JSON web key set to publish with entity tag [{}]", entityTag);
+        return new PublishedJsonWebKeySet(keystore, System.currentTimeMillis() + this.jwksCacheInMillis, body, entityTag);
+    }
+
+    private static boolean isNotModified(final String ifNoneMatch, final String entityTag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(StringUtils.split(ifNoneMatch, ','))
+            .map(String::trim)
+            .map(tag -> StringUtils.removeStart(tag, "W/"))
+            .anyMatch(tag -> "*".equals(tag) || entityTag.equals(tag));
+    }
+
+    /**
+     * The key set as published, along with the copy of the default keystore it was built from.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class PublishedJsonWebKeySet {
+        private final OidcDefaultJsonWebKeystore.LoadedJsonWebKeystore keystore;
+        private final long expirationTime;
+        private final String body;
+        private final String entityTag;
+    }
 }
@@ -8,6 +8,7 @@ import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoaderTests;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilterTests;
 import org.apereo.cas.oidc.token.OidcIdTokenGeneratorServiceTests;
 import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionServiceTests;
+import org.apereo.cas.oidc.web.controllers.OidcJwksEndpointControllerTests;
 import org.apereo.cas.oidc.web.controllers.OidcWellKnownEndpointControllerTests;
 import org.apereo.cas.oidc.web.flow.OidcAuthenticationContextWebflowEventResolverTests;
 import org.apereo.cas.oidc.web.flow.OidcRegisteredServiceUIActionTests;
@@ -24,6 +25,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     OidcWellKnownEndpointControllerTests.class,
+    OidcJwksEndpointControllerTests.class,
     OidcIdTokenGeneratorServiceTests.class,
     OidcIdTokenSigningAndEncryptionServiceTests.class,
     OidcJsonWebKeystoreGeneratorServiceTests.class,
@@ -0,0 +1,109 @@
+package org.apereo.cas.oidc.web.controllers;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.oidc.AbstractOidcTests;
+import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystore;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJwksEndpointControllerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class OidcJwksEndpointControllerTests extends AbstractOidcTests {
+    @Autowired
+    @Qualifier("oidcJwksController")
+    protected OidcJwksEndpointController oidcJwksController;
+
+    @Autowired
+    @Qualifier("oidcDefaultJsonWebKeystore")
+    protected OidcDefaultJsonWebKeystore oidcDefaultJsonWebKeystore;
+
+    @Test
+    public void verifyKeysAreServedWithEntityTag() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final ResponseEntity<String> result = oidcJwksController.handleRequestInternal(new MockHttpServletRequest(),
+            response, new ExtendedModelMap());
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(result.getBody().contains("\"keys\""));
+        assertFalse(result.getBody().contains("\"d\""));
+
+        final String entityTag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(entityTag);
+        assertTrue(entityTag.startsWith("\""));
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("max-age"));
+
+        final MockHttpServletResponse second = new MockHttpServletResponse();
+        assertEquals(result.getBody(), oidcJwksController.handleRequestInternal(new MockHttpServletRequest(),
+            second, new ExtendedModelMap()).getBody());
+        assertEquals(entityTag, second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void verifyNotModifiedWhenEntityTagMatches() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        oidcJwksController.handleRequestInternal(new MockHttpServletRequest(), response, new ExtendedModelMap());
+        final String entityTag = response.getHeader(HttpHeaders.ETAG);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + entityTag);
+        final ResponseEntity<String> result = oidcJwksController.handleRequestInternal(request,
+            new MockHttpServletResponse(), new ExtendedModelMap());
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+
+        final MockHttpServletRequest stale = new MockHttpServletRequest();
+        stale.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        assertEquals(HttpStatus.OK, oidcJwksController.handleRequestInternal(stale,
+            new MockHttpServletResponse(), new ExtendedModelMap()).getStatusCode());
+    }
+
+    @Test
+    public void verifySigningKeyComesFromPublishedKeystore() throws Exception {
+        assertTrue(oidcDefaultJsonWebKeystore.getSigningKey().isPresent());
+        assertSame(oidcDefaultJsonWebKeystore.getKeystore(), oidcDefaultJsonWebKeystore.getKeystore());
+        final String modulus = oidcDefaultJsonWebKeystore.getSigningKey().get()
+            .toParams(JsonWebKey.OutputControlLevel.PUBLIC_ONLY).get(RsaJsonWebKey.MODULUS_MEMBER_NAME).toString();
+        final ResponseEntity<String> result = oidcJwksController.handleRequestInternal(new MockHttpServletRequest(),
+            new MockHttpServletResponse(), new ExtendedModelMap());
+        assertTrue(result.getBody().contains(modulus));
+    }
+
+    @Test
+    public void verifyUnreadableKeystoreIsNotKept() throws Exception {
+        final File file = File.createTempFile("keystore", ".jwks");
+        try {
+            FileUtils.write(file, "not a keystore", StandardCharsets.UTF_8);
+            final OidcDefaultJsonWebKeystore keystore = new OidcDefaultJsonWebKeystore(new FileSystemResource(file));
+            assertFalse(keystore.getSigningKey().isPresent());
+            try {
+                keystore.getKeystore();
+                fail("Expected the keystore to fail to load");
+            } catch (final Exception e) {
+                assertNotNull(e.getMessage());
+            }
+
+            FileUtils.write(file, "{\"keys\":[]}", StandardCharsets.UTF_8);
+            assertTrue(keystore.getKeystore().getPublicJson().contains("\"keys\""));
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+}
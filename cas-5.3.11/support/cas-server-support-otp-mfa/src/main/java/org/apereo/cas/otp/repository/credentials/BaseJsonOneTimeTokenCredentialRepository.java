@@ -5,17 +5,25 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.OneTimeTokenAccount;
+import org.apereo.cas.util.io.JsonFileJournal;
 import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
 import org.apereo.cas.util.serialization.StringSerializer;
 import org.springframework.core.io.Resource;
 
-import java.io.IOException;
+import java.io.File;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link BaseJsonOneTimeTokenCredentialRepository}.
+ * <p>
+ * Accounts are kept in memory, keyed by username. The JSON file is read once,
+ * and read again only when its last-modified time or size changes. Changes are
+ * written to a temporary file that then atomically replaces the JSON file,
+ * via {@link JsonFileJournal#writeAtomically(File, JsonFileJournal.FileContentWriter)}.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -26,6 +34,10 @@ public abstract class BaseJsonOneTimeTokenCredentialRepository extends BaseOneTi
     private final Resource location;
     private final StringSerializer<TreeSet<OneTimeTokenAccount>> serializer = new OneTimeAccountSerializer();
 
+    private volatile Map<String, OneTimeTokenAccount> accounts = new ConcurrentHashMap<>();
+    private volatile long loadedLastModified = -1;
+    private volatile long loadedLength = -1;
+
     public BaseJsonOneTimeTokenCredentialRepository(final Resource location, final CipherExecutor<String, String> tokenCredentialCipher) {
         super(tokenCredentialCipher);
         this.location = location;
@@ -34,21 +46,7 @@ public abstract class BaseJsonOneTimeTokenCredentialRepository extends BaseOneTi
     @Override
     public OneTimeTokenAccount get(final String username) {
         try {
-            if (!this.location.getFile().exists()) {
-                LOGGER.warn("JSON account repository file [{}] is not found.", this.location.getFile());
-                return null;
-            }
-
-            if (this.location.getFile().length() <= 0) {
-                LOGGER.warn("JSON account repository file [{}] is empty.", this.location.getFile());
-                return null;
-            }
-
-            final Collection<OneTimeTokenAccount> c = this.serializer.from(this.location.getFile());
-            final OneTimeTokenAccount account = c.stream()
-                .filter(a -> StringUtils.isNotBlank(a.getUsername()) && a.getUsername().equals(username))
-                .findAny()
-                .orElse(null);
+            final OneTimeTokenAccount account = StringUtils.isBlank(username) ? null : getAccounts().get(username);
             if (account != null) {
                 return decode(account);
             }
@@ -71,15 +69,15 @@ public abstract class BaseJsonOneTimeTokenCredentialRepository extends BaseOneTi
     }
 
     @Override
-    public OneTimeTokenAccount update(final OneTimeTokenAccount account) {
+    public synchronized OneTimeTokenAccount update(final OneTimeTokenAccount account) {
         try {
-            final TreeSet<OneTimeTokenAccount> accounts = readAccountsFromJsonRepository();
+            final Map<String, OneTimeTokenAccount> current = getAccounts();
 
-            LOGGER.debug("Found [{}] account(s) and added google authenticator account for [{}]", accounts.size(), account.getUsername());
+            LOGGER.debug("Found [{}] account(s) and added google authenticator account for [{}]", current.size(), account.getUsername());
             final OneTimeTokenAccount encoded = encode(account);
-            accounts.add(encoded);
+            current.put(encoded.getUsername(), encoded.clone());
 
-            writeAccountsToJsonRepository(accounts);
+            writeAccountsToJsonRepository(current.values());
             return encoded;
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -88,30 +86,63 @@ public abstract class BaseJsonOneTimeTokenCredentialRepository extends BaseOneTi
     }
 
     @Override
-    public void deleteAll() {
-        writeAccountsToJsonRepository(new TreeSet<>());
+    public synchronized void deleteAll() {
+        this.accounts = new ConcurrentHashMap<>();
+        writeAccountsToJsonRepository(this.accounts.values());
     }
 
+    /**
+     * Gets the accounts keyed by username, reading the JSON file again if it has changed.
+     *
+     * @return the accounts
+     */
     @SneakyThrows
-    private void writeAccountsToJsonRepository(final TreeSet<OneTimeTokenAccount> accounts) {
-        LOGGER.debug("Saving google authenticator accounts back to the JSON file at [{}]", this.location.getFile());
-        this.serializer.to(this.location.getFile(), accounts);
+    private Map<String, OneTimeTokenAccount> getAccounts() {
+        final File file = this.location.getFile();
+        if (isModified(file)) {
+            synchronized (this) {
+                if (isModified(file)) {
+                    readAccountsFromJsonRepository(file);
+                }
+            }
+        }
+        return this.accounts;
     }
 
-    private TreeSet<OneTimeTokenAccount> readAccountsFromJsonRepository() throws IOException {
-        LOGGER.debug("Ensuring JSON repository file exists at [{}]", this.location.getFile());
-        final boolean result = this.location.getFile().createNewFile();
-        if (result) {
-            LOGGER.debug("Created JSON repository file at [{}]", this.location.getFile());
-        }
-        final TreeSet<OneTimeTokenAccount> accounts;
-        if (this.location.getFile().length() > 0) {
-            LOGGER.debug("Reading JSON repository file at [{}]", this.location.getFile());
-            accounts = this.serializer.from(this.location.getFile());
+    private boolean isModified(final File file) {
+        return file.lastModified() != this.loadedLastModified || file.length() != this.loadedLength;
+    }
+
+    private void readAccountsFromJsonRepository(final File file) {
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final Map<String, OneTimeTokenAccount> results = new ConcurrentHashMap<>();
+        if (!file.exists()) {
+            LOGGER.warn("JSON account repository file [{}] is not found.", file);
+        } else if (length <= 0) {
+            LOGGER.warn("JSON account repository file [{}] is empty.", file);
         } else {
-            accounts = new TreeSet<>();
+            LOGGER.debug("Reading JSON repository file at [{}]", file);
+            final Collection<OneTimeTokenAccount> c = this.serializer.from(file);
+            c.stream()
+                .filter(a -> StringUtils.isNotBlank(a.getUsername()))
+                .forEach(a -> results.merge(a.getUsername(), a, (previous, next) ->
+                    previous.getRegistrationDate() != null && next.getRegistrationDate() != null
+                        && previous.getRegistrationDate().isAfter(next.getRegistrationDate()) ? previous : next));
+            LOGGER.debug("Loaded [{}] account(s) from JSON repository file at [{}]", results.size(), file);
         }
-        return accounts;
+        this.accounts = results;
+        this.loadedLastModified = lastModified;
+        this.loadedLength = length;
+    }
+
+    @SneakyThrows
+    private void writeAccountsToJsonRepository(final Collection<OneTimeTokenAccount> values) {
+        final File file = this.location.getFile().getAbsoluteFile();
+        LOGGER.debug("Saving google authenticator accounts back to the JSON file at [{}]", file);
+        JsonFileJournal.writeAtomically(file, temp -> this.serializer.to(temp, new TreeSet<>(values)));
+        this.loadedLastModified = file.lastModified();
+        this.loadedLength = file.length();
     }
 
     private static class OneTimeAccountSerializer extends AbstractJacksonBackedStringSerializer<TreeSet<OneTimeTokenAccount>> {
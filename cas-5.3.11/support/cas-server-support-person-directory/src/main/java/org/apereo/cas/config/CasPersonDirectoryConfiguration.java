@@ -6,6 +6,7 @@ import org.apereo.cas.configuration.model.core.authentication.GrouperPrincipalAt
 import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.persondir.ConcurrentMergingPersonAttributeDao;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
@@ -53,6 +54,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link CasPersonDirectoryConfiguration}.
@@ -333,20 +335,35 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        final MergingPersonAttributeDaoImpl mergingDao = new MergingPersonAttributeDaoImpl();
-        final String merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace").trim();
+        final PrincipalAttributesProperties props = casProperties.getAuthn().getAttributeRepository();
+        final String merger = StringUtils.defaultIfBlank(props.getMerger(), "replace").trim();
         LOGGER.debug("Configured merging strategy for attribute sources is [{}]", merger);
-        mergingDao.setMerger(getAttributeMerger(merger));
 
         final List<IPersonAttributeDao> list = attributeRepositories();
-        mergingDao.setPersonAttributeDaos(list);
-
         if (list.isEmpty()) {
             LOGGER.debug("No attribute repository sources are available/defined to merge together.");
         } else {
             LOGGER.debug("Configured attribute repository sources to merge together: [{}]", list);
         }
 
+        final PrincipalAttributesProperties.Aggregation aggregation = props.getAggregation();
+        if (aggregation.isConcurrent()) {
+            final ConcurrentMergingPersonAttributeDao concurrentDao = new ConcurrentMergingPersonAttributeDao(list,
+                getAttributeMerger(merger), aggregation.getThreads(),
+                Beans.newDuration(aggregation.getStaleResultsExpiration()), props.getMaximumCacheSize());
+            concurrentDao.setTimeout(Beans.newDuration(aggregation.getTimeout()));
+            concurrentDao.setSourceTimeouts(aggregation.getSourceTimeouts()
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Beans.newDuration(entry.getValue()))));
+            concurrentDao.setFailurePolicy(ConcurrentMergingPersonAttributeDao.FailurePolicy.valueOf(aggregation.getFailurePolicy().trim().toUpperCase()));
+            LOGGER.debug("Attribute repository sources will be queried concurrently using [{}] thread(s)", aggregation.getThreads());
+            return concurrentDao;
+        }
+
+        final MergingPersonAttributeDaoImpl mergingDao = new MergingPersonAttributeDaoImpl();
+        mergingDao.setMerger(getAttributeMerger(merger));
+        mergingDao.setPersonAttributeDaos(list);
         return mergingDao;
     }
 
@@ -0,0 +1,250 @@
+package org.apereo.cas.persondir;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.IUsernameAttributeProvider;
+import org.apereo.services.persondir.support.SimpleUsernameAttributeProvider;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ConcurrentMergingPersonAttributeDao} that queries all attribute repository sources
+ * at the same time on a bounded pool of threads, and merges their results in the order of the sources
+ * using the configured {@link IAttributeMerger}, so the merged result is the same as if sources were queried
+ * one after another. Each source is given until its own deadline to produce results, and a source that fails
+ * or misses its deadline is handled according to the {@link FailurePolicy}.
+ * When the pool is saturated, sources that cannot be queued are rejected and treated as failed;
+ * they are never queried by the calling thread.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@Getter
+public class ConcurrentMergingPersonAttributeDao extends BasePersonAttributeDao implements AutoCloseable {
+    private static final int QUEUE_CAPACITY_PER_THREAD = 16;
+
+    private final IUsernameAttributeProvider usernameAttributeProvider = new SimpleUsernameAttributeProvider();
+
+    private final List<IPersonAttributeDao> personAttributeDaos;
+
+    private final IAttributeMerger merger;
+
+    private final ExecutorService executor;
+
+    private final Cache<Pair<Integer, Map<String, List<Object>>>, Set<IPersonAttributes>> staleResults;
+
+    @Setter
+    private Duration timeout = Duration.ofSeconds(5);
+
+    @Setter
+    private Map<Integer, Duration> sourceTimeouts = new LinkedHashMap<>();
+
+    @Setter
+    private FailurePolicy failurePolicy = FailurePolicy.IGNORE;
+
+    public ConcurrentMergingPersonAttributeDao(final List<IPersonAttributeDao> personAttributeDaos,
+                                               final IAttributeMerger merger,
+                                               final int threads,
+                                               final Duration staleResultsExpiration,
+                                               final long maximumStaleResults) {
+        this.personAttributeDaos = new ArrayList<>(personAttributeDaos);
+        this.merger = merger;
+        this.executor = newExecutor(Math.max(threads, 1));
+        this.staleResults = Caffeine.newBuilder()
+            .maximumSize(maximumStaleResults)
+            .expireAfterWrite(staleResultsExpiration.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        final Map<String, List<Object>> query = new LinkedHashMap<>();
+        query.put(this.usernameAttributeProvider.getUsernameAttribute(), Collections.singletonList(uid));
+        final Set<IPersonAttributes> people = getPeopleWithMultivaluedAttributes(query);
+        if (people == null || people.isEmpty()) {
+            return null;
+        }
+        if (people.size() > 1) {
+            LOGGER.warn("Attribute repository sources produced [{}] results for [{}] where only one was expected", people.size(), uid);
+            return null;
+        }
+        return people.iterator().next();
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(query));
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        final long start = System.nanoTime();
+        final List<Future<Set<IPersonAttributes>>> futures = this.personAttributeDaos
+            .stream()
+            .map(dao -> submit(dao, query))
+            .collect(Collectors.toList());
+
+        Set<IPersonAttributes> results = null;
+        for (int i = 0; i < futures.size(); i++) {
+            final IPersonAttributeDao dao = this.personAttributeDaos.get(i);
+            final Set<IPersonAttributes> people = getResults(i, dao, futures.get(i), query, start);
+            if (people == null) {
+                continue;
+            }
+            if (results == null) {
+                results = new LinkedHashSet<>(people);
+            } else {
+                results = this.merger.mergeResults(results, people);
+            }
+        }
+        LOGGER.debug("Merged results of [{}] attribute repository sources in [{}] ms", futures.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return results;
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        return this.personAttributeDaos
+            .stream()
+            .map(IPersonAttributeDao::getPossibleUserAttributeNames)
+            .filter(names -> names != null)
+            .flatMap(Set::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        return this.personAttributeDaos
+            .stream()
+            .map(IPersonAttributeDao::getAvailableQueryAttributes)
+            .filter(names -> names != null)
+            .flatMap(Set::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    private Future<Set<IPersonAttributes>> submit(final IPersonAttributeDao dao, final Map<String, List<Object>> query) {
+        try {
+            return this.executor.submit(() -> dao.getPeopleWithMultivaluedAttributes(query));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Attribute repository source [{}] was rejected because all threads and queue slots are busy", dao);
+            final CompletableFuture<Set<IPersonAttributes>> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private Set<IPersonAttributes> getResults(final int index, final IPersonAttributeDao dao,
+                                              final Future<Set<IPersonAttributes>> future,
+                                              final Map<String, List<Object>> query, final long start) {
+        final Pair<Integer, Map<String, List<Object>>> key = Pair.of(index, query);
+        final long deadline = start + this.sourceTimeouts.getOrDefault(dao.getOrder(), this.timeout).toNanos();
+        try {
+            final Set<IPersonAttributes> people = future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            if (people != null && this.failurePolicy == FailurePolicy.STALE) {
+                this.staleResults.put(Pair.of(index, new LinkedHashMap<>(query)), people);
+            }
+            return people;
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            LOGGER.warn("Attribute repository source [{}] did not produce results in time", dao);
+            return handleFailure(dao, key, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return handleFailure(dao, key, e);
+        } catch (final ExecutionException e) {
+            LOGGER.warn("Attribute repository source [{}] failed to produce results: [{}]", dao, e.getCause().getMessage());
+            LOGGER.debug(e.getMessage(), e.getCause());
+            return handleFailure(dao, key, e.getCause());
+        }
+    }
+
+    private Set<IPersonAttributes> handleFailure(final IPersonAttributeDao dao,
+                                                 final Pair<Integer, Map<String, List<Object>>> key,
+                                                 final Throwable cause) {
+        switch (this.failurePolicy) {
+            case FAIL:
+                throw new IllegalStateException("Unable to retrieve attributes from attribute repository source " + dao, cause);
+            case STALE:
+                final Set<IPersonAttributes> people = this.staleResults.getIfPresent(key);
+                if (people != null) {
+                    LOGGER.debug("Using the last results produced by attribute repository source [{}]", dao);
+                }
+                return people;
+            case IGNORE:
+            default:
+                return null;
+        }
+    }
+
+    private static ExecutorService newExecutor(final int threads) {
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD),
+            r -> {
+                final Thread thread = new Thread(r, "cas-attribute-repository-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, ?> query) {
+        return query.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> CollectionUtils.toCollection(entry.getValue(), ArrayList.class)));
+    }
+
+    /**
+     * Decide what happens when a source fails or does not produce results in time.
+     */
+    public enum FailurePolicy {
+        /**
+         * Merge results from the remaining sources.
+         */
+        IGNORE,
+        /**
+         * Fail the query altogether.
+         */
+        FAIL,
+        /**
+         * Use the last results produced by the source for the same query, if any.
+         */
+        STALE
+    }
+}
@@ -0,0 +1,166 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.ConcurrentMergingPersonAttributeDao;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ConcurrentMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class ConcurrentMergingPersonAttributeDaoTests {
+
+    @Test
+    public void verifySourcesMergeInOrder() {
+        try (ConcurrentMergingPersonAttributeDao dao = newDao(new ReplacingAttributeAdder(),
+            newSource("first", 200), newSource("second", 0))) {
+            final IPersonAttributes person = dao.getPerson("casuser");
+            assertNotNull(person);
+            assertEquals(CollectionUtils.wrapList("second"), person.getAttributes().get("source"));
+        }
+    }
+
+    @Test
+    public void verifySourcesAreQueriedConcurrently() {
+        final CountDownLatch latch = new CountDownLatch(3);
+        try (ConcurrentMergingPersonAttributeDao dao = newDao(new MultivaluedAttributeMerger(),
+            newSource("first", latch), newSource("second", latch), newSource("third", latch))) {
+            dao.setFailurePolicy(ConcurrentMergingPersonAttributeDao.FailurePolicy.FAIL);
+            final IPersonAttributes person = dao.getPerson("casuser");
+            assertEquals(0, latch.getCount());
+            assertEquals(Arrays.asList("first", "second", "third"), person.getAttributes().get("source"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifySaturatedPoolRejectsSources() {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final List<IPersonAttributeDao> sources = new ArrayList<>();
+        sources.add(newSource("first", 500));
+        for (int i = 0; i < 20; i++) {
+            final IPersonAttributeDao source = mock(IPersonAttributeDao.class);
+            when(source.getPeopleWithMultivaluedAttributes(anyMap())).thenAnswer(invocation -> {
+                threads.add(Thread.currentThread());
+                return null;
+            });
+            sources.add(source);
+        }
+        try (ConcurrentMergingPersonAttributeDao dao = new ConcurrentMergingPersonAttributeDao(sources,
+            new MultivaluedAttributeMerger(), 1, Duration.ofMinutes(1), 100)) {
+            dao.setFailurePolicy(ConcurrentMergingPersonAttributeDao.FailurePolicy.FAIL);
+            try {
+                dao.getPerson("casuser");
+            } finally {
+                assertFalse(threads.contains(Thread.currentThread()));
+            }
+        }
+    }
+
+    @Test
+    public void verifySlowSourceIsIgnored() {
+        try (ConcurrentMergingPersonAttributeDao dao = newDao(new MultivaluedAttributeMerger(),
+            newSource("first", 0), newSource("second", 2000))) {
+            dao.setTimeout(Duration.ofMillis(300));
+            final IPersonAttributes person = dao.getPerson("casuser");
+            assertEquals(CollectionUtils.wrapList("first"), person.getAttributes().get("source"));
+        }
+    }
+
+    @Test
+    public void verifySlowSourceGetsItsOwnDeadline() {
+        final IPersonAttributeDao slow = newSource("second", 500);
+        when(slow.getOrder()).thenReturn(1);
+        try (ConcurrentMergingPersonAttributeDao dao = newDao(new MultivaluedAttributeMerger(),
+            newSource("first", 0), slow)) {
+            dao.setTimeout(Duration.ofMillis(100));
+            final Map<Integer, Duration> timeouts = new LinkedHashMap<>();
+            timeouts.put(1, Duration.ofSeconds(5));
+            dao.setSourceTimeouts(timeouts);
+            final IPersonAttributes person = dao.getPerson("casuser");
+            assertEquals(Arrays.asList("first", "second"), person.getAttributes().get("source"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyFailingSourceFailsQuery() {
+        final IPersonAttributeDao failing = mock(IPersonAttributeDao.class);
+        when(failing.getPeopleWithMultivaluedAttributes(anyMap())).thenThrow(new IllegalArgumentException("failed"));
+        try (ConcurrentMergingPersonAttributeDao dao = newDao(new MultivaluedAttributeMerger(),
+            newSource("first", 0), failing)) {
+            dao.setFailurePolicy(ConcurrentMergingPersonAttributeDao.FailurePolicy.FAIL);
+            dao.getPerson("casuser");
+        }
+    }
+
+    @Test
+    public void verifyFailingSourceUsesStaleResults() {
+        final StubPersonAttributeDao second = new StubPersonAttributeDao(newAttributes("second"));
+        final IPersonAttributeDao flaky = mock(IPersonAttributeDao.class);
+        when(flaky.getPeopleWithMultivaluedAttributes(anyMap()))
+            .thenAnswer(invocation -> second.getPeopleWithMultivaluedAttributes(invocation.getArgument(0)))
+            .thenThrow(new IllegalArgumentException("failed"));
+        try (ConcurrentMergingPersonAttributeDao dao = newDao(new MultivaluedAttributeMerger(),
+            newSource("first", 0), flaky)) {
+            dao.setFailurePolicy(ConcurrentMergingPersonAttributeDao.FailurePolicy.STALE);
+            assertEquals(Arrays.asList("first", "second"), dao.getPerson("casuser").getAttributes().get("source"));
+            assertEquals(Arrays.asList("first", "second"), dao.getPerson("casuser").getAttributes().get("source"));
+        }
+    }
+
+    private static ConcurrentMergingPersonAttributeDao newDao(final IAttributeMerger merger,
+                                                              final IPersonAttributeDao... sources) {
+        return new ConcurrentMergingPersonAttributeDao(Arrays.asList(sources), merger, 4, Duration.ofMinutes(1), 100);
+    }
+
+    private static IPersonAttributeDao newSource(final String name, final long delayInMillis) {
+        final StubPersonAttributeDao stub = new StubPersonAttributeDao(newAttributes(name));
+        final IPersonAttributeDao dao = mock(IPersonAttributeDao.class);
+        when(dao.getPeopleWithMultivaluedAttributes(anyMap())).thenAnswer(invocation -> {
+            Thread.sleep(delayInMillis);
+            return stub.getPeopleWithMultivaluedAttributes(invocation.getArgument(0));
+        });
+        return dao;
+    }
+
+    private static IPersonAttributeDao newSource(final String name, final CountDownLatch latch) {
+        final StubPersonAttributeDao stub = new StubPersonAttributeDao(newAttributes(name));
+        final IPersonAttributeDao dao = mock(IPersonAttributeDao.class);
+        when(dao.getPeopleWithMultivaluedAttributes(anyMap())).thenAnswer(invocation -> {
+            latch.countDown();
+            if (!latch.await(3, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Sources were not queried at the same time");
+            }
+            return stub.getPeopleWithMultivaluedAttributes(invocation.getArgument(0));
+        });
+        return dao;
+    }
+
+    private static Map<String, List<Object>> newAttributes(final String name) {
+        final Map<String, List<Object>> attributes = new LinkedHashMap<>();
+        attributes.put("username", new ArrayList<>(CollectionUtils.wrapList("casuser")));
+        attributes.put("source", new ArrayList<>(CollectionUtils.wrapList(name)));
+        return attributes;
+    }
+}
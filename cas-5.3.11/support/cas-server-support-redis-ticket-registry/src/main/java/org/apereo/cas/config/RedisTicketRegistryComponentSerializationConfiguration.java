@@ -0,0 +1,26 @@
+package org.apereo.cas.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ComponentSerializationPlan;
+import org.apereo.cas.ComponentSerializationPlanConfigurator;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.registry.RedisServiceSession;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link RedisTicketRegistryComponentSerializationConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Configuration("redisTicketRegistryComponentSerializationConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@Slf4j
+public class RedisTicketRegistryComponentSerializationConfiguration implements ComponentSerializationPlanConfigurator {
+
+    @Override
+    public void configureComponentSerializationPlan(final ComponentSerializationPlan plan) {
+        plan.registerSerializableClass(RedisServiceSession.class);
+    }
+}
@@ -0,0 +1,28 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apereo.cas.authentication.principal.Service;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link RedisServiceSession} that describes a service session recorded for a ticket-granting ticket
+ * by the {@link RedisTicketRegistry}, along with the usage state of the ticket at the time the session was granted.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class RedisServiceSession implements Serializable {
+    private static final long serialVersionUID = 2883460475395394752L;
+
+    private final Service service;
+    private final ZonedDateTime lastTimeUsed;
+    private final ZonedDateTime previousTimeUsed;
+    private final int countOfUses;
+}
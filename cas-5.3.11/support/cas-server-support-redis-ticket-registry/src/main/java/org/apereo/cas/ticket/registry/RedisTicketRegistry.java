@@ -1,19 +1,39 @@
 package org.apereo.cas.ticket.registry;
 
+import com.google.common.collect.Iterators;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -21,6 +41,17 @@ import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * <p>
+ * Alongside each ticket, the registry maintains a sorted set per ticket type whose members
+ * are ticket ids scored by their expiration time, so that tickets of a given type can be
+ * counted without walking the keyspace. Tickets are read back in batches using {@code MGET}
+ * over {@code SCAN} cursors rather than with one round trip per key.
+ * <p>
+ * Service sessions granted by a ticket-granting ticket are recorded as fields of a hash kept
+ * next to the ticket, so that granting a service ticket does not rewrite the entire ticket-granting
+ * ticket. Recorded sessions are merged back into the ticket when it is read, and those the ticket carries
+ * are discarded whenever the ticket itself is stored again in full. Each write is applied as a single
+ * {@code MULTI}/{@code EXEC} transaction, and sessions recorded while the ticket is being stored are kept.
  *
  * @author serv
  * @since 5.1.0
@@ -29,24 +60,44 @@ import java.util.stream.StreamSupport;
 @AllArgsConstructor
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
+    private static final String CAS_TICKET_TYPE_PREFIX = "CAS_TICKET_TYPE:";
+    private static final String CAS_TICKET_SERVICES_PREFIX = "CAS_TICKET_SERVICES:";
     private static final long SCAN_COUNT = 100L;
 
     @NotNull
     private final RedisTemplate<String, Ticket> client;
 
+    /**
+     * Ticket type prefixes known to this node, used to locate the type index of a ticket by its id.
+     */
+    private final Set<String> ticketTypes = Stream.of(TicketGrantingTicket.PREFIX, ServiceTicket.PREFIX,
+        ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX, ProxyTicket.PROXY_TICKET_PREFIX,
+        ProxyGrantingTicket.PROXY_GRANTING_TICKET_IOU_PREFIX, TransientSessionTicket.PREFIX)
+        .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
+
     @Override
     public long deleteAll() {
-        final Set<String> redisKeys = this.client.keys(getPatternTicketRedisKey());
-        final int size = redisKeys.size();
-        this.client.delete(redisKeys);
+        final long size = deleteKeysMatching(getPatternTicketRedisKey());
+        deleteKeysMatching(getPatternTicketTypeRedisKey());
+        deleteKeysMatching(getPatternTicketServicesRedisKey());
         return size;
     }
-    
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
-            final String redisKey = getTicketRedisKey(ticketId);
-            this.client.delete(redisKey);
+            final byte[] redisKey = serializeKey(getTicketRedisKey(ticketId));
+            final byte[] servicesKey = serializeKey(getTicketServicesRedisKey(ticketId));
+            final byte[] member = serializeKey(ticketId);
+            final List<byte[]> typeKeys = this.ticketTypes.stream()
+                .filter(ticketId::startsWith)
+                .map(type -> serializeKey(getTicketTypeRedisKey(type)))
+                .collect(Collectors.toList());
+            this.client.executePipelined((RedisCallback<Object>) connection -> {
+                connection.del(redisKey, servicesKey);
+                typeKeys.forEach(typeKey -> connection.zRem(typeKey, member));
+                return null;
+            });
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -58,11 +109,9 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            final String redisKey = getTicketRedisKey(ticket.getId());
             // Encode first, then add
             final Ticket encodeTicket = this.encodeTicket(ticket);
-            this.client.boundValueOps(redisKey)
-                    .set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            storeTicket(ticket, encodeTicket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
@@ -75,6 +124,10 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             final Ticket t = this.client.boundValueOps(redisKey).get();
             if (t != null) {
                 final Ticket result = decodeTicket(t);
+                if (result instanceof TicketGrantingTicket) {
+                    mergeServiceSessions((TicketGrantingTicket) result,
+                        this.client.<String, Object>opsForHash().entries(getTicketServicesRedisKey(ticketId)));
+                }
                 if (result != null && result.isExpired()) {
                     LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", result.getId());
                     deleteSingleTicket(ticketId);
@@ -97,18 +150,136 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<Ticket> getTicketsStream() {
-        return getKeysStream()
-                .map(redisKey -> {
-                    final Ticket ticket = this.client.boundValueOps(redisKey).get();
-                    if (ticket == null) {
-                        this.client.delete(redisKey);
-                        return null;
-                    }
-                    return ticket;
-                })
+        final Stream<String> keys = getKeysStream(getPatternTicketRedisKey());
+        final Iterator<List<String>> batches = Iterators.partition(keys.iterator(), (int) SCAN_COUNT);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(keys::close)
+                .map(batch -> this.client.opsForValue().multiGet(batch))
                 .filter(Objects::nonNull)
-                .map(this::decodeTicket);
+                .flatMap(this::decodeTicketsWithServiceSessions);
+    }
+
+    /**
+     * Decode a batch of tickets, merging the service sessions recorded for the ticket-granting
+     * tickets in the batch that are fetched in a single pipeline.
+     *
+     * @param batch the batch of tickets
+     * @return the decoded tickets
+     */
+    private Stream<Ticket> decodeTicketsWithServiceSessions(final List<Ticket> batch) {
+        final List<Ticket> tickets = batch.stream()
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        final List<TicketGrantingTicket> ticketGrantingTickets = tickets.stream()
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .collect(Collectors.toList());
+        if (!ticketGrantingTickets.isEmpty()) {
+            final List<Object> sessions = this.client.executePipelined((RedisCallback<Object>) connection -> {
+                ticketGrantingTickets.forEach(tgt -> connection.hGetAll(serializeKey(getTicketServicesRedisKey(tgt.getId()))));
+                return null;
+            }, this.client.getHashValueSerializer());
+            for (int i = 0; i < ticketGrantingTickets.size() && i < sessions.size(); i++) {
+                final Object entries = sessions.get(i);
+                if (entries instanceof Map) {
+                    mergeServiceSessions(ticketGrantingTickets.get(i), (Map<?, ?>) entries);
+                }
+            }
+        }
+        return tickets.stream();
+    }
+
+    @Override
+    public void addServiceSession(final TicketGrantingTicket ticketGrantingTicket, final ServiceTicket serviceTicket) {
+        final Service service = ticketGrantingTicket.getServices().get(serviceTicket.getId());
+        if (service == null || !(ticketGrantingTicket instanceof AbstractTicket)) {
+            updateTicket(ticketGrantingTicket);
+            return;
+        }
+        try {
+            LOGGER.debug("Adding service session [{}] to ticket [{}]", serviceTicket.getId(), ticketGrantingTicket.getId());
+            final AbstractTicket state = (AbstractTicket) ticketGrantingTicket;
+            final RedisServiceSession session = new RedisServiceSession(service, state.getLastTimeUsed(),
+                state.getPreviousTimeUsed(), state.getCountOfUses());
+            final Serializable value = isCipherExecutorEnabled()
+                ? SerializationUtils.serializeAndEncodeObject(this.ticketSerializer, this.cipherExecutor, session)
+                : session;
+            final int timeout = getTimeout(ticketGrantingTicket);
+            final byte[] redisKey = serializeKey(getTicketRedisKey(ticketGrantingTicket.getId()));
+            final byte[] servicesKey = serializeKey(getTicketServicesRedisKey(ticketGrantingTicket.getId()));
+            final byte[] field = ((RedisSerializer<String>) this.client.getHashKeySerializer()).serialize(serviceTicket.getId());
+            final byte[] fieldValue = ((RedisSerializer<Object>) this.client.getHashValueSerializer()).serialize(value);
+            final String prefix = ticketGrantingTicket.getPrefix();
+            final byte[] typeKey = StringUtils.isNotBlank(prefix) ? serializeKey(getTicketTypeRedisKey(prefix)) : null;
+            final byte[] member = serializeKey(ticketGrantingTicket.getId());
+            final double score = getExpirationScore(timeout);
+            this.client.execute((RedisCallback<Object>) connection -> {
+                connection.multi();
+                connection.hSet(servicesKey, field, fieldValue);
+                connection.expire(servicesKey, timeout);
+                connection.expire(redisKey, timeout);
+                if (typeKey != null) {
+                    connection.zAdd(typeKey, score, member);
+                }
+                return connection.exec();
+            });
+        } catch (final Exception e) {
+            LOGGER.warn("Failed to record service session [{}] separately; storing [{}] in full instead: [{}]",
+                serviceTicket.getId(), ticketGrantingTicket.getId(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            updateTicket(ticketGrantingTicket);
+        }
+    }
+
+    /**
+     * Merge recorded service sessions into the ticket-granting ticket, in the order in which they were granted.
+     * The usage state of the ticket is taken from the most recent session, if it is newer than the ticket's own.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param entries              the recorded sessions keyed by service ticket id
+     */
+    private void mergeServiceSessions(final TicketGrantingTicket ticketGrantingTicket, final Map<?, ?> entries) {
+        if (entries == null || entries.isEmpty() || !(ticketGrantingTicket instanceof AbstractTicket)) {
+            return;
+        }
+        final AbstractTicket state = (AbstractTicket) ticketGrantingTicket;
+        final Map<String, RedisServiceSession> sessions = new HashMap<>(entries.size());
+        entries.forEach((id, value) -> {
+            final RedisServiceSession session = decodeServiceSession(value);
+            if (session != null) {
+                sessions.put(id.toString(), session);
+            }
+        });
+        sessions.entrySet()
+            .stream()
+            .sorted(Comparator.comparingInt(entry -> entry.getValue().getCountOfUses()))
+            .forEach(entry -> {
+                final RedisServiceSession session = entry.getValue();
+                ticketGrantingTicket.getServices().put(entry.getKey(), session.getService());
+                if (session.getCountOfUses() > state.getCountOfUses()) {
+                    state.setLastTimeUsed(session.getLastTimeUsed());
+                    state.setPreviousTimeUsed(session.getPreviousTimeUsed());
+                    state.setCountOfUses(session.getCountOfUses());
+                }
+            });
+    }
 
+    private RedisServiceSession decodeServiceSession(final Object value) {
+        try {
+            if (value instanceof byte[]) {
+                return SerializationUtils.decodeAndDeserializeObject(this.ticketSerializer,
+                    (byte[]) value, this.cipherExecutor, RedisServiceSession.class, new Object[]{});
+            }
+            if (value instanceof RedisServiceSession) {
+                return (RedisServiceSession) value;
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Unable to decode recorded service session", e);
+        }
+        return null;
     }
 
     @Override
@@ -116,8 +287,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
             final Ticket encodeTicket = this.encodeTicket(ticket);
-            final String redisKey = getTicketRedisKey(ticket.getId());
-            this.client.boundValueOps(redisKey).set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            storeTicket(ticket, encodeTicket);
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
@@ -125,19 +295,105 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.PREFIX) + countTickets(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.PREFIX) + countTickets(ProxyTicket.PROXY_TICKET_PREFIX);
+    }
+
+    /**
+     * Count the unexpired tickets of the given type, based on the cardinality of the type index.
+     * Index entries whose ticket has expired in redis are pruned first.
+     *
+     * @param prefix the ticket prefix that identifies the ticket type
+     * @return the number of tickets
+     */
+    public long countTickets(final String prefix) {
+        final byte[] typeKey = serializeKey(getTicketTypeRedisKey(prefix));
+        final double now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        final List<Object> results = this.client.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zRemRangeByScore(typeKey, Double.NEGATIVE_INFINITY, now);
+            connection.zCard(typeKey);
+            return null;
+        });
+        final Object count = results.get(results.size() - 1);
+        return count instanceof Number ? ((Number) count).longValue() : 0;
+    }
+
     /**
-     * Get a stream of all CAS-related keys from Redis DB.
+     * Store the ticket along with its type index entry in a single transaction.
+     * Service sessions recorded separately that the stored ticket carries are discarded; sessions recorded
+     * concurrently that the stored ticket does not carry yet are kept, so they are not lost.
      *
-     * @return stream of all CAS-related keys from Redis DB
+     * @param ticket        the ticket
+     * @param encodedTicket the encoded ticket to store
      */
-    private Stream<String> getKeysStream() {
-        final Cursor<byte[]> cursor =
-                client
-                        .getConnectionFactory()
-                        .getConnection()
-                        .scan(ScanOptions
+    private void storeTicket(final Ticket ticket, final Ticket encodedTicket) {
+        final int timeout = getTimeout(ticket);
+        final byte[] redisKey = serializeKey(getTicketRedisKey(ticket.getId()));
+        final byte[] value = serializeTicket(encodedTicket);
+        final String prefix = ticket.getPrefix();
+        if (StringUtils.isNotBlank(prefix)) {
+            this.ticketTypes.add(prefix);
+        }
+        final byte[] typeKey = StringUtils.isNotBlank(prefix) ? serializeKey(getTicketTypeRedisKey(prefix)) : null;
+        final byte[] member = serializeKey(ticket.getId());
+        final double score = getExpirationScore(timeout);
+        final byte[] servicesKey = ticket instanceof TicketGrantingTicket ? serializeKey(getTicketServicesRedisKey(ticket.getId())) : null;
+        final byte[][] services = ticket instanceof TicketGrantingTicket
+            ? ((TicketGrantingTicket) ticket).getServices().keySet()
+                .stream()
+                .map(id -> ((RedisSerializer<String>) this.client.getHashKeySerializer()).serialize(id))
+                .toArray(byte[][]::new)
+            : new byte[0][];
+        this.client.execute((RedisCallback<Object>) connection -> {
+            connection.multi();
+            connection.setEx(redisKey, timeout, value);
+            if (typeKey != null) {
+                connection.zAdd(typeKey, score, member);
+            }
+            if (servicesKey != null && services.length > 0) {
+                connection.hDel(servicesKey, services);
+            }
+            return connection.exec();
+        });
+    }
+
+    /**
+     * Delete all keys matching the pattern, in batches over a {@code SCAN} cursor.
+     *
+     * @param pattern the key pattern
+     * @return the number of deleted keys
+     */
+    private long deleteKeysMatching(final String pattern) {
+        try (Stream<String> keys = getKeysStream(pattern)) {
+            final Iterator<List<String>> batches = Iterators.partition(keys.iterator(), (int) SCAN_COUNT);
+            long count = 0;
+            while (batches.hasNext()) {
+                final List<String> batch = batches.next();
+                final Long deleted = this.client.execute((RedisCallback<Long>) connection ->
+                    connection.del(batch.stream().map(this::serializeKey).toArray(byte[][]::new)));
+                count += deleted == null ? 0 : deleted;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Get a stream of all keys from Redis DB that match the given pattern.
+     *
+     * @param pattern the key pattern
+     * @return stream of all matching keys from Redis DB
+     */
+    private Stream<String> getKeysStream(final String pattern) {
+        final RedisConnection connection = client.getConnectionFactory().getConnection();
+        final Cursor<byte[]> cursor = connection.scan(ScanOptions
                                 .scanOptions()
-                                .match(getPatternTicketRedisKey())
+                                .match(pattern)
                                 .count(SCAN_COUNT)
                                 .build());
         return StreamSupport
@@ -148,10 +404,20 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
                         cursor.close();
                     } catch (final IOException e) {
                         LOGGER.error("Could not close Redis connection", e);
+                    } finally {
+                        connection.close();
                     }
                 });
     }
 
+    private byte[] serializeKey(final String key) {
+        return ((RedisSerializer<String>) client.getKeySerializer()).serialize(key);
+    }
+
+    private byte[] serializeTicket(final Ticket ticket) {
+        return ((RedisSerializer<Ticket>) client.getValueSerializer()).serialize(ticket);
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -166,13 +432,38 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return ttl;
     }
 
+    // The score of a ticket in its type index, which is the time at which the ticket expires in redis
+    private static double getExpirationScore(final int timeout) {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + timeout;
+    }
+
     // Add a prefix as the key of redis
     private static String getTicketRedisKey(final String ticketId) {
         return CAS_TICKET_PREFIX + ticketId;
     }
 
+    // The key of the sorted set that indexes tickets of the given type
+    private static String getTicketTypeRedisKey(final String prefix) {
+        return CAS_TICKET_TYPE_PREFIX + prefix;
+    }
+
+    // The key of the hash that records the service sessions of a ticket-granting ticket
+    private static String getTicketServicesRedisKey(final String ticketId) {
+        return CAS_TICKET_SERVICES_PREFIX + ticketId;
+    }
+
     // pattern all ticket redisKey
     private static String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + "*";
     }
+
+    // pattern all ticket type index redisKey
+    private static String getPatternTicketTypeRedisKey() {
+        return CAS_TICKET_TYPE_PREFIX + "*";
+    }
+
+    // pattern all ticket service sessions redisKey
+    private static String getPatternTicketServicesRedisKey() {
+        return CAS_TICKET_SERVICES_PREFIX + "*";
+    }
 }
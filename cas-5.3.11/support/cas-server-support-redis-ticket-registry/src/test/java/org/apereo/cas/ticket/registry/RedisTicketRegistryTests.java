@@ -1,14 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.RedisCategory;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -18,12 +27,18 @@ import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import redis.embedded.RedisServer;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
 
 /**
  * Unit test for {@link RedisTicketRegistry}.
@@ -53,6 +68,10 @@ public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTe
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketRedisTemplate")
+    private RedisTemplate<String, Ticket> ticketRedisTemplate;
+
     public RedisTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -78,4 +97,101 @@ public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTe
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketCountsUseTypeIndex() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-COUNT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-COUNT-2",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        final ServiceTicket st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-COUNT-1",
+            RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt);
+
+        assertEquals(2, ticketRegistry.sessionCount());
+        assertEquals(1, ticketRegistry.serviceTicketCount());
+        assertEquals(3, ticketRegistry.getTickets().size());
+
+        ticketRegistry.deleteSingleTicket(st.getId());
+        assertEquals(0, ticketRegistry.serviceTicketCount());
+
+        ticketRegistry.deleteAll();
+        assertEquals(0, ticketRegistry.sessionCount());
+    }
+
+    @Test
+    public void verifyServiceSessionsAreMergedIntoTicketGrantingTicket() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-SESSIONS-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        final ServiceTicket st1 = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-SESSIONS-1",
+            RegisteredServiceTestUtils.getService("https://one.example.org"), new NeverExpiresExpirationPolicy(), false, false);
+        ticketRegistry.addServiceSession(tgt, st1);
+        final ServiceTicket st2 = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-SESSIONS-2",
+            RegisteredServiceTestUtils.getService("https://two.example.org"), new NeverExpiresExpirationPolicy(), false, false);
+        ticketRegistry.addServiceSession(tgt, st2);
+
+        final TicketGrantingTicket result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotNull(result);
+        assertEquals(2, result.getServices().size());
+        assertTrue(result.getServices().containsKey(st1.getId()));
+        assertTrue(result.getServices().containsKey(st2.getId()));
+        assertEquals(tgt.getCountOfUses(), result.getCountOfUses());
+
+        ticketRegistry.updateTicket(result);
+        assertEquals(2, ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().size());
+        ticketRegistry.deleteAll();
+    }
+
+    @Test
+    public void verifyActiveTicketIsCountedPastFirstExpiration() {
+        ticketRegistry.deleteAll();
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-ACTIVE-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new MultiTimeUseOrTimeoutExpirationPolicy(100, 60));
+        ticketRegistry.addTicket(tgt);
+
+        final String ticketKey = "CAS_TICKET:" + tgt.getId();
+        final String typeKey = "CAS_TICKET_TYPE:" + TicketGrantingTicket.PREFIX;
+        final long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        ticketRedisTemplate.expire(ticketKey, 1, TimeUnit.SECONDS);
+        ticketRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+            connection.zAdd(serializeKey(typeKey), now + 1, serializeKey(tgt.getId())));
+
+        final ServiceTicket st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-ACTIVE-1",
+            RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, false);
+        ticketRegistry.addServiceSession(tgt, st);
+
+        assertTrue(ticketRedisTemplate.getExpire(ticketKey, TimeUnit.SECONDS) > 1);
+        final Double score = ticketRedisTemplate.execute((RedisCallback<Double>) connection ->
+            connection.zScore(serializeKey(typeKey), serializeKey(tgt.getId())));
+        assertNotNull(score);
+        assertTrue(score > now + 1);
+        assertNotNull(ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+        assertEquals(1, ticketRegistry.sessionCount());
+        ticketRegistry.deleteAll();
+    }
+
+    @Test
+    public void verifySessionRecordedWhileStoringIsKept() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-RACE-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        final TicketGrantingTicket stale = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+
+        final ServiceTicket st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-RACE-1",
+            RegisteredServiceTestUtils.getService("https://one.example.org"), new NeverExpiresExpirationPolicy(), false, false);
+        ticketRegistry.addServiceSession(tgt, st);
+        ticketRegistry.updateTicket(stale);
+
+        final TicketGrantingTicket result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotNull(result);
+        assertTrue(result.getServices().containsKey(st.getId()));
+        ticketRegistry.deleteAll();
+    }
+
+    private byte[] serializeKey(final String key) {
+        return ((RedisSerializer<String>) ticketRedisTemplate.getKeySerializer()).serialize(key);
+    }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.web.report;
 
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Principal;
@@ -9,6 +10,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
@@ -28,6 +30,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.Getter;
 
@@ -96,22 +100,27 @@ public class SingleSignOnSessionsReportController extends BaseCasMvcEndpoint {
 
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final TicketRegistry ticketRegistry;
+
     public SingleSignOnSessionsReportController(final CentralAuthenticationService centralAuthenticationService,
+                                                final TicketRegistry ticketRegistry,
                                                 final CasConfigurationProperties casProperties) {
         super("ssosessions", "/ssosessions", casProperties.getMonitor().getEndpoints().getSingleSignOnReport(), casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
     }
 
     /**
      * Gets sso sessions.
      *
-     * @param option the option
+     * @param option   the option
+     * @param username the username whose sessions should be reported, or blank for all sessions
      * @return the sso sessions
      */
-    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option) {
+    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option, final String username) {
         final Collection<Map<String, Object>> activeSessions = new ArrayList<>();
         final ISOStandardDateFormat dateFormat = new ISOStandardDateFormat();
-        getNonExpiredTicketGrantingTickets().stream().map(TicketGrantingTicket.class::cast)
+        getNonExpiredTicketGrantingTickets(username).stream().map(TicketGrantingTicket.class::cast)
             .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
             .forEach(tgt -> {
                 final Authentication authentication = tgt.getAuthentication();
@@ -141,10 +150,18 @@ public class SingleSignOnSessionsReportController extends BaseCasMvcEndpoint {
 
     /**
      * Gets non expired ticket granting tickets.
+     * If a username is specified, the principal index of the ticket registry is used
+     * to look up the sessions instead of walking over all tickets.
      *
+     * @param username the username
      * @return the non expired ticket granting tickets
      */
-    private Collection<Ticket> getNonExpiredTicketGrantingTickets() {
+    private Collection<Ticket> getNonExpiredTicketGrantingTickets(final String username) {
+        if (StringUtils.isNotBlank(username)) {
+            try (Stream<TicketGrantingTicket> sessions = this.ticketRegistry.getSessionsFor(username)) {
+                return sessions.collect(Collectors.toList());
+            }
+        }
         return this.centralAuthenticationService.getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
     }
 
@@ -152,6 +169,7 @@ public class SingleSignOnSessionsReportController extends BaseCasMvcEndpoint {
      * Endpoint for getting SSO Sessions in JSON format.
      *
      * @param type     the type
+     * @param username the username whose sessions should be reported; all sessions if left undefined
      * @param request  the request
      * @param response the response
      * @return the sso sessions
@@ -159,12 +177,13 @@ public class SingleSignOnSessionsReportController extends BaseCasMvcEndpoint {
     @GetMapping(value = "/getSsoSessions")
     @ResponseBody
     public WebAsyncTask<Map<String, Object>> getSsoSessions(@RequestParam(defaultValue = "ALL") final String type,
+                                                            @RequestParam(required = false) final String username,
                                                             final HttpServletRequest request, final HttpServletResponse response) {
         ensureEndpointAccessIsAuthorized(request, response);
         final Callable<Map<String, Object>> asyncTask = () -> {
             final Map<String, Object> sessionsMap = new HashMap<>(1);
             final SsoSessionReportOptions option = SsoSessionReportOptions.valueOf(type);
-            final Collection<Map<String, Object>> activeSsoSessions = getActiveSsoSessions(option);
+            final Collection<Map<String, Object>> activeSsoSessions = getActiveSsoSessions(option, username);
             sessionsMap.put("activeSsoSessions", activeSsoSessions);
             long totalTicketGrantingTickets = 0;
             long totalProxyGrantingTickets = 0;
@@ -229,6 +248,7 @@ public class SingleSignOnSessionsReportController extends BaseCasMvcEndpoint {
      * Endpoint for destroying SSO Sessions.
      *
      * @param type     the type
+     * @param username the username whose sessions should be destroyed; all sessions if left undefined
      * @param request  the request
      * @param response the response
      * @return result map
@@ -236,12 +256,13 @@ public class SingleSignOnSessionsReportController extends BaseCasMvcEndpoint {
     @PostMapping(value = "/destroySsoSessions")
     @ResponseBody
     public Map<String, Object> destroySsoSessions(@RequestParam(defaultValue = "ALL") final String type,
+                                                  @RequestParam(required = false) final String username,
                                                   final HttpServletRequest request, final HttpServletResponse response) {
         ensureEndpointAccessIsAuthorized(request, response);
         final Map<String, Object> sessionsMap = new HashMap<>();
         final Map<String, String> failedTickets = new HashMap<>();
         final SsoSessionReportOptions option = SsoSessionReportOptions.valueOf(type);
-        final Collection<Map<String, Object>> collection = getActiveSsoSessions(option);
+        final Collection<Map<String, Object>> collection = getActiveSsoSessions(option, username);
         collection.stream().map(sso -> sso.get(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.getAttributeKey()).toString()).forEach(ticketGrantingTicket -> {
             try {
                 this.centralAuthenticationService.destroyTicketGrantingTicket(ticketGrantingTicket);
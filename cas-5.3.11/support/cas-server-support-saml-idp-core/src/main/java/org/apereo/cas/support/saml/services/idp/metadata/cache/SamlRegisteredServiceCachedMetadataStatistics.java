@@ -0,0 +1,80 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * This is {@link SamlRegisteredServiceCachedMetadataStatistics} that describes
+ * the metadata resolver cached for a SAML service: how long it took to load,
+ * when it was loaded, and how many attempts to refresh it have failed since.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class SamlRegisteredServiceCachedMetadataStatistics {
+    private final String serviceName;
+
+    private final String metadataLocation;
+
+    /**
+     * How long it took to load the cached metadata resolver.
+     */
+    private final Duration loadDuration;
+
+    /**
+     * When the cached metadata resolver was loaded.
+     */
+    private final Instant loadedAt;
+
+    /**
+     * How long the cached metadata resolver was meant to be cached for.
+     */
+    private final Duration lifetime;
+
+    /**
+     * Number of attempts to refresh the metadata resolver that failed since it was loaded.
+     */
+    private final int failedRefreshes;
+
+    /**
+     * When the last attempt to refresh the metadata resolver failed, if any.
+     */
+    private final Instant lastFailedRefresh;
+
+    /**
+     * Gets how long ago the cached metadata resolver was loaded.
+     *
+     * @return the age
+     */
+    public Duration getAge() {
+        return Duration.between(this.loadedAt, Instant.now());
+    }
+
+    /**
+     * Gets how long the cached metadata resolver has been served past its lifetime,
+     * which happens when refreshing it fails.
+     *
+     * @return the staleness
+     */
+    public Duration getStaleness() {
+        final Duration staleness = getAge().minus(this.lifetime);
+        return staleness.isNegative() ? Duration.ZERO : staleness;
+    }
+
+    /**
+     * Record a failed attempt to refresh the metadata resolver.
+     *
+     * @return the updated statistics
+     */
+    public SamlRegisteredServiceCachedMetadataStatistics withFailedRefresh() {
+        return new SamlRegisteredServiceCachedMetadataStatistics(this.serviceName, this.metadataLocation,
+            this.loadDuration, this.loadedAt, this.lifetime, this.failedRefreshes + 1, Instant.now());
+    }
+}
@@ -3,6 +3,9 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * This is {@link SamlRegisteredServiceCachingMetadataResolver}
  * that defines how metadata is to be resolved and cached for a given saml
@@ -21,4 +24,13 @@ public interface SamlRegisteredServiceCachingMetadataResolver {
      * @return the chaining metadata resolver
      */
     MetadataResolver resolve(SamlRegisteredService service);
+
+    /**
+     * Gets statistics for each metadata resolver that is currently cached, keyed by cache key.
+     *
+     * @return the statistics
+     */
+    default Map<String, SamlRegisteredServiceCachedMetadataStatistics> getCachedMetadataStatistics() {
+        return new HashMap<>(0);
+    }
 }
@@ -2,33 +2,91 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>When refreshing ahead is turned on, cached metadata that is about to expire is reloaded
+ * in the background, while the cached metadata continues to be served until the reloaded metadata
+ * replaces it. If reloading fails, the cached metadata continues to be served and reloading is retried.
+ * Only metadata that was resolved within its last lifetime is refreshed in the background, and cached metadata
+ * is discarded as soon as the definition of its service changes.</p>
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
+public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver, AutoCloseable {
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final long REFRESH_AHEAD_INTERVAL_SECONDS = 30;
+
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
+    private final SamlRegisteredServiceMetadataExpirationPolicy expirationPolicy;
     private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
 
+    private final Map<String, SamlRegisteredServiceCachedMetadataStatistics> statistics = new ConcurrentHashMap<>();
+    private final Map<String, CachedService> services = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final double refreshAheadRatio;
+    private final ScheduledExecutorService refreshExecutor;
+
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, loader, 0, 0);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader,
+                                                               final int refreshAheadPercentage,
+                                                               final int refreshAheadThreads) {
         this.chainingMetadataResolverCacheLoader = loader;
+        this.expirationPolicy = new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes);
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .expireAfter(this.expirationPolicy)
+            .removalListener((SamlRegisteredServiceCacheKey key, MetadataResolver resolver, RemovalCause cause) -> {
+                if (key != null && cause.wasEvicted()) {
+                    this.statistics.computeIfPresent(key.getId(), (id, stats) -> this.cache.asMap().containsKey(key) ? stats : null);
+                    this.services.computeIfPresent(key.getId(), (id, cached) -> this.cache.asMap().containsKey(key) ? cached : null);
+                }
+            })
+            .build(this::load);
+        this.refreshAheadRatio = Math.min(Math.max(refreshAheadPercentage, 0), 100) / 100D;
+        if (this.refreshAheadRatio > 0 && refreshAheadThreads > 0) {
+            final AtomicInteger count = new AtomicInteger();
+            this.refreshExecutor = Executors.newScheduledThreadPool(refreshAheadThreads, r -> {
+                final Thread thread = new Thread(r, "cas-saml-metadata-refresh-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.refreshExecutor.scheduleWithFixedDelay(this::refreshAhead,
+                REFRESH_AHEAD_INTERVAL_SECONDS, REFRESH_AHEAD_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            LOGGER.debug("Cached metadata will be refreshed in the background once [{}]% of its lifetime remains", refreshAheadPercentage);
+        } else {
+            this.refreshExecutor = null;
+        }
     }
 
     @Override
@@ -38,7 +96,13 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
             LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
             final SamlRegisteredServiceCacheKey k = new SamlRegisteredServiceCacheKey(service);
             LOGGER.debug("Locating cached metadata resolver using key [{}] for service [{}]", k.getId(), service.getName());
+            final CachedService previous = this.services.put(k.getId(), new CachedService(service, System.nanoTime()));
+            if (previous != null && !previous.getService().equals(service)) {
+                LOGGER.debug("Definition of service [{}] has changed; discarding its cached metadata", service.getName());
+                this.cache.invalidate(k);
+            }
             resolver = this.cache.get(k);
+            refreshAheadIfNeeded(k);
             return resolver;
         } finally {
             if (resolver != null) {
@@ -48,4 +112,129 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
             }
         }
     }
+
+    @Override
+    public Map<String, SamlRegisteredServiceCachedMetadataStatistics> getCachedMetadataStatistics() {
+        return this.cache.asMap().keySet()
+            .stream()
+            .map(SamlRegisteredServiceCacheKey::getId)
+            .filter(this.statistics::containsKey)
+            .collect(Collectors.toMap(id -> id, this.statistics::get, (first, second) -> second));
+    }
+
+    @Override
+    public void close() {
+        if (this.refreshExecutor != null) {
+            this.refreshExecutor.shutdownNow();
+        }
+    }
+
+    private MetadataResolver load(final SamlRegisteredServiceCacheKey key) {
+        final long start = System.nanoTime();
+        final MetadataResolver resolver = this.chainingMetadataResolverCacheLoader.load(key);
+        final Duration loadDuration = Duration.ofNanos(System.nanoTime() - start);
+        final Duration lifetime = Duration.ofNanos(this.expirationPolicy.expireAfterCreate(key, resolver, System.nanoTime()));
+        final SamlRegisteredService service = key.getRegisteredService();
+        this.statistics.put(key.getId(), new SamlRegisteredServiceCachedMetadataStatistics(service.getName(),
+            service.getMetadataLocation(), loadDuration, Instant.now(), lifetime, 0, null));
+        LOGGER.debug("Loaded metadata for [{}] from [{}] in [{}] ms, to be cached for [{}]",
+            service.getName(), service.getMetadataLocation(), loadDuration.toMillis(), lifetime);
+        return resolver;
+    }
+
+    private void refreshAhead() {
+        try {
+            this.cache.asMap().keySet()
+                .stream()
+                .filter(this::isRecentlyResolved)
+                .forEach(this::refreshAheadIfNeeded);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private void refreshAheadIfNeeded(final SamlRegisteredServiceCacheKey key) {
+        if (this.refreshExecutor == null) {
+            return;
+        }
+        final SamlRegisteredServiceCachedMetadataStatistics stats = this.statistics.get(key.getId());
+        if (stats == null || !isDueForRefresh(key, stats) || !this.refreshing.add(key.getId())) {
+            return;
+        }
+        try {
+            this.refreshExecutor.execute(() -> refresh(key, stats));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.trace(e.getMessage(), e);
+            this.refreshing.remove(key.getId());
+        }
+    }
+
+    /**
+     * Metadata that was not resolved within its last lifetime is left to expire,
+     * rather than kept alive by background refreshes.
+     */
+    private boolean isRecentlyResolved(final SamlRegisteredServiceCacheKey key) {
+        final CachedService cached = this.services.get(key.getId());
+        final SamlRegisteredServiceCachedMetadataStatistics stats = this.statistics.get(key.getId());
+        return cached != null && stats != null
+            && System.nanoTime() - cached.getLastResolved() <= stats.getLifetime().toNanos();
+    }
+
+    private boolean isDueForRefresh(final SamlRegisteredServiceCacheKey key, final SamlRegisteredServiceCachedMetadataStatistics stats) {
+        final Instant lastFailedRefresh = stats.getLastFailedRefresh();
+        if (lastFailedRefresh != null
+            && lastFailedRefresh.plusSeconds(REFRESH_AHEAD_INTERVAL_SECONDS).isAfter(Instant.now())) {
+            return false;
+        }
+        final long window = getRefreshAheadWindow(stats);
+        return this.cache.policy().expireVariably()
+            .map(policy -> policy.getExpiresAfter(key, TimeUnit.NANOSECONDS))
+            .filter(OptionalLong::isPresent)
+            .map(remaining -> remaining.getAsLong() <= window)
+            .orElse(Boolean.FALSE);
+    }
+
+    private long getRefreshAheadWindow(final SamlRegisteredServiceCachedMetadataStatistics stats) {
+        return (long) (stats.getLifetime().toNanos() * this.refreshAheadRatio);
+    }
+
+    private void refresh(final SamlRegisteredServiceCacheKey key, final SamlRegisteredServiceCachedMetadataStatistics stats) {
+        try {
+            final CachedService cached = this.services.get(key.getId());
+            if (cached == null) {
+                return;
+            }
+            final SamlRegisteredServiceCacheKey current = new SamlRegisteredServiceCacheKey(cached.getService());
+            LOGGER.debug("Refreshing cached metadata for [{}] from [{}]", cached.getService().getName(), cached.getService().getMetadataLocation());
+            final MetadataResolver resolver = load(current);
+            final CachedService latest = this.services.get(key.getId());
+            if (latest != null && latest.getService().equals(cached.getService())) {
+                this.cache.put(current, resolver);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh metadata for [{}] from [{}]; previously loaded metadata will continue to be used: [{}]",
+                stats.getServiceName(), stats.getMetadataLocation(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            this.statistics.computeIfPresent(key.getId(), (id, current) -> current.withFailedRefresh());
+            final long retryAfter = Math.max(getRefreshAheadWindow(stats), TimeUnit.SECONDS.toNanos(2 * REFRESH_AHEAD_INTERVAL_SECONDS));
+            this.cache.policy().expireVariably().ifPresent(policy -> policy.getExpiresAfter(key, TimeUnit.NANOSECONDS)
+                .ifPresent(remaining -> {
+                    if (remaining < retryAfter) {
+                        policy.setExpiresAfter(key, retryAfter, TimeUnit.NANOSECONDS);
+                    }
+                }));
+        } finally {
+            this.refreshing.remove(key.getId());
+        }
+    }
+
+    /**
+     * The latest definition of a service whose metadata is cached, and when its metadata was last resolved.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedService {
+        private final SamlRegisteredService service;
+        private final long lastResolved;
+    }
 }
@@ -71,12 +71,17 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
         return -1;
     }
 
+    /**
+     * Metadata is only updated once it is reloaded, so it is cached anew
+     * for as long as the reloaded metadata allows.
+     */
     @Override
     public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
-        LOGGER.debug("Cache expiration duration after updates is set to [{}]", currentDuration);
-        return currentDuration;
+        final long duration = expireAfterCreate(cacheKey, chainingMetadataResolver, currentTime);
+        LOGGER.debug("Cache expiration duration after updates is set to [{}]", duration);
+        return duration;
     }
 
     @Override
@@ -0,0 +1,150 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CoreSamlConfiguration;
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.UrlResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
+import org.apereo.cas.util.MockWebServer;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+import org.springframework.util.SocketUtils;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CoreSamlConfiguration.class
+})
+@Category(FileSystemCategory.class)
+@TestPropertySource(properties = {"cas.authn.samlIdp.metadata.location=file:/tmp"})
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests {
+
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    private static final long TIMEOUT = 20_000;
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("shibboleth.OpenSAMLConfig")
+    private OpenSamlConfigBean openSamlConfigBean;
+
+    @Test
+    public void verifyMetadataIsRefreshedAhead() throws Exception {
+        final int port = SocketUtils.findAvailableTcpPort();
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName("RefreshAhead");
+        service.setId(1000);
+        service.setServiceId("https://carmenwiki.osu.edu/shibboleth");
+        service.setMetadataLocation("http://localhost:" + port + "/sample-sp.xml");
+        service.setMetadataExpirationDuration("PT4S");
+
+        try (SamlRegisteredServiceDefaultCachingMetadataResolver resolver = newResolver()) {
+            final String key = SamlRegisteredServiceCacheKey.buildRegisteredServiceCacheKey(service);
+            final MockWebServer webServer = new MockWebServer(port, new ClassPathResource("sample-sp.xml"), MediaType.APPLICATION_XML_VALUE);
+            final MetadataResolver loaded;
+            try {
+                webServer.start();
+                loaded = resolver.resolve(service);
+                assertNotNull(loaded);
+                final SamlRegisteredServiceCachedMetadataStatistics stats = resolver.getCachedMetadataStatistics().get(key);
+                assertNotNull(stats);
+                assertFalse(stats.getLoadDuration().isNegative());
+
+                resolveUntil(resolver, service,
+                    () -> resolver.getCachedMetadataStatistics().get(key).getLoadedAt().isAfter(stats.getLoadedAt()));
+            } finally {
+                webServer.stop();
+            }
+
+            final MetadataResolver refreshed = resolver.resolve(service);
+            assertNotSame(loaded, refreshed);
+
+            resolveUntil(resolver, service, () -> {
+                assertSame(refreshed, resolver.resolve(service));
+                return resolver.getCachedMetadataStatistics().get(key).getFailedRefreshes() > 0;
+            });
+            resolveUntil(resolver, service, () -> {
+                assertSame(refreshed, resolver.resolve(service));
+                return !resolver.getCachedMetadataStatistics().get(key).getStaleness().isZero();
+            });
+        }
+    }
+
+    @Test
+    public void verifyChangedServiceDiscardsCachedMetadata() {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName("Changing");
+        service.setId(1001);
+        service.setServiceId("https://carmenwiki.osu.edu/shibboleth");
+        service.setMetadataLocation("classpath:sample-sp.xml");
+
+        try (SamlRegisteredServiceDefaultCachingMetadataResolver resolver = newResolver()) {
+            final MetadataResolver loaded = resolver.resolve(service);
+            assertNotNull(loaded);
+            assertSame(loaded, resolver.resolve(service));
+
+            service.setDescription("Changed definition");
+            final MetadataResolver reloaded = resolver.resolve(service);
+            assertNotNull(reloaded);
+            assertNotSame(loaded, reloaded);
+            assertSame(reloaded, resolver.resolve(service));
+        }
+    }
+
+    private SamlRegisteredServiceDefaultCachingMetadataResolver newResolver() {
+        final SamlIdPProperties props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        final DefaultSamlRegisteredServiceMetadataResolutionPlan plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(new UrlResourceMetadataResolver(props, openSamlConfigBean));
+        plan.registerMetadataResolver(new ClasspathResourceMetadataResolver(props, openSamlConfigBean));
+        final SamlRegisteredServiceMetadataResolverCacheLoader loader =
+            new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, null, plan);
+        return new SamlRegisteredServiceDefaultCachingMetadataResolver(1, loader, 50, 1);
+    }
+
+    /**
+     * Resolve the service repeatedly, which is what triggers refreshes ahead of expiry,
+     * until the condition holds or the timeout is reached.
+     */
+    private static void resolveUntil(final SamlRegisteredServiceCachingMetadataResolver resolver,
+                                     final SamlRegisteredService service,
+                                     final BooleanSupplier condition) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            resolver.resolve(service);
+            Thread.sleep(100);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -14,6 +14,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -26,7 +27,7 @@ import lombok.Getter;
  * @since 5.2.0
  */
 @Entity
-@Table(name = "SAML2_ARTIFACTS")
+@Table(name = "SAML2_ARTIFACTS", indexes = @Index(name = "IDX_SAML2_ART_EXP_TIME", columnList = "EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(SamlArtifactTicket.PREFIX)
 @Slf4j
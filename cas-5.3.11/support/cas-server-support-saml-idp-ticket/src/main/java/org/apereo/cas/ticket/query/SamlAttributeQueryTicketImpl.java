@@ -15,6 +15,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -27,7 +28,7 @@ import lombok.Getter;
  * @since 5.2.0
  */
 @Entity
-@Table(name = "SAML2_ATTRIBUTE_QUERY_TICKETS")
+@Table(name = "SAML2_ATTRIBUTE_QUERY_TICKETS", indexes = @Index(name = "IDX_SAML2_AQT_EXP_TIME", columnList = "EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(SamlAttributeQueryTicket.PREFIX)
 @Slf4j
@@ -5,14 +5,15 @@ import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPResponseProperties;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
-import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.crypto.CertUtils;
-import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -47,8 +48,6 @@ import org.opensaml.xmlsec.config.impl.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
 import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -56,7 +55,9 @@ import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
@@ -93,6 +94,16 @@ public class SamlIdPObjectSigner {
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    private final SamlIdPSigningCredentialCache signingCredentialCache = new SamlIdPSigningCredentialCache();
+
+    /**
+     * Signature signing parameters resolved for each service provider role descriptor, by credential type.
+     * Descriptors are held weakly and compared by identity, so entries are dropped once the metadata
+     * of the service provider is refreshed.
+     */
+    private final Cache<RoleDescriptor, Map<SamlIdPResponseProperties.SignatureCredentialTypes, ResolvedSignatureSigningParameters>>
+        signatureSigningParameters = Caffeine.newBuilder().weakKeys().build();
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -219,6 +230,16 @@ public class SamlIdPObjectSigner {
     @SneakyThrows
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
                                                                          final SamlRegisteredService service) {
+        final SamlIdPSigningCredentialCache.SigningCredentials credentials = getSigningCredentials();
+        final SamlIdPResponseProperties.SignatureCredentialTypes credType = getSigningCredentialType(service);
+        final Map<SamlIdPResponseProperties.SignatureCredentialTypes, ResolvedSignatureSigningParameters> resolved =
+            this.signatureSigningParameters.get(descriptor, k -> new ConcurrentHashMap<>());
+        final ResolvedSignatureSigningParameters previous = resolved.get(credType);
+        if (previous != null && previous.getCredentials() == credentials) {
+            LOGGER.trace("Using signature signing parameters previously resolved for [{}]", descriptor.getElementQName().getLocalPart());
+            return previous.getParameters();
+        }
+
         final CriteriaSet criteria = new CriteriaSet();
         final SignatureSigningConfiguration signatureSigningConfiguration = getSignatureSigningConfiguration(descriptor, service);
         criteria.add(new SignatureSigningConfigurationCriterion(signatureSigningConfiguration));
@@ -235,6 +256,7 @@ public class SamlIdPObjectSigner {
             params.getSignatureCanonicalizationAlgorithm(),
             params.getSignatureReferenceDigestMethod());
 
+        resolved.put(credType, new ResolvedSignatureSigningParameters(credentials, params));
         return params;
 
     }
@@ -311,11 +333,8 @@ public class SamlIdPObjectSigner {
 
     private AbstractCredential getResolvedSigningCredential(final Credential c, final PrivateKey privateKey,
                                                             final SamlRegisteredService service) {
-        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
-
         try {
-            final SamlIdPResponseProperties.SignatureCredentialTypes credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
-                StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase());
+            final SamlIdPResponseProperties.SignatureCredentialTypes credType = getSigningCredentialType(service);
             LOGGER.debug("Requested credential type [{}] is found for service [{}]", credType, service);
 
             switch (credType) {
@@ -329,10 +348,12 @@ public class SamlIdPObjectSigner {
                         LOGGER.debug("Locating signature signing certificate from credential [{}]", CertUtils.toString(certificate));
                         return new BasicX509Credential(certificate, privateKey);
                     }
-                    final Resource signingCert = samlIdPMetadataLocator.getSigningCertificate();
-                    LOGGER.debug("Locating signature signing certificate file from [{}]", signingCert);
-                    final X509Certificate certificate = SamlUtils.readCertificate(signingCert);
-                    return new BasicX509Credential(certificate, privateKey);
+                    final SamlIdPSigningCredentialCache.SigningCredentials credentials = getSigningCredentials();
+                    LOGGER.debug("Locating signature signing certificate file from [{}]", credentials.getSigningCertificate());
+                    if (credentials.getCertificate() == null) {
+                        throw new IllegalArgumentException("Error reading certificate " + credentials.getSigningCertificate());
+                    }
+                    return new BasicX509Credential(credentials.getCertificate(), privateKey);
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -340,6 +361,24 @@ public class SamlIdPObjectSigner {
         return null;
     }
 
+    private SamlIdPResponseProperties.SignatureCredentialTypes getSigningCredentialType(final SamlRegisteredService service) {
+        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
+        return SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
+            StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase());
+    }
+
+    /**
+     * Gets signing credentials, which are loaded once and reloaded when the key or certificate changes.
+     *
+     * @return the signing credentials
+     * @throws Exception the exception
+     */
+    protected SamlIdPSigningCredentialCache.SigningCredentials getSigningCredentials() throws Exception {
+        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
+        return this.signingCredentialCache.get(samlIdPMetadataLocator.getSigningKey(),
+            samlIdPMetadataLocator.getSigningCertificate(), samlIdp.getMetadata().getPrivateKeyAlgName());
+    }
+
     /**
      * Gets signing private key.
      *
@@ -347,13 +386,17 @@ public class SamlIdPObjectSigner {
      * @throws Exception the exception
      */
     protected PrivateKey getSigningPrivateKey() throws Exception {
-        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
-        final Resource signingKey = samlIdPMetadataLocator.getSigningKey();
-        final PrivateKeyFactoryBean privateKeyFactoryBean = new PrivateKeyFactoryBean();
-        privateKeyFactoryBean.setLocation(new FileSystemResource(signingKey.getFile()));
-        privateKeyFactoryBean.setAlgorithm(samlIdp.getMetadata().getPrivateKeyAlgName());
-        privateKeyFactoryBean.setSingleton(false);
-        LOGGER.debug("Locating signature signing key file from [{}]", signingKey);
-        return privateKeyFactoryBean.getObject();
+        return getSigningCredentials().getPrivateKey();
+    }
+
+    /**
+     * Signature signing parameters along with the signing credentials they were resolved with.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class ResolvedSignatureSigningParameters {
+        private final SamlIdPSigningCredentialCache.SigningCredentials credentials;
+
+        private final SignatureSigningParameters parameters;
     }
 }
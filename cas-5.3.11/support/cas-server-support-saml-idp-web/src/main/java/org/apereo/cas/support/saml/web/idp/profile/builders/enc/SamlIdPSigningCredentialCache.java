@@ -0,0 +1,122 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.Objects;
+
+/**
+ * This is {@link SamlIdPSigningCredentialCache} that holds the signing key and certificate of the identity provider
+ * in memory, so they are parsed once rather than for every signed object.
+ * The key and certificate are reloaded together when either resource is replaced or its last-modified timestamp changes.
+ * Credentials whose certificate cannot be read are not kept, so that reading them is attempted again on the next access.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class SamlIdPSigningCredentialCache {
+    private final Object lock = new Object();
+
+    private volatile SigningCredentials credentials;
+
+    /**
+     * Gets the signing credentials, reloading them if the key or certificate resource has changed.
+     *
+     * @param signingKey          the signing key
+     * @param signingCertificate  the signing certificate
+     * @param privateKeyAlgorithm the private key algorithm
+     * @return the signing credentials
+     * @throws Exception the exception
+     */
+    public SigningCredentials get(final Resource signingKey, final Resource signingCertificate,
+                                  final String privateKeyAlgorithm) throws Exception {
+        final long keyLastModified = getLastModified(signingKey);
+        final long certificateLastModified = getLastModified(signingCertificate);
+        final SigningCredentials current = this.credentials;
+        if (current != null && current.matches(signingKey, keyLastModified, signingCertificate, certificateLastModified, privateKeyAlgorithm)) {
+            return current;
+        }
+        synchronized (this.lock) {
+            if (this.credentials != null
+                && this.credentials.matches(signingKey, keyLastModified, signingCertificate, certificateLastModified, privateKeyAlgorithm)) {
+                return this.credentials;
+            }
+            LOGGER.debug("Loading signing key from [{}] and signing certificate from [{}]", signingKey, signingCertificate);
+            final SigningCredentials loaded = new SigningCredentials(signingKey, keyLastModified, signingCertificate, certificateLastModified,
+                privateKeyAlgorithm, readPrivateKey(signingKey, privateKeyAlgorithm), readCertificate(signingCertificate));
+            if (loaded.getCertificate() != null) {
+                this.credentials = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    private static PrivateKey readPrivateKey(final Resource signingKey, final String privateKeyAlgorithm) throws Exception {
+        final PrivateKeyFactoryBean privateKeyFactoryBean = new PrivateKeyFactoryBean();
+        privateKeyFactoryBean.setLocation(new FileSystemResource(signingKey.getFile()));
+        privateKeyFactoryBean.setAlgorithm(privateKeyAlgorithm);
+        privateKeyFactoryBean.setSingleton(false);
+        return privateKeyFactoryBean.getObject();
+    }
+
+    private static X509Certificate readCertificate(final Resource signingCertificate) {
+        try {
+            return SamlUtils.readCertificate(signingCertificate);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read signing certificate from [{}]: [{}]", signingCertificate, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static long getLastModified(final Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * A copy of the signing key and certificate as loaded from their resources.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SigningCredentials {
+        private final Resource signingKey;
+
+        private final long signingKeyLastModified;
+
+        private final Resource signingCertificate;
+
+        private final long signingCertificateLastModified;
+
+        private final String privateKeyAlgorithm;
+
+        private final PrivateKey privateKey;
+
+        /**
+         * The signing certificate, or {@code null} if it could not be read, in which case the credentials are not cached.
+         */
+        private final X509Certificate certificate;
+
+        private boolean matches(final Resource signingKey, final long signingKeyLastModified,
+                                final Resource signingCertificate, final long signingCertificateLastModified,
+                                final String privateKeyAlgorithm) {
+            return Objects.equals(this.signingKey, signingKey)
+                && this.signingKeyLastModified == signingKeyLastModified
+                && Objects.equals(this.signingCertificate, signingCertificate)
+                && this.signingCertificateLastModified == signingCertificateLastModified
+                && Objects.equals(this.privateKeyAlgorithm, privateKeyAlgorithm);
+        }
+    }
+}
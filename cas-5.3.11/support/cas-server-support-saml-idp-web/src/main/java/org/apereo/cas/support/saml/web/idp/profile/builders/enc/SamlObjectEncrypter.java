@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
@@ -16,6 +18,7 @@ import org.opensaml.saml.metadata.resolver.RoleDescriptorResolver;
 import org.opensaml.saml.saml2.core.Assertion;
 import org.opensaml.saml.saml2.core.EncryptedAssertion;
 import org.opensaml.saml.saml2.encryption.Encrypter;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.opensaml.saml.security.impl.MetadataCredentialResolver;
 import org.opensaml.security.credential.Credential;
@@ -73,6 +76,20 @@ public class SamlObjectEncrypter {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    /**
+     * Resolves credentials from the key info of service provider metadata; shared across resolutions.
+     */
+    private final BasicProviderKeyInfoCredentialResolver keyInfoCredentialResolver = buildKeyInfoCredentialResolver();
+
+    /**
+     * Key encryption credentials resolved for each service provider role descriptor.
+     * Descriptors are held weakly and compared by identity, so entries are dropped once the metadata
+     * of the service provider is refreshed.
+     */
+    private final Cache<RoleDescriptor, Credential> keyEncryptionCredentials = Caffeine.newBuilder().weakKeys().build();
+
+    private volatile BasicEncryptionConfiguration encryptionConfiguration;
+
     public SamlObjectEncrypter(final List overrideDataEncryptionAlgorithms, final List overrideKeyEncryptionAlgorithms,
                                final List overrideBlackListedEncryptionAlgorithms, final List overrideWhiteListedAlgorithms) {
         this.overrideDataEncryptionAlgorithms = overrideDataEncryptionAlgorithms;
@@ -103,7 +120,6 @@ public class SamlObjectEncrypter {
         final String entityId = adaptor.getEntityId();
         LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
         final Credential credential = getKeyEncryptionCredential(entityId, adaptor, service);
-        LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
 
         final KeyEncryptionParameters keyEncParams = getKeyEncryptionParameters(samlObject, service, adaptor, credential);
         LOGGER.debug("Key encryption algorithm for [{}] is [{}]", keyEncParams.getRecipient(), keyEncParams.getAlgorithm());
@@ -173,7 +189,8 @@ public class SamlObjectEncrypter {
     }
 
     /**
-     * Gets key encryption credential.
+     * Gets key encryption credential, as previously resolved for the SP SSO descriptor of the service provider if any.
+     * Credentials are not cached when the metadata carries no SP SSO descriptor.
      *
      * @param peerEntityId the peer entity id
      * @param adaptor      the adaptor
@@ -184,7 +201,72 @@ public class SamlObjectEncrypter {
     protected Credential getKeyEncryptionCredential(final String peerEntityId,
                                                     final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
                                                     final SamlRegisteredService service) throws Exception {
+        final RoleDescriptor descriptor = adaptor.getSsoDescriptor();
+        if (descriptor == null) {
+            LOGGER.debug("No SP SSO descriptor is found for entity id [{}]; the encryption key is resolved without caching", peerEntityId);
+            return resolveKeyEncryptionCredential(peerEntityId, adaptor, service);
+        }
+        final Credential cached = this.keyEncryptionCredentials.getIfPresent(descriptor);
+        if (cached != null) {
+            LOGGER.trace("Using the encryption key previously resolved for entity id [{}]", peerEntityId);
+            return cached;
+        }
+        final Credential credential = resolveKeyEncryptionCredential(peerEntityId, adaptor, service);
+        if (credential != null) {
+            this.keyEncryptionCredentials.put(descriptor, credential);
+        }
+        return credential;
+    }
+
+    /**
+     * Resolve the key encryption credential from the metadata of the service provider.
+     *
+     * @param peerEntityId the peer entity id
+     * @param adaptor      the adaptor
+     * @param service      the service
+     * @return the key encryption credential
+     * @throws Exception the exception
+     */
+    protected Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                        final SamlRegisteredService service) throws Exception {
         final SamlIdPProperties idp = casProperties.getAuthn().getSamlIdp();
+        final MetadataCredentialResolver kekCredentialResolver = new MetadataCredentialResolver();
+        kekCredentialResolver.setKeyInfoCredentialResolver(this.keyInfoCredentialResolver);
+
+        final RoleDescriptorResolver roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(adaptor,
+            idp.getMetadata().isRequireValidMetadata());
+
+        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
+        kekCredentialResolver.initialize();
+
+        final CriteriaSet criteriaSet = new CriteriaSet();
+        criteriaSet.add(new EncryptionConfigurationCriterion(getEncryptionConfiguration()));
+        criteriaSet.add(new EntityIdCriterion(peerEntityId));
+        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
+        criteriaSet.add(new UsageCriterion(UsageType.ENCRYPTION));
+
+        LOGGER.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
+        final Credential credential = kekCredentialResolver.resolveSingle(criteriaSet);
+        if (credential != null) {
+            LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
+        }
+        return credential;
+    }
+
+    /**
+     * Gets the encryption configuration, which is built once from the defaults and the configured overrides.
+     *
+     * @return the encryption configuration
+     */
+    protected BasicEncryptionConfiguration getEncryptionConfiguration() {
+        if (this.encryptionConfiguration == null) {
+            this.encryptionConfiguration = buildEncryptionConfiguration();
+        }
+        return this.encryptionConfiguration;
+    }
+
+    private BasicEncryptionConfiguration buildEncryptionConfiguration() {
         final BasicEncryptionConfiguration config =
             DefaultSecurityConfigurationBootstrap.buildDefaultEncryptionConfiguration();
 
@@ -208,34 +290,16 @@ public class SamlObjectEncrypter {
         LOGGER.debug("Encryption key algorithms: [{}]", config.getKeyTransportEncryptionAlgorithms());
         LOGGER.debug("Signature data algorithms: [{}]", config.getDataEncryptionAlgorithms());
         LOGGER.debug("Encryption whitelisted algorithms: [{}]", config.getWhitelistedAlgorithms());
+        return config;
+    }
 
-        final MetadataCredentialResolver kekCredentialResolver = new MetadataCredentialResolver();
-
+    private static BasicProviderKeyInfoCredentialResolver buildKeyInfoCredentialResolver() {
         final List<KeyInfoProvider> providers = new ArrayList<>();
         providers.add(new RSAKeyValueProvider());
         providers.add(new DSAKeyValueProvider());
         providers.add(new InlineX509DataProvider());
         providers.add(new DEREncodedKeyValueProvider());
         providers.add(new KeyInfoReferenceProvider());
-
-        final BasicProviderKeyInfoCredentialResolver keyInfoResolver = new BasicProviderKeyInfoCredentialResolver(providers);
-        kekCredentialResolver.setKeyInfoCredentialResolver(keyInfoResolver);
-
-        final RoleDescriptorResolver roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(adaptor,
-            idp.getMetadata().isRequireValidMetadata());
-
-        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
-        kekCredentialResolver.initialize();
-
-        final CriteriaSet criteriaSet = new CriteriaSet();
-        criteriaSet.add(new EncryptionConfigurationCriterion(config));
-        criteriaSet.add(new EntityIdCriterion(peerEntityId));
-        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
-        criteriaSet.add(new UsageCriterion(UsageType.ENCRYPTION));
-
-        LOGGER.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
-        return kekCredentialResolver.resolveSingle(criteriaSet);
+        return new BasicProviderKeyInfoCredentialResolver(providers);
     }
-
-
 }
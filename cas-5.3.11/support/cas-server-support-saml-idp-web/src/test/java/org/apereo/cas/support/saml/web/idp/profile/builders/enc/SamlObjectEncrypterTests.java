@@ -0,0 +1,107 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.opensaml.security.credential.Credential;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlObjectEncrypterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class SamlObjectEncrypterTests {
+    private static final String ENTITY_ID = "https://sp.example.org";
+
+    private final SamlRegisteredService service = new SamlRegisteredService();
+
+    private CountingSamlObjectEncrypter encrypter;
+
+    @Before
+    public void setUp() {
+        this.service.setServiceId(ENTITY_ID);
+        this.encrypter = new CountingSamlObjectEncrypter();
+    }
+
+    @Test
+    public void verifyCredentialIsResolvedOncePerDescriptor() throws Exception {
+        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor = getMetadataFacade(mock(SPSSODescriptor.class));
+        final Credential credential = this.encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, this.service);
+        assertNotNull(credential);
+        assertSame(credential, this.encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, this.service));
+        assertEquals(1, this.encrypter.getResolutions());
+    }
+
+    @Test
+    public void verifyCredentialIsResolvedAgainForNewDescriptor() throws Exception {
+        final Credential credential = this.encrypter.getKeyEncryptionCredential(ENTITY_ID,
+            getMetadataFacade(mock(SPSSODescriptor.class)), this.service);
+        final Credential refreshed = this.encrypter.getKeyEncryptionCredential(ENTITY_ID,
+            getMetadataFacade(mock(SPSSODescriptor.class)), this.service);
+        assertNotSame(credential, refreshed);
+        assertEquals(2, this.encrypter.getResolutions());
+    }
+
+    @Test
+    public void verifyFailedResolutionIsNotCached() throws Exception {
+        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor = getMetadataFacade(mock(SPSSODescriptor.class));
+        this.encrypter.setFailing(true);
+        assertNull(this.encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, this.service));
+
+        this.encrypter.setFailing(false);
+        assertNotNull(this.encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, this.service));
+        assertEquals(2, this.encrypter.getResolutions());
+    }
+
+    @Test
+    public void verifyCredentialIsNotCachedWithoutDescriptor() throws Exception {
+        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor = getMetadataFacade(null);
+        assertNotNull(this.encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, this.service));
+        assertNotNull(this.encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, this.service));
+        assertEquals(2, this.encrypter.getResolutions());
+    }
+
+    private static SamlRegisteredServiceServiceProviderMetadataFacade getMetadataFacade(final SPSSODescriptor descriptor) {
+        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor = mock(SamlRegisteredServiceServiceProviderMetadataFacade.class);
+        when(adaptor.getEntityId()).thenReturn(ENTITY_ID);
+        when(adaptor.getSsoDescriptor()).thenReturn(descriptor);
+        return adaptor;
+    }
+
+    /**
+     * Encrypter that counts resolutions of the key encryption credential instead of reading metadata.
+     */
+    private static class CountingSamlObjectEncrypter extends SamlObjectEncrypter {
+        private final AtomicInteger resolutions = new AtomicInteger();
+
+        private boolean failing;
+
+        CountingSamlObjectEncrypter() {
+            super(null, null, null, null);
+        }
+
+        void setFailing(final boolean failing) {
+            this.failing = failing;
+        }
+
+        int getResolutions() {
+            return this.resolutions.get();
+        }
+
+        @Override
+        protected Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                            final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                            final SamlRegisteredService service) {
+            this.resolutions.incrementAndGet();
+            return this.failing ? null : mock(Credential.class);
+        }
+    }
+}
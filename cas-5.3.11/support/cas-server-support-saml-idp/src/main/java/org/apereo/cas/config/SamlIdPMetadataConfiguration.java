@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.configuration.model.support.saml.idp.metadata.SamlIdPMetadataProperties;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.idp.metadata.generator.FileSystemSamlIdPMetadataGenerator;
@@ -30,6 +31,8 @@ import org.apereo.cas.util.http.HttpClient;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -41,6 +44,8 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.ResourceLoader;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -157,10 +162,29 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        final SamlIdPMetadataProperties md = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
-            chainingMetadataResolverCacheLoader()
+            md.getCacheExpirationMinutes(),
+            chainingMetadataResolverCacheLoader(),
+            md.getCacheRefreshAheadPercentage(),
+            md.getCacheRefreshAheadThreads()
         );
     }
 
+    @Bean
+    public PublicMetrics samlRegisteredServiceMetadataCacheMetrics() {
+        return () -> {
+            final List<Metric<?>> metrics = new ArrayList<>();
+            defaultSamlRegisteredServiceCachingMetadataResolver().getCachedMetadataStatistics()
+                .forEach((key, statistics) -> {
+                    final String prefix = "cas.samlIdp.metadata.cache." + key + '.';
+                    metrics.add(new Metric<>(prefix + "load.duration", statistics.getLoadDuration().toMillis()));
+                    metrics.add(new Metric<>(prefix + "age", statistics.getAge().toMillis()));
+                    metrics.add(new Metric<>(prefix + "staleness", statistics.getStaleness().toMillis()));
+                    metrics.add(new Metric<>(prefix + "failed.refreshes", statistics.getFailedRefreshes()));
+                });
+            return metrics;
+        };
+    }
+
 }
@@ -0,0 +1,75 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.category.FileSystemCategory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPSigningCredentialCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPSigningCredentialCacheTests {
+    private File signingKey;
+
+    private File signingCertificate;
+
+    @Before
+    public void before() throws Exception {
+        final File directory = new File(FileUtils.getTempDirectory(), getClass().getSimpleName());
+        signingKey = new File(directory, "idp-signing.key");
+        signingCertificate = new File(directory, "idp-signing.crt");
+        FileUtils.copyFile(new File("src/test/resources/metadata/idp-signing.key"), signingKey);
+        FileUtils.copyFile(new File("src/test/resources/metadata/idp-signing.crt"), signingCertificate);
+    }
+
+    @Test
+    public void verifyCredentialsAreLoadedOnce() throws Exception {
+        final SamlIdPSigningCredentialCache cache = new SamlIdPSigningCredentialCache();
+        final SamlIdPSigningCredentialCache.SigningCredentials credentials = getCredentials(cache);
+        assertNotNull(credentials.getPrivateKey());
+        assertNotNull(credentials.getCertificate());
+        assertSame(credentials, getCredentials(cache));
+    }
+
+    @Test
+    public void verifyCredentialsAreReloadedWhenChanged() throws Exception {
+        final SamlIdPSigningCredentialCache cache = new SamlIdPSigningCredentialCache();
+        final SamlIdPSigningCredentialCache.SigningCredentials credentials = getCredentials(cache);
+        assertTrue(signingCertificate.setLastModified(signingCertificate.lastModified() + 5000));
+        final SamlIdPSigningCredentialCache.SigningCredentials reloaded = getCredentials(cache);
+        assertNotSame(credentials, reloaded);
+        assertEquals(credentials.getCertificate(), reloaded.getCertificate());
+        assertSame(reloaded, getCredentials(cache));
+    }
+
+    @Test
+    public void verifyUnreadableCertificateIsNotCached() throws Exception {
+        final long lastModified = signingCertificate.lastModified();
+        FileUtils.write(signingCertificate, "not a certificate", StandardCharsets.UTF_8);
+        assertTrue(signingCertificate.setLastModified(lastModified));
+
+        final SamlIdPSigningCredentialCache cache = new SamlIdPSigningCredentialCache();
+        final SamlIdPSigningCredentialCache.SigningCredentials credentials = getCredentials(cache);
+        assertNull(credentials.getCertificate());
+        assertNotSame(credentials, getCredentials(cache));
+
+        FileUtils.copyFile(new File("src/test/resources/metadata/idp-signing.crt"), signingCertificate);
+        assertTrue(signingCertificate.setLastModified(lastModified));
+        assertNotNull(getCredentials(cache).getCertificate());
+    }
+
+    private SamlIdPSigningCredentialCache.SigningCredentials getCredentials(final SamlIdPSigningCredentialCache cache) throws Exception {
+        return cache.get(new FileSystemResource(signingKey), new FileSystemResource(signingCertificate), "RSA");
+    }
+}
@@ -0,0 +1,149 @@
+package org.apereo.cas.web.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles submissions by counting failures per key within a sliding window of {@code failureRangeInSeconds},
+ * and rejects submissions once the count reaches {@code failureThreshold}.
+ * The window is approximated from the failure counts of the current and previous fixed windows,
+ * so each decision takes constant time and space per key. Keys are tracked by IP address,
+ * or by IP address and username when a username parameter is defined.
+ * Keys with no failures in the last two windows are expired, and the number of keys
+ * is capped, with eviction carried out incrementally rather than by sweeping the whole map.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
+    implements InMemoryThrottledSubmissionHandlerInterceptor {
+
+    private final long windowInMillis;
+
+    private final Cache<String, SlidingWindowCounter> counters;
+
+    public InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                                             final int failureRangeInSeconds,
+                                                                             final String usernameParameter,
+                                                                             final String authenticationFailureCode,
+                                                                             final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                             final String applicationCode,
+                                                                             final long maximumKeys) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
+        if (failureRangeInSeconds <= 0) {
+            throw new IllegalArgumentException("Sliding window throttling requires a positive failure range, not " + failureRangeInSeconds);
+        }
+        this.windowInMillis = TimeUnit.SECONDS.toMillis(failureRangeInSeconds);
+        this.counters = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterWrite(2 * this.windowInMillis, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        final SlidingWindowCounter counter = this.counters.getIfPresent(constructKey(request));
+        if (counter == null) {
+            return false;
+        }
+        final double failures = counter.estimate(System.currentTimeMillis(), this.windowInMillis);
+        LOGGER.trace("Estimated [{}] failures within the last [{}] seconds", failures, getFailureRangeInSeconds());
+        return failures >= getFailureThreshold();
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        final long now = System.currentTimeMillis();
+        this.counters.asMap().compute(constructKey(request), (key, counter) -> counter == null
+            ? new SlidingWindowCounter(now, 0, 1)
+            : counter.increment(now, this.windowInMillis));
+    }
+
+    @Override
+    public String constructKey(final HttpServletRequest request) {
+        if (StringUtils.isBlank(getUsernameParameter())) {
+            return ClientInfoHolder.getClientInfo().getClientIpAddress();
+        }
+        final String username = request.getParameter(getUsernameParameter());
+        if (StringUtils.isBlank(username)) {
+            return request.getRemoteAddr();
+        }
+        return ClientInfoHolder.getClientInfo().getClientIpAddress() + ';' + username.toLowerCase();
+    }
+
+    /**
+     * Idle keys are expired as the throttle is used.
+     * This only carries out whatever expiration is still pending.
+     */
+    @Override
+    public void decrement() {
+        this.counters.cleanUp();
+        LOGGER.debug("Throttler is tracking approximately [{}] keys", this.counters.estimatedSize());
+    }
+
+    @Override
+    public String getName() {
+        return "inMemorySlidingWindowThrottle";
+    }
+
+    /**
+     * Failure counts of the current and previous fixed windows for a single key.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class SlidingWindowCounter {
+        private final long windowStart;
+
+        private final int previousCount;
+
+        private final int currentCount;
+
+        /**
+         * Count one more failure at the given time.
+         *
+         * @param now            the current time
+         * @param windowInMillis the window length
+         * @return the updated counter
+         */
+        SlidingWindowCounter increment(final long now, final long windowInMillis) {
+            final SlidingWindowCounter counter = advance(now, windowInMillis);
+            return new SlidingWindowCounter(counter.getWindowStart(), counter.getPreviousCount(), counter.getCurrentCount() + 1);
+        }
+
+        /**
+         * Estimate the number of failures within the window that ends at the given time,
+         * assuming failures of the previous window were evenly spread.
+         *
+         * @param now            the current time
+         * @param windowInMillis the window length
+         * @return the estimated number of failures
+         */
+        double estimate(final long now, final long windowInMillis) {
+            final SlidingWindowCounter counter = advance(now, windowInMillis);
+            final double previousWeight = 1 - (double) (now - counter.getWindowStart()) / windowInMillis;
+            return counter.getPreviousCount() * previousWeight + counter.getCurrentCount();
+        }
+
+        private SlidingWindowCounter advance(final long now, final long windowInMillis) {
+            final long elapsedWindows = (now - this.windowStart) / windowInMillis;
+            if (elapsedWindows <= 0) {
+                return this;
+            }
+            if (elapsedWindows == 1) {
+                return new SlidingWindowCounter(this.windowStart + windowInMillis, this.currentCount, 0);
+            }
+            return new SlidingWindowCounter(this.windowStart + elapsedWindows * windowInMillis, 0, 0);
+        }
+    }
+}
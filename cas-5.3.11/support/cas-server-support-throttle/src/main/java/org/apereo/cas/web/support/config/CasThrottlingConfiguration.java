@@ -11,6 +11,7 @@ import org.apereo.cas.web.support.AuthenticationThrottlingExecutionPlanConfigure
 import org.apereo.cas.web.support.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
 import org.apereo.cas.web.support.NoOpThrottledSubmissionHandlerInterceptor;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
@@ -70,6 +71,22 @@ public class CasThrottlingConfiguration {
             return new NoOpThrottledSubmissionHandlerInterceptor();
         }
 
+        if (throttle.getSlidingWindow().isEnabled()) {
+            if (throttle.getFailure().getRangeSeconds() <= 0 || throttle.getFailure().getThreshold() <= 0) {
+                LOGGER.warn("Authentication throttling based on a sliding window requires both a positive range-seconds and "
+                    + "failure-threshold; throttling is disabled");
+                return new NoOpThrottledSubmissionHandlerInterceptor();
+            }
+            LOGGER.debug("Activating authentication throttling based on failures within a sliding window...");
+            return new InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
+                throttle.getFailure().getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                throttle.getFailure().getCode(),
+                auditTrailExecutionPlan.getIfAvailable(),
+                throttle.getAppcode(),
+                throttle.getSlidingWindow().getMaximumKeys());
+        }
+
         if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
             LOGGER.debug("Activating authentication throttling based on IP address and username...");
             return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
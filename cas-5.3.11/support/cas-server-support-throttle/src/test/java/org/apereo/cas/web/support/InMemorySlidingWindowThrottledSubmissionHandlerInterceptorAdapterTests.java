@@ -0,0 +1,86 @@
+package org.apereo.cas.web.support;
+
+import org.apache.http.HttpStatus;
+import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapterTests {
+    private static final String IP_ADDRESS = "1.2.3.4";
+
+    @Before
+    public void setUp() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(IP_ADDRESS);
+        request.setLocalAddr(IP_ADDRESS);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+    }
+
+    @After
+    public void tearDown() {
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyThrottleWithinWindow() throws Exception {
+        final ThrottledSubmissionHandlerInterceptor throttle = newThrottle(null);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "mog").getStatus());
+        }
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully(throttle, "mog").getStatus());
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully(throttle, "other").getStatus());
+
+        Thread.sleep(2100);
+        throttle.decrement();
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "mog").getStatus());
+    }
+
+    @Test
+    public void verifyThrottleByIpAddressAndUsername() throws Exception {
+        final ThrottledSubmissionHandlerInterceptor throttle = newThrottle("username");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "mog").getStatus());
+        }
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully(throttle, "mog").getStatus());
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "other").getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyWindowWithoutRangeIsRejected() {
+        new InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapter(3, -1, null,
+            "AUTHENTICATION_FAILED", mock(AuditTrailExecutionPlan.class), "CAS", 100);
+    }
+
+    private static ThrottledSubmissionHandlerInterceptor newThrottle(final String usernameParameter) {
+        return new InMemorySlidingWindowThrottledSubmissionHandlerInterceptorAdapter(3, 1, usernameParameter,
+            "AUTHENTICATION_FAILED", mock(AuditTrailExecutionPlan.class), "CAS", 100);
+    }
+
+    private static MockHttpServletResponse loginUnsuccessfully(final ThrottledSubmissionHandlerInterceptor throttle,
+                                                               final String username) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setMethod("POST");
+        request.setParameter("username", username);
+        request.setRemoteAddr(IP_ADDRESS);
+        response.setStatus(HttpStatus.SC_UNAUTHORIZED);
+        if (throttle.preHandle(request, response, null)) {
+            throttle.postHandle(request, response, null, null);
+        }
+        return response;
+    }
+}
@@ -2,26 +2,36 @@ package org.apereo.cas.trusted.authentication.storage;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
 import org.apereo.cas.util.ResourceUtils;
+import org.apereo.cas.util.io.JsonFileJournal;
 import org.hjson.JsonValue;
 import org.springframework.core.io.Resource;
 
-import java.io.File;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link JsonMultifactorAuthenticationTrustStorage}.
+ * <p>
+ * Records are kept in memory, indexed by principal. Changes are appended to a {@link JsonFileJournal},
+ * which is compacted into the JSON resource on startup, when expired records are found and cleaned up,
+ * and once it grows beyond the number of records.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -33,21 +43,34 @@ public class JsonMultifactorAuthenticationTrustStorage extends BaseMultifactorAu
 
     private final Resource location;
 
-    private Map<String, MultifactorAuthenticationTrustRecord> storage;
+    private final Map<String, MultifactorAuthenticationTrustRecord> storage = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, MultifactorAuthenticationTrustRecord>> principals = new ConcurrentHashMap<>();
+
+    private final JsonFileJournal<JournalEntry> journal;
 
     public JsonMultifactorAuthenticationTrustStorage(final Resource location) {
         this.location = location;
+        this.journal = new JsonFileJournal<>(location, MAPPER, JournalEntry.class);
         readTrustedRecordsFromResource();
     }
 
     @Override
-    public void expire(final String key) {
-        storage.keySet().removeIf(k -> k.equalsIgnoreCase(key));
-        writeTrustedRecordsToResource();
+    public synchronized void expire(final String key) {
+        final MultifactorAuthenticationTrustRecord record = this.storage.containsKey(key)
+            ? removeRecord(key)
+            : this.storage.keySet().stream()
+                .filter(k -> k.equalsIgnoreCase(key))
+                .findFirst()
+                .map(this::removeRecord)
+                .orElse(null);
+        if (record != null) {
+            this.journal.append(new JournalEntry(JournalEntry.EXPIRE, record.getRecordKey(), null));
+        }
     }
 
     @Override
-    public void expire(final LocalDateTime onOrBefore) {
+    public synchronized void expire(final LocalDateTime onOrBefore) {
         final Set<MultifactorAuthenticationTrustRecord> results = storage
             .values()
             .stream()
@@ -57,8 +80,10 @@ public class JsonMultifactorAuthenticationTrustStorage extends BaseMultifactorAu
 
         LOGGER.info("Found [{}] expired records", results.size());
         if (!results.isEmpty()) {
-            results.forEach(entry -> storage.remove(entry.getRecordKey()));
+            results.forEach(entry -> removeRecord(entry.getRecordKey()));
             LOGGER.info("Invalidated and removed [{}] expired records", results.size());
+        }
+        if (!results.isEmpty() || this.journal.isCompactionDue(this.storage.size())) {
             writeTrustedRecordsToResource();
         }
     }
@@ -76,43 +101,91 @@ public class JsonMultifactorAuthenticationTrustStorage extends BaseMultifactorAu
 
     @Override
     public Set<MultifactorAuthenticationTrustRecord> get(final String principal) {
-        return storage
+        return this.principals.getOrDefault(principal.toLowerCase(), Collections.emptyMap())
             .values()
             .stream()
-            .filter(entry -> entry.getPrincipal().equalsIgnoreCase(principal))
             .sorted()
             .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
-
     @Override
-    public MultifactorAuthenticationTrustRecord setInternal(final MultifactorAuthenticationTrustRecord record) {
+    public synchronized MultifactorAuthenticationTrustRecord setInternal(final MultifactorAuthenticationTrustRecord record) {
+        putRecord(record);
+        this.journal.append(new JournalEntry(JournalEntry.PUT, record.getRecordKey(), record));
+        if (this.journal.isCompactionDue(this.storage.size())) {
+            writeTrustedRecordsToResource();
+        }
+        return record;
+    }
+
+    private void putRecord(final MultifactorAuthenticationTrustRecord record) {
+        removeRecord(record.getRecordKey());
         this.storage.put(record.getRecordKey(), record);
-        writeTrustedRecordsToResource();
+        this.principals.computeIfAbsent(record.getPrincipal().toLowerCase(), p -> new ConcurrentHashMap<>())
+            .put(record.getRecordKey(), record);
+    }
+
+    private MultifactorAuthenticationTrustRecord removeRecord(final String key) {
+        final MultifactorAuthenticationTrustRecord record = this.storage.remove(key);
+        if (record != null) {
+            final String principal = record.getPrincipal().toLowerCase();
+            final Map<String, MultifactorAuthenticationTrustRecord> records = this.principals.get(principal);
+            if (records != null) {
+                records.remove(key);
+                if (records.isEmpty()) {
+                    this.principals.remove(principal);
+                }
+            }
+        }
         return record;
     }
 
     @SneakyThrows
     private void readTrustedRecordsFromResource() {
-        this.storage = new LinkedHashMap<>();
+        this.storage.clear();
+        this.principals.clear();
         if (ResourceUtils.doesResourceExist(location)) {
             try (Reader reader = new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8)) {
                 final TypeReference<Map<String, MultifactorAuthenticationTrustRecord>> personList =
                     new TypeReference<Map<String, MultifactorAuthenticationTrustRecord>>() {
                     };
-                this.storage = MAPPER.readValue(JsonValue.readHjson(reader).toString(), personList);
+                final Map<String, MultifactorAuthenticationTrustRecord> records =
+                    MAPPER.readValue(JsonValue.readHjson(reader).toString(), personList);
+                records.values().forEach(this::putRecord);
             }
         }
+        if (this.journal.replay(this::replayJournalEntry)) {
+            writeTrustedRecordsToResource();
+        }
     }
 
-    @SneakyThrows
-    private void writeTrustedRecordsToResource() {
-        final File file = this.location.getFile();
-        final boolean res = file.createNewFile();
-        if (res) {
-            LOGGER.debug("Created JSON resource @ [{}]", this.location);
+    private void replayJournalEntry(final JournalEntry entry) {
+        if (JournalEntry.PUT.equals(entry.getOperation()) && entry.getRecord() != null) {
+            putRecord(entry.getRecord());
+        } else if (JournalEntry.EXPIRE.equals(entry.getOperation())) {
+            removeRecord(entry.getKey());
         }
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, this.storage);
-        readTrustedRecordsFromResource();
+    }
+
+    private void writeTrustedRecordsToResource() {
+        final Map<String, MultifactorAuthenticationTrustRecord> records = new LinkedHashMap<>(this.storage);
+        this.journal.compact(file -> MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, records));
+        LOGGER.debug("Wrote [{}] records to JSON resource @ [{}]", records.size(), this.location);
+    }
+
+    /**
+     * A change to the trusted records, as recorded in the journal.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class JournalEntry {
+        static final String PUT = "PUT";
+        static final String EXPIRE = "EXPIRE";
+
+        private String operation;
+        private String key;
+        private MultifactorAuthenticationTrustRecord record;
     }
 }
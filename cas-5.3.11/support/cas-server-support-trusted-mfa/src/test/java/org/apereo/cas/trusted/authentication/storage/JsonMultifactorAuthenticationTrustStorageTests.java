@@ -1,17 +1,24 @@
 package org.apereo.cas.trusted.authentication.storage;
 
 import org.apache.commons.io.FileUtils;
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.category.FileSystemCategory;
 import org.apereo.cas.trusted.AbstractMultifactorAuthenticationTrustStorageTests;
+import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.context.TestPropertySource;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import lombok.SneakyThrows;
 
+import static org.junit.Assert.*;
+
 
 /**
  * This is {@link JsonMultifactorAuthenticationTrustStorageTests}.
@@ -22,22 +29,72 @@ import lombok.SneakyThrows;
 @TestPropertySource(properties = "cas.authn.mfa.trusted.json.location=file:/tmp/trusted-device.json")
 @Category(FileSystemCategory.class)
 public class JsonMultifactorAuthenticationTrustStorageTests extends AbstractMultifactorAuthenticationTrustStorageTests {
+    private static final String JOURNALED_FILE = "/tmp/trusted-device-journaled.json";
+
     @BeforeClass
     @SneakyThrows
     public static void beforeClass() {
-        deleteJsonFile();
+        deleteJsonFiles();
     }
 
     @AfterClass
     @SneakyThrows
     public static void afterClass() {
-        deleteJsonFile();
+        deleteJsonFiles();
+    }
+
+    @Test
+    public void verifyRecordsAreJournaledAndReplayed() throws Exception {
+        final File file = new File(JOURNALED_FILE);
+        final File journal = new File(JOURNALED_FILE + ".journal");
+        final JsonMultifactorAuthenticationTrustStorage storage = newStorage(file);
+
+        final MultifactorAuthenticationTrustRecord record = getMultifactorAuthenticationTrustRecord();
+        storage.set(record);
+        assertTrue(journal.exists());
+        assertEquals(1, FileUtils.readLines(journal, StandardCharsets.UTF_8).size());
+        assertEquals(1, storage.get(record.getPrincipal()).size());
+        assertTrue(storage.get("unknown").isEmpty());
+
+        final JsonMultifactorAuthenticationTrustStorage replayed = newStorage(file);
+        assertEquals(1, replayed.get(record.getPrincipal().toUpperCase()).size());
+        assertTrue(file.exists());
+        assertFalse(journal.exists());
+
+        replayed.expire(record.getRecordKey());
+        assertTrue(replayed.get(record.getPrincipal()).isEmpty());
+        assertTrue(newStorage(file).get(record.getPrincipal()).isEmpty());
+    }
+
+    @Test
+    public void verifyLookupWithoutExpiredRecordsKeepsJournal() {
+        final File file = new File(JOURNALED_FILE);
+        final File journal = new File(JOURNALED_FILE + ".journal");
+        final JsonMultifactorAuthenticationTrustStorage storage = newStorage(file);
+
+        final MultifactorAuthenticationTrustRecord record = getMultifactorAuthenticationTrustRecord();
+        storage.set(record);
+        assertEquals(1, storage.get(record.getRecordDate().minusDays(1)).size());
+        assertTrue(journal.exists());
+
+        storage.get(record.getRecordDate().plusDays(1));
+        assertFalse(journal.exists());
+        assertTrue(newStorage(file).get(record.getPrincipal()).isEmpty());
+    }
+
+    private static JsonMultifactorAuthenticationTrustStorage newStorage(final File file) {
+        final JsonMultifactorAuthenticationTrustStorage storage = new JsonMultifactorAuthenticationTrustStorage(new FileSystemResource(file));
+        storage.setCipherExecutor(CipherExecutor.noOpOfSerializableToString());
+        return storage;
     }
 
-    private static void deleteJsonFile() throws IOException {
-        final File file = new File("/tmp/trusted-device.json");
-        if (file.exists()) {
-            FileUtils.forceDelete(file);
+    private static void deleteJsonFiles() throws IOException {
+        for (final String name : new String[]{"/tmp/trusted-device.json", "/tmp/trusted-device.json.journal",
+            JOURNALED_FILE, JOURNALED_FILE + ".journal"}) {
+            final File file = new File(name);
+            if (file.exists()) {
+                FileUtils.forceDelete(file);
+            }
         }
     }
 }
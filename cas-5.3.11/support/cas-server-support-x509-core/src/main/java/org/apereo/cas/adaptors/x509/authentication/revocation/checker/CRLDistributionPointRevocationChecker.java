@@ -5,6 +5,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
@@ -15,8 +16,8 @@ import org.bouncycastle.asn1.DERIA5String;
 import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.GeneralName;
 import org.cryptacular.x509.ExtensionReader;
-import org.springframework.core.io.ByteArrayResource;
 
+import javax.annotation.PreDestroy;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -26,7 +27,14 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
@@ -36,7 +44,10 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. CRLs are cached parsed and indexed by serial number, and are fetched
+ * again in the background ahead of their next update. CRLs that carry a next update
+ * remain cached until then regardless of the cache's time-to-live, so that they are
+ * refreshed in the background for as long as they are in use.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
@@ -44,10 +55,25 @@ import java.util.stream.IntStream;
 @Slf4j
 public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker {
 
+    private static final long MIN_REFRESH_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int REFRESH_AHEAD_FRACTION = 10;
+
     private final Cache crlCache;
     private final CRLFetcher fetcher;
     private final boolean throwOnFetchFailure;
 
+    /**
+     * Executor responsible for refreshing cached CRLs ahead of their next update.
+     */
+    private final ScheduledExecutorService refreshScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "cas-crl-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<URI, ScheduledFuture<?>> refreshTasks = new ConcurrentHashMap<>();
+
     /**
      * Creates a new instance that uses the given cache instance for CRL caching.
      *
@@ -120,22 +146,16 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
             if (item != null) {
                 LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
-                final byte[] encodedCrl = (byte[]) item.getObjectValue();
-                final X509CRL crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
-
-                if (crlFetched != null) {
-                    listOfLocations.add(crlFetched);
-                } else {
-                    LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
-                }
+                listOfLocations.add((X509CRL) item.getObjectValue());
             } else {
                 LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
                 try {
                     final X509CRL crl = this.fetcher.fetch(url);
                     if (crl != null) {
                         LOGGER.info("Success. Caching fetched CRL at [{}].", url);
-                        addCRL(url, crl);
-                        listOfLocations.add(crl);
+                        final IndexedX509CRL indexedCrl = IndexedX509CRL.of(crl);
+                        addCRL(url, indexedCrl);
+                        listOfLocations.add(indexedCrl);
                     }
                 } catch (final Exception e) {
                     LOGGER.error("Error fetching CRL at [{}]", url, e);
@@ -157,18 +177,132 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     }
 
     @Override
-    @SneakyThrows
     protected boolean addCRL(final Object id, final X509CRL crl) {
         if (crl == null) {
             LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
+            cancelRefresh(id);
             return this.crlCache.remove(id);
         }
-        
-        this.crlCache.put(new Element(id, crl.getEncoded()));
+
+        final IndexedX509CRL indexedCrl = IndexedX509CRL.of(crl);
+        final Element element = new Element(id, indexedCrl);
+        final long expiresAt = setExpiration(element, indexedCrl);
+        this.crlCache.put(element);
+        if (id instanceof URI) {
+            scheduleRefresh((URI) id, indexedCrl, expiresAt);
+        }
         return this.crlCache.get(id) != null;
+    }
+
+    /**
+     * Keep the cached CRL until its next update rather than for the time-to-live of the cache,
+     * while still letting it expire from the cache once it is no longer used.
+     *
+     * @param element the cache element
+     * @param crl     the CRL
+     * @return the time at which the element expires if it is in use, or 0 if it does not expire
+     */
+    private long setExpiration(final Element element, final X509CRL crl) {
+        final long now = System.currentTimeMillis();
+        final CacheConfiguration config = this.crlCache.getCacheConfiguration();
+        if (crl.getNextUpdate() != null && crl.getNextUpdate().getTime() > now) {
+            final long nextUpdate = crl.getNextUpdate().getTime();
+            final long timeToLive = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(nextUpdate - now));
+            element.setTimeToLive((int) Math.min(Integer.MAX_VALUE, timeToLive));
+            element.setTimeToIdle((int) config.getTimeToIdleSeconds());
+            return nextUpdate;
+        }
+        if (config.isEternal() || config.getTimeToLiveSeconds() <= 0) {
+            return 0;
+        }
+        return now + TimeUnit.SECONDS.toMillis(config.getTimeToLiveSeconds());
+    }
 
+    /**
+     * Stop refreshing cached CRLs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.refreshScheduler.shutdownNow();
+        this.refreshTasks.clear();
     }
 
+    /**
+     * Schedule the CRL fetched from the given location to be fetched again ahead of its next update,
+     * and ahead of the time at which it expires from the cache, whichever comes first.
+     * CRLs that carry no next update and never expire from the cache are not refreshed.
+     *
+     * @param url       the location of the CRL
+     * @param crl       the CRL
+     * @param expiresAt the time at which the CRL expires from the cache, or 0 if it does not expire
+     */
+    private void scheduleRefresh(final URI url, final X509CRL crl, final long expiresAt) {
+        final long now = System.currentTimeMillis();
+        long refreshAt = Long.MAX_VALUE;
+        if (crl.getNextUpdate() != null) {
+            final long nextUpdate = crl.getNextUpdate().getTime();
+            final long validity = Math.max(0, nextUpdate - crl.getThisUpdate().getTime());
+            refreshAt = nextUpdate - validity / REFRESH_AHEAD_FRACTION;
+        }
+        if (expiresAt > 0) {
+            refreshAt = Math.min(refreshAt, expiresAt - Math.max(0, expiresAt - now) / REFRESH_AHEAD_FRACTION);
+        }
+        if (refreshAt == Long.MAX_VALUE) {
+            cancelRefresh(url);
+            return;
+        }
+        final long delay = Math.max(MIN_REFRESH_DELAY_MILLIS, refreshAt - now);
+        LOGGER.debug("CRL at [{}] is scheduled to be refreshed in [{}] ms", url, delay);
+        schedule(url, delay);
+    }
+
+    private void schedule(final URI url, final long delay) {
+        try {
+            final ScheduledFuture<?> task = this.refreshScheduler.schedule(() -> refresh(url), delay, TimeUnit.MILLISECONDS);
+            final ScheduledFuture<?> previous = this.refreshTasks.put(url, task);
+            if (previous != null && previous != task) {
+                previous.cancel(false);
+            }
+        } catch (final RejectedExecutionException e) {
+            LOGGER.trace("CRL refresh for [{}] is not scheduled since the scheduler is shut down", url);
+        }
+    }
+
+    private void cancelRefresh(final Object id) {
+        final ScheduledFuture<?> task = this.refreshTasks.remove(id);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Fetch the CRL at the given location again, while it is still cached.
+     * CRLs no longer cached have not been used for longer than the idle timeout of the cache,
+     * and are fetched again on their next use instead.
+     * Failures are retried until the cached CRL expires from the cache.
+     *
+     * @param url the location of the CRL
+     */
+    private void refresh(final URI url) {
+        if (this.crlCache.getQuiet(url) == null) {
+            LOGGER.debug("CRL at [{}] is no longer cached and will not be refreshed", url);
+            this.refreshTasks.remove(url);
+            return;
+        }
+        try {
+            LOGGER.debug("Refreshing CRL at [{}]", url);
+            final X509CRL crl = this.fetcher.fetch(url);
+            if (crl != null) {
+                addCRL(url, crl);
+                return;
+            }
+            LOGGER.warn("Refreshed CRL at [{}] is null", url);
+        } catch (final Exception e) {
+            LOGGER.warn("Error refreshing CRL at [{}]: [{}]", url, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        schedule(url, MIN_REFRESH_DELAY_MILLIS);
+    }
 
     /**
      * Gets the distribution points.
@@ -0,0 +1,231 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Principal;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.security.cert.CRLException;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link IndexedX509CRL} that wraps a parsed {@link X509CRL} along with
+ * an index of its revoked entries keyed by serial number, so that looking up a certificate
+ * does not require scanning the entries of the CRL.
+ * <p>
+ * Indirect CRLs, whose entries may name a certificate issuer other than the CRL issuer,
+ * are not indexed; certificates are then looked up by the wrapped CRL itself.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class IndexedX509CRL extends X509CRL {
+
+    private final X509CRL crl;
+
+    private final X500Principal issuer;
+
+    private final Map<BigInteger, X509CRLEntry> revokedEntries;
+
+    private final boolean indirect;
+
+    public IndexedX509CRL(final X509CRL crl) {
+        this.crl = crl;
+        this.issuer = crl.getIssuerX500Principal();
+
+        final Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+        final Map<BigInteger, X509CRLEntry> index = new HashMap<>(entries == null ? 0 : entries.size() * 4 / 3 + 1);
+        boolean hasCertificateIssuers = false;
+        if (entries != null) {
+            for (final X509CRLEntry entry : entries) {
+                hasCertificateIssuers |= entry.getCertificateIssuer() != null;
+                index.put(entry.getSerialNumber(), entry);
+            }
+        }
+        this.indirect = hasCertificateIssuers;
+        this.revokedEntries = hasCertificateIssuers ? Collections.emptyMap() : index;
+    }
+
+    /**
+     * Wrap the given CRL, unless it is already indexed.
+     *
+     * @param crl the crl
+     * @return the indexed crl
+     */
+    public static IndexedX509CRL of(final X509CRL crl) {
+        return crl instanceof IndexedX509CRL ? (IndexedX509CRL) crl : new IndexedX509CRL(crl);
+    }
+
+    /**
+     * Gets the wrapped CRL.
+     *
+     * @return the crl
+     */
+    public X509CRL getCRL() {
+        return this.crl;
+    }
+
+    /**
+     * Number of revoked entries in the CRL.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.indirect ? this.crl.getRevokedCertificates().size() : this.revokedEntries.size();
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final X509Certificate certificate) {
+        if (this.indirect || !this.issuer.equals(certificate.getIssuerX500Principal())) {
+            return this.crl.getRevokedCertificate(certificate);
+        }
+        return this.revokedEntries.get(certificate.getSerialNumber());
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final BigInteger serialNumber) {
+        if (this.indirect) {
+            return this.crl.getRevokedCertificate(serialNumber);
+        }
+        return this.revokedEntries.get(serialNumber);
+    }
+
+    @Override
+    public boolean isRevoked(final Certificate certificate) {
+        if (certificate instanceof X509Certificate) {
+            return getRevokedCertificate((X509Certificate) certificate) != null;
+        }
+        return this.crl.isRevoked(certificate);
+    }
+
+    @Override
+    public X500Principal getIssuerX500Principal() {
+        return this.issuer;
+    }
+
+    @Override
+    public byte[] getEncoded() throws CRLException {
+        return this.crl.getEncoded();
+    }
+
+    @Override
+    public void verify(final PublicKey key) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final String sigProvider) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final Provider sigProvider) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public int getVersion() {
+        return this.crl.getVersion();
+    }
+
+    @Override
+    public Principal getIssuerDN() {
+        return this.crl.getIssuerDN();
+    }
+
+    @Override
+    public Date getThisUpdate() {
+        return this.crl.getThisUpdate();
+    }
+
+    @Override
+    public Date getNextUpdate() {
+        return this.crl.getNextUpdate();
+    }
+
+    @Override
+    public Set<? extends X509CRLEntry> getRevokedCertificates() {
+        return this.crl.getRevokedCertificates();
+    }
+
+    @Override
+    public byte[] getTBSCertList() throws CRLException {
+        return this.crl.getTBSCertList();
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return this.crl.getSignature();
+    }
+
+    @Override
+    public String getSigAlgName() {
+        return this.crl.getSigAlgName();
+    }
+
+    @Override
+    public String getSigAlgOID() {
+        return this.crl.getSigAlgOID();
+    }
+
+    @Override
+    public byte[] getSigAlgParams() {
+        return this.crl.getSigAlgParams();
+    }
+
+    @Override
+    public boolean hasUnsupportedCriticalExtension() {
+        return this.crl.hasUnsupportedCriticalExtension();
+    }
+
+    @Override
+    public Set<String> getCriticalExtensionOIDs() {
+        return this.crl.getCriticalExtensionOIDs();
+    }
+
+    @Override
+    public Set<String> getNonCriticalExtensionOIDs() {
+        return this.crl.getNonCriticalExtensionOIDs();
+    }
+
+    @Override
+    public byte[] getExtensionValue(final String oid) {
+        return this.crl.getExtensionValue(oid);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof IndexedX509CRL) {
+            return this.crl.equals(((IndexedX509CRL) other).crl);
+        }
+        return this.crl.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.crl.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.crl.toString();
+    }
+}
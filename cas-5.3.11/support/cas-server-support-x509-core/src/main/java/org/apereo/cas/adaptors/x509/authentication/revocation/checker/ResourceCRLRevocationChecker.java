@@ -51,7 +51,7 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
     private final CRLFetcher fetcher;
 
     /**
-     * Map of CRL issuer to CRL.
+     * Map of CRL issuer to CRL, indexed by serial number.
      */
     private final Map<X500Principal, X509CRL> crlIssuerMap = Collections.synchronizedMap(new HashMap<>());
 
@@ -197,7 +197,7 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
     @Override
     protected boolean addCRL(final Object issuer, final X509CRL crl) {
         LOGGER.debug("Adding CRL for issuer [{}]", issuer);
-        this.crlIssuerMap.put((X500Principal) issuer, crl);
+        this.crlIssuerMap.put((X500Principal) issuer, IndexedX509CRL.of(crl));
         return this.crlIssuerMap.containsKey(issuer);
     }
 
@@ -0,0 +1,69 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
+import org.apereo.cas.configuration.model.support.x509.X509Properties;
+import org.apereo.cas.util.crypto.CertUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the caching behavior of {@link CRLDistributionPointRevocationChecker}
+ * under the default cache settings.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class CRLDistributionPointRevocationCheckerCacheTests {
+    private Cache cache;
+
+    private CRLFetcher fetcher;
+
+    private CRLDistributionPointRevocationChecker checker;
+
+    @Before
+    public void initialize() throws Exception {
+        final X509Properties x509 = new X509Properties();
+        this.cache = new Cache("crlCache-defaults", x509.getCacheMaxElementsInMemory(), x509.isCacheDiskOverflow(),
+            x509.isCacheEternal(), x509.getCacheTimeToLiveSeconds(), x509.getCacheTimeToIdleSeconds());
+        CacheManager.getInstance().addCache(this.cache);
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        this.fetcher = mock(CRLFetcher.class);
+        when(this.fetcher.fetch(any(URI.class))).thenReturn(crl);
+        this.checker = new CRLDistributionPointRevocationChecker(this.cache, this.fetcher, false);
+    }
+
+    @After
+    public void shutdown() {
+        this.checker.shutdown();
+        CacheManager.getInstance().removeCache(this.cache.getName());
+    }
+
+    @Test
+    public void verifyCachedCRLOutlivesCacheTimeToLive() throws Exception {
+        final X509Certificate cert = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+        this.checker.check(cert);
+        this.checker.check(cert);
+        verify(this.fetcher, times(1)).fetch(any(URI.class));
+
+        assertEquals(1, this.cache.getSize());
+        final Element element = this.cache.get(this.cache.getKeys().get(0));
+        final long cacheTimeToLive = TimeUnit.SECONDS.toMillis(new X509Properties().getCacheTimeToLiveSeconds());
+        assertTrue(element.getExpirationTime() > System.currentTimeMillis() + cacheTimeToLive);
+        assertEquals(new X509Properties().getCacheTimeToIdleSeconds(), element.getTimeToIdle());
+    }
+}
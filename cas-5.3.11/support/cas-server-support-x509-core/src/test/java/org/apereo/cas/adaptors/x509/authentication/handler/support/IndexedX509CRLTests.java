@@ -0,0 +1,50 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.IndexedX509CRL;
+import org.apereo.cas.util.crypto.CertUtils;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link IndexedX509CRL} class.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class IndexedX509CRLTests {
+
+    @Test
+    public void verifyRevokedCertificatesAreFoundInIndex() throws Exception {
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        final IndexedX509CRL indexed = IndexedX509CRL.of(crl);
+        assertEquals(crl.getRevokedCertificates().size(), indexed.size());
+        assertSame(indexed, IndexedX509CRL.of(indexed));
+
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked.crt"));
+        assertNotNull(indexed.getRevokedCertificate(revoked));
+        assertEquals(crl.getRevokedCertificate(revoked), indexed.getRevokedCertificate(revoked));
+        assertTrue(indexed.isRevoked(revoked));
+
+        final X509Certificate valid = CertUtils.readCertificate(new ClassPathResource("user-valid.crt"));
+        assertNull(indexed.getRevokedCertificate(valid));
+        assertFalse(indexed.isRevoked(valid));
+        assertNull(indexed.getRevokedCertificate(BigInteger.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void verifyIndexedCrlMatchesParsedCrl() throws Exception {
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        final IndexedX509CRL indexed = IndexedX509CRL.of(crl);
+        assertEquals(indexed, crl);
+        assertEquals(crl.getIssuerX500Principal(), indexed.getIssuerX500Principal());
+        assertEquals(crl.getNextUpdate(), indexed.getNextUpdate());
+        assertArrayEquals(crl.getEncoded(), indexed.getEncoded());
+    }
+}